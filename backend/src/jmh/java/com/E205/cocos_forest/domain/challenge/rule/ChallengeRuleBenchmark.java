@@ -0,0 +1,120 @@
+package com.E205.cocos_forest.domain.challenge.rule;
+
+import com.E205.cocos_forest.domain.challenge.entity.Challenge;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * AMOUNT 챌린지 평가: extra_conditions 매번 파싱 + 가맹점 이름 비교(기존) vs 컴파일된 ChallengeRule
+ *
+ * 실행: ./gradlew jmh
+ * - 평균 시간(ns/op) 을 거래 수로 나누면 거래당 평가 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ChallengeRuleBenchmark {
+
+    private static final String EXTRA_CONDITIONS = "{\"includeCategories\":[\"CG-3\",\"CG-5\",\"CG-7\"]," +
+        "\"excludeCategories\":[\"CG-9\"]," +
+        "\"include_merchants\":[\"merchant-11\",\"merchant-42\",\"merchant-77\"]}";
+    private static final int CATEGORY_COUNT = 12;
+    private static final int MERCHANT_COUNT = 100;
+
+    @Param({"10", "100", "1000"})
+    private int transactionCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String[] categoryIds;
+    private Long[] merchantIds;
+    private long[] amounts;
+    private Map<Long, String> merchantNames;
+    private ChallengeRule rule;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        merchantNames = new HashMap<>();
+        for (long id = 0; id < MERCHANT_COUNT; id++) {
+            merchantNames.put(id, "merchant-" + id);
+        }
+
+        categoryIds = new String[transactionCount];
+        merchantIds = new Long[transactionCount];
+        amounts = new long[transactionCount];
+        for (int i = 0; i < transactionCount; i++) {
+            categoryIds[i] = "CG-" + random.nextInt(CATEGORY_COUNT);
+            merchantIds[i] = (long) random.nextInt(MERCHANT_COUNT);
+            amounts[i] = 1_000L + random.nextInt(50_000);
+        }
+
+        rule = ChallengeRule.of(1L, LocalDateTime.now(), "bench",
+            Challenge.MetricType.AMOUNT, Challenge.ComparatorType.LTE, BigDecimal.valueOf(30_000),
+            Set.of("CG-3", "CG-5", "CG-7"), Set.of("CG-9"),
+            new long[]{11L, 42L, 77L}, new long[0], true, false);
+    }
+
+    @Benchmark
+    public void parsedPerCall(Blackhole bh) {
+        // 기존: 호출마다 JSON 4회 파싱, 가맹점은 이름 문자열로 비교
+        Set<String> includeCategories = parseStringSet(EXTRA_CONDITIONS, "includeCategories");
+        Set<String> excludeCategories = parseStringSet(EXTRA_CONDITIONS, "excludeCategories");
+        Set<String> includeMerchants = new HashSet<>(parseStringSet(EXTRA_CONDITIONS, "include_merchants"));
+        includeMerchants.addAll(parseStringSet(EXTRA_CONDITIONS, "merchant_whitelist"));
+        Set<String> excludeMerchants = parseStringSet(EXTRA_CONDITIONS, "exclude_merchants");
+
+        long amount = 0L;
+        for (int i = 0; i < categoryIds.length; i++) {
+            String categoryId = categoryIds[i];
+            if (!includeCategories.isEmpty() && !includeCategories.contains(categoryId)) continue;
+            if (!excludeCategories.isEmpty() && excludeCategories.contains(categoryId)) continue;
+            String name = merchantNames.get(merchantIds[i]);
+            if (name == null) continue;
+            if (!includeMerchants.isEmpty() && !includeMerchants.contains(name)) continue;
+            if (!excludeMerchants.isEmpty() && excludeMerchants.contains(name)) continue;
+            amount += amounts[i];
+        }
+        bh.consume(BigDecimal.valueOf(amount).compareTo(BigDecimal.valueOf(30_000)) <= 0);
+    }
+
+    @Benchmark
+    public void compiledRule(Blackhole bh) {
+        long amount = 0L;
+        for (int i = 0; i < categoryIds.length; i++) {
+            if (rule.matches(categoryIds[i], merchantIds[i])) {
+                amount += amounts[i];
+            }
+        }
+        bh.consume(rule.achieved(amount));
+    }
+
+    private Set<String> parseStringSet(String json, String key) {
+        try {
+            Map<String, Object> map = objectMapper.readValue(json, new TypeReference<>() {});
+            Object v = map.get(key);
+            if (v instanceof Collection<?> c) {
+                return c.stream().filter(Objects::nonNull).map(Object::toString).collect(Collectors.toSet());
+            }
+            return Collections.emptySet();
+        } catch (Exception e) {
+            return Collections.emptySet();
+        }
+    }
+}
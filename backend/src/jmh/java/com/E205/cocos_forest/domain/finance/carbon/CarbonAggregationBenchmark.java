@@ -0,0 +1,107 @@
+package com.E205.cocos_forest.domain.finance.carbon;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 월간 탄소 집계: BigDecimal 누적(기존) vs long 고정소수점(CarbonMath) 비교
+ *
+ * 실행: ./gradlew jmh
+ * - Throughput(ops/s) 와 gc.alloc.rate.norm(B/op) 을 함께 확인
+ * - 두 방식 모두 거래마다 응답용 kg(소수 2자리) BigDecimal 을 만들고, 합계/일자/카테고리 값도 같은 방식으로 변환
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CarbonAggregationBenchmark {
+
+    private static final int CATEGORY_COUNT = 12;
+    private static final int DAYS = 31;
+
+    @Param({"10000", "100000", "1000000"})
+    private int transactionCount;
+
+    private long[] amounts;
+    private int[] categories;
+    private int[] days;
+
+    private BigDecimal[] factors;
+    private long[] scaledFactors;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        factors = new BigDecimal[CATEGORY_COUNT];
+        scaledFactors = new long[CATEGORY_COUNT];
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            // 0.000010 ~ 0.000999 kg/원 범위의 배출계수 (DECIMAL(12,6))
+            factors[i] = BigDecimal.valueOf(10 + random.nextInt(990), 6);
+            scaledFactors[i] = CarbonMath.toScaledFactor(factors[i]);
+        }
+
+        amounts = new long[transactionCount];
+        categories = new int[transactionCount];
+        days = new int[transactionCount];
+        for (int i = 0; i < transactionCount; i++) {
+            amounts[i] = 1_000L + random.nextInt(200_000);
+            categories[i] = random.nextInt(CATEGORY_COUNT);
+            days[i] = random.nextInt(DAYS);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalAggregation(Blackhole bh) {
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal[] byDay = new BigDecimal[DAYS];
+        BigDecimal[] byCategory = new BigDecimal[CATEGORY_COUNT];
+        java.util.Arrays.fill(byDay, BigDecimal.ZERO);
+        java.util.Arrays.fill(byCategory, BigDecimal.ZERO);
+
+        for (int i = 0; i < amounts.length; i++) {
+            BigDecimal carbon = factors[categories[i]].multiply(BigDecimal.valueOf(amounts[i]));
+            total = total.add(carbon);
+            byDay[days[i]] = byDay[days[i]].add(carbon);
+            byCategory[categories[i]] = byCategory[categories[i]].add(carbon);
+            // 상세 응답처럼 항목마다 kg(소수 2자리) 값 생성 - 양쪽 모두 같은 항목별 출력 작업
+            bh.consume(carbon.setScale(2, RoundingMode.HALF_UP));
+        }
+
+        bh.consume(total.setScale(2, RoundingMode.HALF_UP));
+        for (BigDecimal value : byDay) {
+            bh.consume(value.setScale(2, RoundingMode.HALF_UP));
+        }
+        for (BigDecimal value : byCategory) {
+            bh.consume(value.setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Benchmark
+    public void fixedPointAggregation(Blackhole bh) {
+        long total = 0L;
+        long[] byDay = new long[DAYS];
+        long[] byCategory = new long[CATEGORY_COUNT];
+
+        for (int i = 0; i < amounts.length; i++) {
+            long carbonMg = CarbonMath.carbonMg(amounts[i], scaledFactors[categories[i]]);
+            total += carbonMg;
+            byDay[days[i]] += carbonMg;
+            byCategory[categories[i]] += carbonMg;
+            bh.consume(CarbonMath.toKg(carbonMg, 2));
+        }
+
+        // BigDecimal 변환은 응답 경계에서만
+        bh.consume(CarbonMath.toKg(total, 2));
+        for (long value : byDay) {
+            bh.consume(CarbonMath.toKg(value, 2));
+        }
+        for (long value : byCategory) {
+            bh.consume(CarbonMath.toKg(value, 2));
+        }
+    }
+}
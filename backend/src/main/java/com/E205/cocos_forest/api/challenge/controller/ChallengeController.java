@@ -1,7 +1,10 @@
 package com.E205.cocos_forest.api.challenge.controller;
 
+import com.E205.cocos_forest.api.challenge.dto.out.ChallengeCalendarOut;
+import com.E205.cocos_forest.api.challenge.dto.out.ChallengeStreakOut;
 import com.E205.cocos_forest.api.challenge.dto.out.ChallengeTodayOut;
 import com.E205.cocos_forest.api.challenge.dto.out.TumblerVerifyOut;
+import com.E205.cocos_forest.api.challenge.service.challenge.ChallengeCalendarService;
 import com.E205.cocos_forest.api.challenge.service.challenge.ChallengeService;
 import com.E205.cocos_forest.api.challenge.service.tumbler.TumblerVerificationService;
 import com.E205.cocos_forest.global.config.security.CustomUserDetails;
@@ -30,6 +33,7 @@ public class ChallengeController {
     private final ChallengeService challengeService;
     private final TumblerVerificationService tumblerVerificationService;
     private final StepService stepService;
+    private final ChallengeCalendarService challengeCalendarService;
 
     @Operation(summary = "오늘의 챌린지 조회 api", description = "사용자의 오늘의 챌린지를 조회합니다")
     @GetMapping("/today")
@@ -47,6 +51,23 @@ public class ChallengeController {
         return new BaseResponse<>("OK");
     }
 
+    @Operation(summary = "챌린지 달성 달력 조회", description = "월별 달성한 날짜 목록을 조회합니다 (yearMonth: yyyy-MM, 생략 시 이번 달)")
+    @GetMapping("/{challengeId}/calendar")
+    public BaseResponse<ChallengeCalendarOut> getCalendar(@AuthenticationPrincipal CustomUserDetails principal,
+                                                          @PathVariable Long challengeId,
+                                                          @RequestParam(required = false) String yearMonth) {
+        Long userId = principal.getUser().getId();
+        return new BaseResponse<>(challengeCalendarService.getCalendar(userId, challengeId, yearMonth));
+    }
+
+    @Operation(summary = "챌린지 연속 달성 조회", description = "현재/최장 연속 달성 일수를 조회합니다")
+    @GetMapping("/{challengeId}/streak")
+    public BaseResponse<ChallengeStreakOut> getStreak(@AuthenticationPrincipal CustomUserDetails principal,
+                                                      @PathVariable Long challengeId) {
+        Long userId = principal.getUser().getId();
+        return new BaseResponse<>(challengeCalendarService.getStreak(userId, challengeId));
+    }
+
     @Operation(summary = "텀블러 영수증 OCR 인증", description = "이미지를 디스크에 저장하지 않고 바로 OCR로 전송해 판정")
     @PostMapping(value = "/tumbler/verify", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public BaseResponse<TumblerVerifyOut> verifyTumbler(
@@ -68,7 +89,6 @@ public class ChallengeController {
     ) {
         Long userId = principal.getUser().getId();
         StepsUpdateOut out = stepService.updateTodaySteps(userId, in.getSteps());
-        challengeService.evaluateStepsChallenge(userId);
         return new BaseResponse<>(out);
     }
 }
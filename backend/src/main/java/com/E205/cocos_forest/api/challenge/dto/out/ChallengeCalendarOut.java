@@ -0,0 +1,31 @@
+package com.E205.cocos_forest.api.challenge.dto.out;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ChallengeCalendarOut {
+    @Schema(description = "챌린지 id")
+    private Long challengeId;
+
+    @Schema(description = "챌린지 기간 단위 (WEEKLY/MONTHLY 는 기간 시작일(월요일/1일)에 달성 표시)")
+    private String periodType;
+
+    @Schema(description = "YYYY-MM")
+    private String month;
+
+    @Schema(description = "달성한 날짜(일) 목록")
+    private List<Integer> doneDays;
+
+    @Schema(description = "월 달성 일수")
+    private Integer doneCount;
+
+    @Schema(description = "월 달성 비트맵 (1일 = bit 0)")
+    private Integer doneBits;
+}
@@ -0,0 +1,23 @@
+package com.E205.cocos_forest.api.challenge.dto.out;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ChallengeStreakOut {
+    @Schema(description = "챌린지 id")
+    private Long challengeId;
+
+    @Schema(description = "연속 달성 단위 (DAILY: 일, WEEKLY: 주, MONTHLY: 월)")
+    private String periodType;
+
+    @Schema(description = "현재 연속 달성 일수/주 수/월 수 (진행 중인 기간이 미달성이면 직전 기간까지)")
+    private Integer currentStreak;
+
+    @Schema(description = "최장 연속 달성 일수/주 수/월 수")
+    private Integer longestStreak;
+}
@@ -0,0 +1,9 @@
+package com.E205.cocos_forest.api.challenge.event;
+
+import java.time.LocalDate;
+
+/**
+ * 걸음수 갱신 이벤트 (커밋 직전 챌린지 진행도 반영에 사용)
+ */
+public record DailyStepsUpdatedEvent(Long userId, LocalDate date, int steps) {
+}
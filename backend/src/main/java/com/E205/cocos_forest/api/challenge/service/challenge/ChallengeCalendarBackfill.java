@@ -0,0 +1,96 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.domain.batch.entity.BatchCheckpoint;
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
+import com.E205.cocos_forest.domain.batch.repository.BatchCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 기존 DONE user_challenges -> user_challenge_calendars 비트맵 채우기 배치
+ *
+ * - user_challenges id 범위를 CHUNK_SIZE 씩 (사용자, 챌린지, 월) 로 묶어 BIT_OR 후 OR 반영
+ * - OR 반영이라 이벤트 경로에서 이미 기록된 비트와 겹쳐도 결과 동일, 중단 후 체크포인트부터 재실행
+ * - 작업 시작 시점의 최대 id 까지만 처리 (이후 DONE 은 recordDone 경로가 기록)
+ * - 기동 시 한 번 실행, 완료된 뒤에는 체크포인트만 확인하고 종료 (중단된 경우 다음 기동에서 이어서 처리)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChallengeCalendarBackfill {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final String JOB_NAME = "USER_CHALLENGE_CALENDAR_BACKFILL";
+    private static final String PARTITION_KEY = "all";
+    private static final long CHUNK_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final JobLeaseLock jobLeaseLock;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        jobLeaseLock.runExclusive(JOB_NAME, Duration.ofHours(1), Duration.ZERO, this::backfillChunks);
+    }
+
+    private void backfillChunks() {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findByJobNameAndPartitionKey(JOB_NAME, PARTITION_KEY)
+            .orElseGet(() -> batchCheckpointRepository.save(new BatchCheckpoint(JOB_NAME, PARTITION_KEY)));
+        if (Boolean.TRUE.equals(checkpoint.getCompleted())) {
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM user_challenges", Long.class);
+        try {
+            boolean hasMore = true;
+            while (hasMore) {
+                hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    processChunk(checkpoint.getId(), maxId == null ? 0L : maxId)));
+            }
+            log.info("[Challenge] Calendar backfill completed");
+        } catch (Exception e) {
+            log.warn("[Challenge] Calendar backfill stopped, will resume on next start: reason={}", e.getMessage());
+        }
+    }
+
+    // id 범위 한 청크 반영 (트랜잭션 내부), 더 처리할 범위가 있으면 true
+    private boolean processChunk(Long checkpointId, long maxId) {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(checkpointId).orElseThrow();
+
+        long fromId = checkpoint.getLastProcessedId();
+        long toId = Math.min(fromId + CHUNK_SIZE, maxId);
+        int rows = 0;
+        if (toId > fromId) {
+            rows = jdbcTemplate.update(
+                "INSERT INTO user_challenge_calendars (user_id, challenge_id, month_key, done_bits, updated_at) " +
+                    "SELECT uc.user_id, uc.challenge_id, " +
+                    "YEAR(uc.challenge_date) * 100 + MONTH(uc.challenge_date), " +
+                    "BIT_OR(1 << (DAYOFMONTH(uc.challenge_date) - 1)), ? " +
+                    "FROM user_challenges uc " +
+                    "WHERE uc.status = 'DONE' AND uc.id > ? AND uc.id <= ? " +
+                    "GROUP BY uc.user_id, uc.challenge_id, YEAR(uc.challenge_date) * 100 + MONTH(uc.challenge_date) " +
+                    "ON DUPLICATE KEY UPDATE done_bits = done_bits | VALUES(done_bits), updated_at = VALUES(updated_at)",
+                Timestamp.valueOf(LocalDateTime.now(ZONE_KST)), fromId, toId);
+        }
+
+        boolean hasMore = toId < maxId;
+        checkpoint.setLastProcessedId(toId);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + rows);
+        checkpoint.setCompleted(!hasMore);
+        batchCheckpointRepository.save(checkpoint);
+        return hasMore;
+    }
+}
@@ -0,0 +1,17 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.api.challenge.dto.out.ChallengeCalendarOut;
+import com.E205.cocos_forest.api.challenge.dto.out.ChallengeStreakOut;
+
+import java.time.LocalDate;
+
+public interface ChallengeCalendarService {
+    // UserChallenge DONE 전환 시 해당 일자 비트 기록 - 호출한 쪽 트랜잭션에 참여
+    void recordDone(Long userId, Long challengeId, LocalDate date);
+
+    // 월 달성 달력 (yearMonth: yyyy-MM, 없으면 이번 달)
+    ChallengeCalendarOut getCalendar(Long userId, Long challengeId, String yearMonth);
+
+    // 현재/최장 연속 달성 일수
+    ChallengeStreakOut getStreak(Long userId, Long challengeId);
+}
@@ -0,0 +1,107 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.api.challenge.dto.out.ChallengeCalendarOut;
+import com.E205.cocos_forest.api.challenge.dto.out.ChallengeStreakOut;
+import com.E205.cocos_forest.domain.challenge.calendar.CompletionBitmap;
+import com.E205.cocos_forest.domain.challenge.entity.Challenge;
+import com.E205.cocos_forest.domain.challenge.entity.UserChallengeCalendar;
+import com.E205.cocos_forest.domain.challenge.repository.ChallengeRepository;
+import com.E205.cocos_forest.domain.challenge.repository.UserChallengeCalendarRepository;
+import com.E205.cocos_forest.global.exception.BaseException;
+import com.E205.cocos_forest.global.response.BaseResponseStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 챌린지 달성 달력/연속 달성 조회
+ *
+ * - user_challenge_calendars 의 월별 32-bit 비트맵만 읽음 (월당 1행, user_challenges 이력 스캔 없음)
+ * - DONE 전환 경로(이벤트, write-behind, 텀블러 인증, 기간 정산)에서 recordDone 으로 비트 기록
+ * - 주/월 단위 챌린지는 레코드 일자(기간 시작일)에 비트가 기록되므로 연속 달성은 주/월 단위로 계산
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ChallengeCalendarServiceImpl implements ChallengeCalendarService {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final UserChallengeCalendarRepository userChallengeCalendarRepository;
+    private final ChallengeRepository challengeRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDone(Long userId, Long challengeId, LocalDate date) {
+        userChallengeCalendarRepository.orBit(userId, challengeId,
+            CompletionBitmap.monthKey(YearMonth.from(date)), CompletionBitmap.bit(date), LocalDateTime.now(ZONE_KST));
+    }
+
+    @Override
+    public ChallengeCalendarOut getCalendar(Long userId, Long challengeId, String yearMonth) {
+        YearMonth month = StringUtils.hasText(yearMonth) ? parseYearMonth(yearMonth) : YearMonth.now(ZONE_KST);
+        int bits = userChallengeCalendarRepository
+            .findByUserIdAndChallengeIdAndMonthKey(userId, challengeId, CompletionBitmap.monthKey(month))
+            .map(UserChallengeCalendar::getDoneBits)
+            .orElse(0);
+
+        return ChallengeCalendarOut.builder()
+            .challengeId(challengeId)
+            .periodType(periodOf(challengeId).name())
+            .month(month.format(YEAR_MONTH_FORMATTER))
+            .doneDays(CompletionBitmap.days(bits))
+            .doneCount(Integer.bitCount(bits))
+            .doneBits(bits)
+            .build();
+    }
+
+    @Override
+    public ChallengeStreakOut getStreak(Long userId, Long challengeId) {
+        Map<Integer, Integer> byMonth = new HashMap<>();
+        for (UserChallengeCalendar calendar : userChallengeCalendarRepository.findByUserIdAndChallengeId(userId, challengeId)) {
+            byMonth.put(calendar.getMonthKey(), calendar.getDoneBits());
+        }
+
+        LocalDate today = LocalDate.now(ZONE_KST);
+        Challenge.PeriodType period = periodOf(challengeId);
+        int current = period == Challenge.PeriodType.DAILY
+            ? CompletionBitmap.currentStreak(byMonth, today)
+            : CompletionBitmap.currentPeriodStreak(byMonth, today, period::startOf);
+        int longest = period == Challenge.PeriodType.DAILY
+            ? CompletionBitmap.longestStreak(byMonth)
+            : CompletionBitmap.longestPeriodStreak(byMonth, period::startOf);
+
+        return ChallengeStreakOut.builder()
+            .challengeId(challengeId)
+            .periodType(period.name())
+            .currentStreak(current)
+            .longestStreak(longest)
+            .build();
+    }
+
+    private Challenge.PeriodType periodOf(Long challengeId) {
+        return challengeRepository.findById(challengeId)
+            .map(Challenge::getPeriod)
+            .orElse(Challenge.PeriodType.DAILY);
+    }
+
+    private YearMonth parseYearMonth(String yearMonth) {
+        try {
+            return YearMonth.parse(yearMonth, YEAR_MONTH_FORMATTER);
+        } catch (DateTimeParseException ex) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid yearMonth format");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.domain.batch.entity.BatchCheckpoint;
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
+import com.E205.cocos_forest.domain.batch.repository.BatchCheckpointRepository;
+import com.E205.cocos_forest.domain.challenge.entity.Challenge;
+import com.E205.cocos_forest.domain.challenge.repository.ChallengeRepository;
+import com.E205.cocos_forest.domain.challenge.repository.UserChallengeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.stream.Collectors;
+
+/**
+ * 금일 user_challenges PENDING 레코드 일괄 생성
+ *
+ * - 자정(KST)에 활성 챌린지마다 INSERT IGNORE ... SELECT 로 전체 활성 사용자 행을 생성
+ * - 사용자 id 범위를 CHUNK_SIZE 씩 나눠 청크마다 커밋, 체크포인트(batch_checkpoints)에 마지막 id 기록
+ * - 자정 이후 기동된 경우에도 기동 시 한 번 실행해 누락분을 채움 (이미 있는 행은 유니크 키로 무시)
+ * - 작업 시작 이후 가입한 사용자는 회원가입 시 materializeForUser 로 생성
+ * - 주/월 단위 챌린지는 기간 시작일 레코드를 생성 (기간 중 매일 실행되어도 체크포인트로 건너뜀)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChallengeDailyMaterializer {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final String JOB_NAME = "CHALLENGE_DAILY_MATERIALIZE";
+    private static final long CHUNK_SIZE = 5000;
+
+    private static final String INSERT_RANGE_SQL =
+        "INSERT IGNORE INTO user_challenges " +
+            "(user_id, challenge_id, challenge_date, status, reward_points, created_at, updated_at) " +
+            "SELECT u.id, ?, ?, 'PENDING', 0, ?, ? FROM users u " +
+            "WHERE u.deleted_at IS NULL AND u.id > ? AND u.id <= ?";
+
+    private final ChallengeRepository challengeRepository;
+    private final UserChallengeRepository userChallengeRepository;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseLock jobLeaseLock;
+
+    // 매일 00:00 KST 에 금일 레코드 생성
+    @Scheduled(cron = "0 0 0 * * *", zone = "Asia/Seoul")
+    public void materializeToday() {
+        LocalDate today = LocalDate.now(ZONE_KST);
+        jobLeaseLock.runExclusive(JOB_NAME, Duration.ofHours(1), Duration.ofMinutes(5), () -> materialize(today));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void materializeOnStartup() {
+        try {
+            // 기동 시에는 최소 점유 시간 없이 실행해 직후 자정 작업을 막지 않음
+            LocalDate today = LocalDate.now(ZONE_KST);
+            jobLeaseLock.runExclusive(JOB_NAME, Duration.ofHours(1), Duration.ZERO, () -> materialize(today));
+        } catch (Exception e) {
+            log.warn("[Challenge] Startup materialize failed: reason={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 지정 일자의 활성 챌린지 레코드 생성 (챌린지별 체크포인트부터 이어서 처리)
+     */
+    public void materialize(LocalDate date) {
+        Long maxUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+        if (maxUserId == null || maxUserId == 0) {
+            return;
+        }
+
+        for (Challenge ch : challengeRepository.findByIsActiveTrue()) {
+            try {
+                materializeChallenge(ch.getId(), ch.periodStart(date), maxUserId);
+            } catch (Exception e) {
+                log.warn("[Challenge] Materialize failed: challengeId={}, date={}, reason={}",
+                    ch.getId(), date, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 신규 가입 사용자의 금일 레코드 생성 (호출한 트랜잭션에 참여)
+     */
+    @Transactional
+    public void materializeForUser(Long userId) {
+        LocalDate today = LocalDate.now(ZONE_KST);
+        LocalDateTime now = LocalDateTime.now(ZONE_KST);
+        challengeRepository.findByIsActiveTrue().stream()
+            .collect(Collectors.groupingBy(ch -> ch.periodStart(today),
+                Collectors.mapping(Challenge::getId, Collectors.toList())))
+            .forEach((start, challengeIds) -> userChallengeRepository.insertPendingIgnore(userId, start, challengeIds, now));
+    }
+
+    private void materializeChallenge(Long challengeId, LocalDate date, long maxUserId) {
+        String partitionKey = date + ":" + challengeId;
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findByJobNameAndPartitionKey(JOB_NAME, partitionKey)
+            .orElseGet(() -> batchCheckpointRepository.save(new BatchCheckpoint(JOB_NAME, partitionKey)));
+        if (Boolean.TRUE.equals(checkpoint.getCompleted()) && checkpoint.getLastProcessedId() >= maxUserId) {
+            return;
+        }
+
+        log.info("[Challenge] Materialize start: challengeId={}, date={}, fromUserId={}",
+            challengeId, date, checkpoint.getLastProcessedId());
+
+        boolean hasMore = true;
+        while (hasMore) {
+            hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                processChunk(checkpoint.getId(), challengeId, date, maxUserId)));
+        }
+
+        log.info("[Challenge] Materialize end: challengeId={}, date={}", challengeId, date);
+    }
+
+    // 사용자 id 범위 한 청크 처리 (트랜잭션 내부), 더 처리할 범위가 있으면 true
+    private boolean processChunk(Long checkpointId, Long challengeId, LocalDate date, long maxUserId) {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(checkpointId).orElseThrow();
+
+        long fromId = checkpoint.getLastProcessedId();
+        long toId = Math.min(fromId + CHUNK_SIZE, maxUserId);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZONE_KST));
+        int inserted = jdbcTemplate.update(INSERT_RANGE_SQL, challengeId, Date.valueOf(date), now, now, fromId, toId);
+
+        boolean hasMore = toId < maxUserId;
+        checkpoint.setLastProcessedId(toId);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + inserted);
+        checkpoint.setCompleted(!hasMore);
+        batchCheckpointRepository.save(checkpoint);
+
+        return hasMore;
+    }
+}
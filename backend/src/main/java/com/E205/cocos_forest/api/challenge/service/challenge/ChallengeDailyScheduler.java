@@ -1,25 +1,47 @@
 package com.E205.cocos_forest.api.challenge.service.challenge;
 
+import com.E205.cocos_forest.api.emission.service.DailyEmissionService;
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
+import com.E205.cocos_forest.domain.challenge.calendar.CompletionBitmap;
 import com.E205.cocos_forest.domain.challenge.entity.Challenge;
-import com.E205.cocos_forest.domain.challenge.entity.UserChallenge;
 import com.E205.cocos_forest.domain.challenge.repository.ChallengeRepository;
+import com.E205.cocos_forest.domain.challenge.repository.UserChallengeCalendarRepository;
 import com.E205.cocos_forest.domain.challenge.repository.UserChallengeRepository;
+import com.E205.cocos_forest.domain.challenge.rule.ChallengeRule;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
 import com.E205.cocos_forest.api.forest.service.PointService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * 자동으로 매일 12:00 KST에 챌린지 정산 작업을 수행
+ *
+ * - 기간이 정산일에 끝나는 챌린지만 대상 (일 단위는 매일, 주 단위는 일요일, 월 단위는 말일)
+ * - 주/월 단위 이하(LTE) 조건은 원천 데이터의 기간 누적 값으로 먼저 DONE 확정 (청크 단위 집계)
+ * - PENDING -> FAIL 은 (기간 시작일, 챌린지) 단위 UPDATE 한 번으로 처리
+ * - 미지급 DONE 보상은 id 순으로 CHUNK_SIZE 씩 지급, 청크마다 커밋
+ * - reward_points = 0 인 행만 지급 대상이라 재실행/중단 후 재시작 시에도 중복 지급 없음
  */
 @Service
 @RequiredArgsConstructor
@@ -27,55 +49,278 @@ import java.util.stream.Collectors;
 public class ChallengeDailyScheduler {
 
     private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final String JOB_NAME = "CHALLENGE_DAILY_FINALIZE";
+    private static final int CHUNK_SIZE = 500;
+    private static final String UNPAID_FROM =
+        "FROM user_challenges uc JOIN challenges c ON c.id = uc.challenge_id " +
+            "WHERE uc.challenge_date = ? AND uc.status = 'DONE' AND uc.reward_points = 0 " +
+            "AND c.reward_points > 0 AND uc.id > ? ";
 
     private final UserChallengeRepository userChallengeRepository;
+    private final UserChallengeCalendarRepository userChallengeCalendarRepository;
     private final ChallengeRepository challengeRepository;
+    private final ChallengeRuleCompiler challengeRuleCompiler;
+    private final DailyEmissionService dailyEmissionService;
     private final PointService pointService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseLock jobLeaseLock;
 
-    // 매일 00:05 KST에 전일 챌린지를 정산
-    @Scheduled(cron = "0 5 0 * * *", zone = "Asia/Seoul")
-    @Transactional
+    // 전일 챌린지 정산 - 기본 꺼짐, cocos.scheduling.challenge-finalize.cron 설정 시 실행 (예: "0 5 0 * * *")
+    @Scheduled(cron = "${cocos.scheduling.challenge-finalize.cron:-}", zone = "Asia/Seoul")
     public void finalizeYesterday() {
         LocalDate yesterday = LocalDate.now(ZONE_KST).minusDays(1);
-        log.info("[Challenge] Daily finalize start for {}", yesterday);
+        jobLeaseLock.runExclusive(JOB_NAME, Duration.ofHours(2), Duration.ofMinutes(5), () -> finalizeDate(yesterday));
+    }
+
+    public void finalizeDate(LocalDate date) {
+        log.info("[Challenge] Daily finalize start for {}", date);
+
+        // 기간이 date 로 끝나는 챌린지를 기간 시작일별로 묶음 (비활성 챌린지의 남은 레코드도 정산)
+        Map<LocalDate, List<Challenge>> closing = challengeRepository.findAll().stream()
+            .filter(ch -> ch.periodEnd(date).equals(date))
+            .collect(Collectors.groupingBy(ch -> ch.periodStart(date), TreeMap::new, Collectors.toList()));
+
+        int failed = 0;
+        long paid = 0;
+        for (Map.Entry<LocalDate, List<Challenge>> entry : closing.entrySet()) {
+            LocalDate start = entry.getKey();
+
+            // 주/월 단위 이하(LTE) 조건 확정
+            for (Challenge ch : entry.getValue()) {
+                if (ch.settlesAtPeriodEnd()) {
+                    try {
+                        settlePeriodEnd(ch, start, date);
+                    } catch (Exception e) {
+                        log.warn("[Challenge] Period settle failed: challengeId={}, start={}, reason={}",
+                            ch.getId(), start, e.getMessage());
+                    }
+                }
+            }
+
+            // PENDING은 기간 종료 기준 FAIL 처리
+            List<Long> challengeIds = entry.getValue().stream().map(Challenge::getId).toList();
+            Integer count = transactionTemplate.execute(status ->
+                userChallengeRepository.failPending(start, challengeIds, LocalDateTime.now(ZONE_KST)));
+            failed += count == null ? 0 : count;
+
+            // 상태가 DONE이지만 미지급 상태면 자동 지급
+            paid += payRewards(start);
+        }
+
+        log.info("[Challenge] Daily finalize end for {}: failed={}, rewarded={}", date, failed, paid);
+    }
 
-        List<UserChallenge> list = userChallengeRepository.findByChallengeDate(yesterday);
-        if (list.isEmpty()) {
-            log.info("[Challenge] No user_challenges to finalize");
+    private long payRewards(LocalDate challengeDate) {
+        long paid = 0;
+        long lastId = 0;
+        while (true) {
+            long fromId = lastId;
+            RewardChunk chunk;
+            try {
+                chunk = transactionTemplate.execute(status -> payChunk(challengeDate, fromId));
+            } catch (Exception e) {
+                // 실패한 청크는 건너뛰고 다음 청크 계속 (남은 행은 reward_points = 0 이라 재실행/수동 수령 대상)
+                log.warn("[Challenge] Scheduled reward chunk failed: date={}, fromId={}, reason={}",
+                    challengeDate, fromId, e.getMessage());
+                chunk = new RewardChunk(lastUnpaidId(challengeDate, fromId), 0);
+            }
+            if (chunk == null || chunk.lastId() == null) {
+                break;
+            }
+            paid += chunk.paid();
+            lastId = chunk.lastId();
+        }
+        return paid;
+    }
+
+    /**
+     * 주/월 단위 이하(LTE) 챌린지의 기간 누적 값이 기준 이하인 PENDING 레코드를 DONE 처리
+     * - PENDING 레코드를 id 순으로 CHUNK_SIZE 씩 읽고, 청크 사용자들의 기간 값은 지표별 집계 쿼리 한 번으로 계산
+     * - 일자별 진행 행이 아닌 원천 데이터로 계산 (진행 행이 없는 배포 전/이벤트 누락 일자를 0 으로 보지 않도록)
+     *   AMOUNT: card_transactions 를 (사용자, 카테고리, 가맹점) 단위로 합산 후 챌린지 조건 적용
+     *   STEPS: daily_steps 합계
+     *   EMISSION: daily_emissions (카테고리 slot 필터는 애플리케이션에서 적용)
+     * - 달성 레코드는 id 목록으로 한 번에 DONE 처리하고 달성 달력도 같은 트랜잭션에서 반영
+     */
+    private void settlePeriodEnd(Challenge ch, LocalDate start, LocalDate end) {
+        if (ch.getMetricType() == null || ch.getMetricType() == Challenge.MetricType.ATTENDANCE) {
             return;
         }
+        long lastId = 0;
+        while (true) {
+            long fromId = lastId;
+            Long next = transactionTemplate.execute(status -> settleChunk(ch, start, end, fromId));
+            if (next == null) {
+                return;
+            }
+            lastId = next;
+        }
+    }
+
+    // PENDING 한 청크 정산 (트랜잭션 내부), 처리한 마지막 id 반환 (없으면 null)
+    private Long settleChunk(Challenge ch, LocalDate start, LocalDate end, long fromId) {
+        Map<Long, Long> userByRow = new LinkedHashMap<>();
+        jdbcTemplate.query(
+            "SELECT id, user_id FROM user_challenges " +
+                "WHERE challenge_id = ? AND challenge_date = ? AND status = 'PENDING' AND id > ? " +
+                "ORDER BY id LIMIT ?",
+            rs -> {
+                userByRow.put(rs.getLong("id"), rs.getLong("user_id"));
+            },
+            ch.getId(), Date.valueOf(start), fromId, CHUNK_SIZE);
+        if (userByRow.isEmpty()) {
+            return null;
+        }
 
-        // 내 챌린지 정보 미리 조회
-        Map<Long, Challenge> challengeMap = challengeRepository
-            .findAllById(list.stream().map(UserChallenge::getChallengeId).collect(Collectors.toSet()))
-            .stream().collect(Collectors.toMap(Challenge::getId, Function.identity()));
-
-        // 정산 처리
-        for (UserChallenge uc : list) {
-            Challenge ch = challengeMap.get(uc.getChallengeId());
-            if (ch == null) continue;
-
-            // PENDING은 전일 기준 FAIL 처리
-            if (uc.getStatus() == UserChallenge.Status.PENDING) {
-                uc.setStatus(UserChallenge.Status.FAIL);
-                userChallengeRepository.save(uc);
-                continue;
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(userByRow.values()));
+        List<Long> achieved = new ArrayList<>();
+        switch (ch.getMetricType()) {
+            case AMOUNT -> {
+                Map<Long, Long> amounts = sumMatchingAmount(ch, userIds, start, end);
+                ChallengeRule rule = challengeRuleCompiler.compile(ch);
+                userByRow.forEach((id, userId) -> {
+                    if (rule.achieved(amounts.getOrDefault(userId, 0L))) {
+                        achieved.add(id);
+                    }
+                });
             }
+            case STEPS -> {
+                Map<Long, Long> steps = new HashMap<>();
+                jdbcTemplate.query(
+                    "SELECT user_id, SUM(steps) AS steps FROM daily_steps " +
+                        "WHERE user_id IN (" + placeholders(userIds.size()) + ") AND target_date BETWEEN ? AND ? " +
+                        "GROUP BY user_id",
+                    rs -> {
+                        steps.put(rs.getLong("user_id"), rs.getLong("steps"));
+                    },
+                    withRange(userIds, start, end));
+                ChallengeRule rule = challengeRuleCompiler.compile(ch);
+                userByRow.forEach((id, userId) -> {
+                    if (rule.achieved(steps.getOrDefault(userId, 0L))) {
+                        achieved.add(id);
+                    }
+                });
+            }
+            case EMISSION -> {
+                ChallengeRule rule = challengeRuleCompiler.compile(ch);
+                Map<Long, Long> carbonMg = dailyEmissionService.sumCarbonMgByUser(userIds, start, end, rule::matchesCategory);
+                userByRow.forEach((id, userId) -> {
+                    if (rule.achieved(CarbonMath.toKg(carbonMg.getOrDefault(userId, 0L), 3))) {
+                        achieved.add(id);
+                    }
+                });
+            }
+            default -> { }
+        }
 
-            // 상태가 DONE이지만 미지급 상태면 자동 지급
-            if (uc.getStatus() == UserChallenge.Status.DONE
-                && (uc.getRewardPoints() == null || uc.getRewardPoints() == 0)) {
-                try {
-                    pointService.earnPoints(uc.getUserId(), ch.getRewardPoints(), "CHALLENGE_REWARD", uc.getId(), ch.getTitle());
-                    uc.setRewardPoints(ch.getRewardPoints());
-                    userChallengeRepository.save(uc);
-                } catch (Exception e) {
-                    log.warn("[Challenge] Scheduled reward claim failed: ucId={}, reason={}", uc.getId(), e.getMessage());
-                }
+        if (!achieved.isEmpty()) {
+            LocalDateTime achievedAt = LocalDateTime.now(ZONE_KST);
+            Timestamp now = Timestamp.valueOf(achievedAt);
+            List<Object> args = new ArrayList<>(List.of(now, now));
+            args.addAll(achieved);
+            jdbcTemplate.update(
+                "UPDATE user_challenges SET status = 'DONE', achieved_at = ?, updated_at = ? " +
+                    "WHERE id IN (" + placeholders(achieved.size()) + ") AND status = 'PENDING'",
+                args.toArray());
+
+            // 달성 달력 반영 (OR 라 이미 기록된 사용자도 결과 동일)
+            userChallengeCalendarRepository.orBitForDone(achieved,
+                CompletionBitmap.monthKey(YearMonth.from(start)), CompletionBitmap.bit(start), achievedAt);
+        }
+
+        long lastId = 0;
+        for (Long id : userByRow.keySet()) {
+            lastId = id;
+        }
+        return lastId;
+    }
+
+    // 사용자별 기간 승인 금액 중 챌린지 조건(카테고리/가맹점)에 맞는 합계
+    private Map<Long, Long> sumMatchingAmount(Challenge ch, List<Long> userIds, LocalDate start, LocalDate end) {
+        List<AmountRow> rows = jdbcTemplate.query(
+            "SELECT user_id, category_id, merchant_id, SUM(amount_krw) AS amount FROM card_transactions " +
+                "WHERE user_id IN (" + placeholders(userIds.size()) + ") AND tx_date BETWEEN ? AND ? " +
+                "AND status = 'APPROVED' GROUP BY user_id, category_id, merchant_id",
+            (rs, rowNum) -> new AmountRow(
+                rs.getLong("user_id"),
+                rs.getString("category_id"),
+                rs.getObject("merchant_id", Long.class),
+                rs.getLong("amount")),
+            withRange(userIds, start, end));
+
+        challengeRuleCompiler.ensureMerchantsKnown(rows.stream().map(AmountRow::merchantId).toList());
+        ChallengeRule rule = challengeRuleCompiler.compile(ch);
+        Map<Long, Long> amounts = new HashMap<>();
+        for (AmountRow row : rows) {
+            if (rule.matches(row.categoryId(), row.merchantId())) {
+                amounts.merge(row.userId(), row.amount(), Long::sum);
             }
         }
+        return amounts;
+    }
 
-        log.info("[Challenge] Daily finalize end for {}", yesterday);
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static Object[] withRange(List<Long> userIds, LocalDate start, LocalDate end) {
+        List<Object> args = new ArrayList<>(userIds);
+        args.add(Date.valueOf(start));
+        args.add(Date.valueOf(end));
+        return args.toArray();
     }
-}
 
+    // 미지급 DONE 한 청크 지급 (트랜잭션 내부), 처리한 마지막 id 반환 (없으면 null)
+    private RewardChunk payChunk(LocalDate date, long fromId) {
+        List<RewardRow> rows = jdbcTemplate.query(
+            "SELECT uc.id, uc.user_id, c.reward_points, c.title " + UNPAID_FROM +
+                "ORDER BY uc.id LIMIT ? FOR UPDATE OF uc",
+            (rs, rowNum) -> new RewardRow(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getInt("reward_points"),
+                rs.getString("title")),
+            Date.valueOf(date), fromId, CHUNK_SIZE);
+
+        if (rows.isEmpty()) {
+            return new RewardChunk(null, 0);
+        }
+
+        // 지급 표시 - 행은 위 FOR UPDATE 로 잠겨 있고, 수동 수령(claimReward)도 reward_points = 0 조건 UPDATE 로
+        // 같은 행 잠금을 거치므로 이 트랜잭션이 커밋되면 수동 수령은 0건 갱신되어 지급하지 않음
+        // (rewriteBatchedStatements 사용 시 건수가 -2 로 오므로 갱신 건수로 판단하지 않음)
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZONE_KST));
+        jdbcTemplate.batchUpdate(
+            "UPDATE user_challenges SET reward_points = ?, updated_at = ? WHERE id = ? AND reward_points = 0",
+            rows,
+            rows.size(),
+            (ps, row) -> {
+                ps.setInt(1, row.points());
+                ps.setTimestamp(2, now);
+                ps.setLong(3, row.id());
+            });
+
+        List<PointService.EarnEntry> entries = new ArrayList<>(rows.size());
+        for (RewardRow row : rows) {
+            entries.add(new PointService.EarnEntry(row.userId(), row.points(), "CHALLENGE_REWARD", row.id(), row.title()));
+        }
+        pointService.earnPointsInBatch(entries);
+
+        return new RewardChunk(rows.get(rows.size() - 1).id(), entries.size());
+    }
+
+    // 실패한 청크의 마지막 id (잠금 없이 같은 조건으로 조회), 없으면 null
+    private Long lastUnpaidId(LocalDate date, long fromId) {
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT uc.id " + UNPAID_FROM + "ORDER BY uc.id LIMIT ?",
+            Long.class, Date.valueOf(date), fromId, CHUNK_SIZE);
+        return ids.isEmpty() ? null : ids.get(ids.size() - 1);
+    }
+
+    private record AmountRow(long userId, String categoryId, Long merchantId, long amount) {}
+
+    private record RewardRow(long id, long userId, int points, String title) {}
+
+    private record RewardChunk(Long lastId, int paid) {}
+}
@@ -0,0 +1,52 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.api.challenge.event.DailyStepsUpdatedEvent;
+import com.E205.cocos_forest.api.finance.card.event.CardTransactionChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 결제/걸음수 이벤트 -> 챌린지 진행 값 반영
+ * - 발행한 쪽 트랜잭션이 커밋된 뒤 별도 트랜잭션에서 실행
+ *   (외부 결제가 끝난 거래 기록이 진행 값 반영 실패로 롤백되지 않도록, 결제 트랜잭션은 거래/집계만 포함)
+ * - 반영에 실패하면 로그만 남김, 진행 값 행이 없거나 조건 버전이 다르면 조회/반영 시 원천 데이터로 다시 계산됨
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChallengeProgressEventListener {
+
+    private final ChallengeProgressService challengeProgressService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTransactionChanged(CardTransactionChangedEvent event) {
+        try {
+            challengeProgressService.applyCardTransaction(event);
+        } catch (Exception e) {
+            log.warn("[Challenge] Progress apply failed: userId={}, txDate={}, reason={}",
+                event.userId(), event.txDate(), e.getMessage());
+            // 커밋 이후 단계의 예외는 발행한 쪽(결제 등) 호출로 전파되므로 던지지 않고 이 트랜잭션만 롤백
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onStepsUpdated(DailyStepsUpdatedEvent event) {
+        try {
+            challengeProgressService.applySteps(event);
+        } catch (Exception e) {
+            log.warn("[Challenge] Steps progress apply failed: userId={}, date={}, reason={}",
+                event.userId(), event.date(), e.getMessage());
+            // 커밋 이후 단계의 예외는 발행한 쪽(결제 등) 호출로 전파되므로 던지지 않고 이 트랜잭션만 롤백
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.api.challenge.event.DailyStepsUpdatedEvent;
+import com.E205.cocos_forest.api.finance.card.event.CardTransactionChangedEvent;
+import com.E205.cocos_forest.domain.challenge.entity.Challenge;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface ChallengeProgressService {
+    // 일자의 AMOUNT/STEPS 챌린지 진행 값 (challengeId -> 값, 주/월 단위는 기간 누적), 진행 행이 없는 챌린지는 원천 데이터로 계산 (저장 없음)
+    Map<Long, Long> loadProgress(Long userId, LocalDate date, List<Challenge> challenges);
+
+    // 결제 금액을 조건이 맞는 AMOUNT 챌린지 진행 값에 반영
+    void applyCardTransaction(CardTransactionChangedEvent event);
+
+    // 걸음수를 STEPS 챌린지 진행 값에 반영
+    void applySteps(DailyStepsUpdatedEvent event);
+}
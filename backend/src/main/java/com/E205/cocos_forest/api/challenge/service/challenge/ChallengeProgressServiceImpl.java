@@ -0,0 +1,279 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.api.challenge.event.DailyStepsUpdatedEvent;
+import com.E205.cocos_forest.api.finance.card.event.CardTransactionChangedEvent;
+import com.E205.cocos_forest.domain.challenge.entity.Challenge;
+import com.E205.cocos_forest.domain.challenge.entity.UserChallengeProgress;
+import com.E205.cocos_forest.domain.challenge.repository.ChallengeRepository;
+import com.E205.cocos_forest.domain.challenge.repository.UserChallengeProgressRepository;
+import com.E205.cocos_forest.domain.challenge.repository.UserChallengeRepository;
+import com.E205.cocos_forest.domain.challenge.rule.ChallengeRule;
+import com.E205.cocos_forest.domain.finance.card.transaction.CardTransaction;
+import com.E205.cocos_forest.domain.finance.card.transaction.CardTransactionAmountView;
+import com.E205.cocos_forest.domain.finance.card.transaction.CardTransactionRepository;
+import com.E205.cocos_forest.domain.health.repository.DailyStepsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * 챌린지 진행 값(user_challenge_progress) 증분 갱신
+ *
+ * - 결제/걸음수 이벤트를 커밋 직전에 같은 트랜잭션에서 반영 (원본과 함께 커밋/롤백, ChallengeProgressEventListener)
+ * - 이벤트는 거래/걸음수 일자의 진행 행에 반영, 그 일자가 속한 기간이 이미 끝났으면(정산 대상) 반영하지 않음
+ * - 진행 행이 없으면(배포 직후, 당일 첫 이벤트 전 거래 등) 원천 데이터로 한 번 초기화 후 증분
+ * - 진행 행에는 계산에 쓴 조건 버전(extra_conditions 체크섬)을 저장, 조건이 바뀐 뒤의 행은 원천 데이터로 다시 계산
+ * - 달성 조건을 만족하는 순간 UserChallenge 를 DONE 으로 변경
+ * - 주/월 단위 챌린지도 진행 행은 일자별로 쌓고, 기간 값은 시작일부터의 일자별 행 합계로 계산 (기간 일수만큼만 읽음)
+ *   기간 종료 시 확정되는 이하(LTE) 조건은 여기서 DONE 처리하지 않음 (ChallengeDailyScheduler 정산)
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class ChallengeProgressServiceImpl implements ChallengeProgressService {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+
+    private final ChallengeRepository challengeRepository;
+    private final UserChallengeRepository userChallengeRepository;
+    private final UserChallengeProgressRepository userChallengeProgressRepository;
+    private final CardTransactionRepository cardTransactionRepository;
+    private final DailyStepsRepository dailyStepsRepository;
+    private final ChallengeRuleCompiler challengeRuleCompiler;
+    private final ChallengeCalendarService challengeCalendarService;
+
+    /**
+     * 조회 전용 - 진행 행이 없으면 원천 데이터로 계산만 하고 저장하지 않음 (첫 이벤트가 초기화)
+     * - 주/월 단위 챌린지는 기간 시작일부터 date 까지의 누적 값
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<Long, Long> loadProgress(Long userId, LocalDate date, List<Challenge> challenges) {
+        Map<Long, Challenge> byId = new HashMap<>();
+        for (Challenge ch : challenges) {
+            byId.put(ch.getId(), ch);
+        }
+
+        Map<Long, Long> values = new HashMap<>();
+        for (UserChallengeProgress progress : userChallengeProgressRepository.findByUserIdAndChallengeDate(userId, date)) {
+            // 조건 변경 전 버전의 행은 없는 것으로 보고 아래에서 원천 데이터로 계산
+            if (isCurrent(progress, byId.get(progress.getChallengeId()))) {
+                values.put(progress.getChallengeId(), progress.getMetricValue());
+            }
+        }
+
+        List<CardTransactionAmountView> approved = null;
+        Long steps = null;
+        for (Challenge ch : challenges) {
+            if (values.containsKey(ch.getId())) {
+                continue;
+            }
+            if (ch.getMetricType() == Challenge.MetricType.AMOUNT) {
+                if (approved == null) {
+                    approved = loadApproved(userId, date);
+                    challengeRuleCompiler.ensureMerchantsKnown(
+                        approved.stream().map(CardTransactionAmountView::getMerchantId).toList());
+                }
+                values.put(ch.getId(), sumMatching(challengeRuleCompiler.compile(ch), approved));
+            } else if (ch.getMetricType() == Challenge.MetricType.STEPS) {
+                if (steps == null) {
+                    steps = loadSteps(userId, date);
+                }
+                values.put(ch.getId(), steps);
+            }
+        }
+
+        addPeriodDays(userId, date, date.minusDays(1), null, challenges, values);
+        return values;
+    }
+
+    @Override
+    public void applyCardTransaction(CardTransactionChangedEvent event) {
+        LocalDate today = LocalDate.now(ZONE_KST);
+        LocalDate day = event.txDate();
+        if (event.approvedAmountDelta() == 0 || day == null || day.isAfter(today)) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(ZONE_KST);
+        challengeRuleCompiler.ensureMerchantsKnown(Collections.singletonList(event.merchantId()));
+        List<CardTransactionAmountView> approved = null;
+        for (Challenge ch : challengeRepository.findByIsActiveTrueAndMetricType(Challenge.MetricType.AMOUNT)) {
+            // 거래일이 속한 기간이 이미 끝났으면 정산 대상이므로 반영하지 않음 (일 단위는 당일 거래만)
+            if (ch.periodEnd(day).isBefore(today)) {
+                continue;
+            }
+            ChallengeRule rule = challengeRuleCompiler.compile(ch);
+            if (!rule.matches(event.categoryId(), event.merchantId())) {
+                continue;
+            }
+
+            long ruleVersion = ruleVersion(ch);
+            long value;
+            if (userChallengeProgressRepository.addValue(
+                    event.userId(), day, ch.getId(), event.approvedAmountDelta(), ruleVersion, now) > 0) {
+                value = userChallengeProgressRepository.findValue(event.userId(), day, ch.getId()).orElse(0L);
+            } else {
+                // 첫 반영 또는 조건 변경 후 첫 반영 - 이번 거래까지 포함된 거래일 승인 거래로 초기화
+                if (approved == null) {
+                    approved = loadApproved(event.userId(), day);
+                }
+                value = seed(event.userId(), day, ch.getId(), sumMatching(rule, approved),
+                    event.approvedAmountDelta(), ruleVersion, now);
+            }
+
+            if (!ch.settlesAtPeriodEnd() && rule.achieved(value + sumOtherDays(event.userId(), ch, day, today))) {
+                markDone(event.userId(), ch.getId(), ch.periodStart(today), now);
+            }
+        }
+    }
+
+    @Override
+    public void applySteps(DailyStepsUpdatedEvent event) {
+        LocalDate today = LocalDate.now(ZONE_KST);
+        LocalDate day = event.date();
+        if (day == null || day.isAfter(today)) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(ZONE_KST);
+        for (Challenge ch : challengeRepository.findByIsActiveTrueAndMetricType(Challenge.MetricType.STEPS)) {
+            if (ch.periodEnd(day).isBefore(today)) {
+                continue;
+            }
+            userChallengeProgressRepository.upsertValue(event.userId(), day, ch.getId(), event.steps(), now);
+            if (!ch.settlesAtPeriodEnd()
+                && challengeRuleCompiler.compile(ch).achieved(event.steps() + sumOtherDays(event.userId(), ch, day, today))) {
+                markDone(event.userId(), ch.getId(), ch.periodStart(today), now);
+            }
+        }
+    }
+
+    // 진행 중인 기간(시작일 ~ 금일)에서 day 를 제외한 일자별 진행 값 합계 (일 단위는 0)
+    private long sumOtherDays(Long userId, Challenge ch, LocalDate day, LocalDate today) {
+        if (!ch.periodStart(today).isBefore(today)) {
+            return 0L;
+        }
+        Map<Long, Long> values = new HashMap<>();
+        values.put(ch.getId(), 0L);
+        addPeriodDays(userId, today, today, day, List.of(ch), values);
+        return values.get(ch.getId());
+    }
+
+    // 주/월 단위 챌린지 값에 date 가 속한 기간 시작일 ~ endDate 진행 값을 더함 (가장 이른 시작일부터 한 번에 조회)
+    // - skipDate 일자는 호출 측에서 이미 더한 값이라 제외 (없으면 null)
+    // - 조건 변경 전 버전의 행은 그 날짜의 승인 거래로 다시 계산 (기간 내 거래는 필요할 때 한 번만 조회)
+    private void addPeriodDays(Long userId, LocalDate date, LocalDate endDate, LocalDate skipDate,
+                               List<Challenge> challenges, Map<Long, Long> values) {
+        Map<Long, Challenge> byId = new HashMap<>();
+        Map<Long, LocalDate> starts = new HashMap<>();
+        LocalDate earliest = endDate.plusDays(1);
+        for (Challenge ch : challenges) {
+            LocalDate start = ch.periodStart(date);
+            if (!start.isAfter(endDate) && values.containsKey(ch.getId())) {
+                byId.put(ch.getId(), ch);
+                starts.put(ch.getId(), start);
+                earliest = start.isBefore(earliest) ? start : earliest;
+            }
+        }
+        if (starts.isEmpty()) {
+            return;
+        }
+
+        Map<LocalDate, List<CardTransactionAmountView>> approvedByDay = null;
+        for (UserChallengeProgress progress
+                : userChallengeProgressRepository.findByUserIdAndChallengeDateBetween(userId, earliest, endDate)) {
+            LocalDate start = starts.get(progress.getChallengeId());
+            if (start == null || progress.getChallengeDate().isBefore(start)
+                || progress.getChallengeDate().equals(skipDate)) {
+                continue;
+            }
+            Challenge ch = byId.get(progress.getChallengeId());
+            long value = progress.getMetricValue();
+            if (!isCurrent(progress, ch)) {
+                if (approvedByDay == null) {
+                    approvedByDay = loadApprovedByDay(userId, earliest, endDate);
+                }
+                value = sumMatching(challengeRuleCompiler.compile(ch),
+                    approvedByDay.getOrDefault(progress.getChallengeDate(), List.of()));
+            }
+            values.merge(progress.getChallengeId(), value, Long::sum);
+        }
+    }
+
+    // 초기 값 저장
+    // - 조건 변경 전 버전의 행이면 이번 거래까지 포함한 값으로 교체
+    // - 동시에 다른 요청이 먼저 만들었다면 그 행에 이번 증감을 더함 (먼저 커밋된 초기 값에는 이번 거래가 없음)
+    private long seed(Long userId, LocalDate date, Long challengeId, long value, long delta,
+                      long ruleVersion, LocalDateTime now) {
+        if (userChallengeProgressRepository.insertIgnore(userId, date, challengeId, value, ruleVersion, now) > 0) {
+            return value;
+        }
+        if (userChallengeProgressRepository.replaceStale(userId, date, challengeId, value, ruleVersion, now) == 0) {
+            userChallengeProgressRepository.addValue(userId, date, challengeId, delta, ruleVersion, now);
+        }
+        return userChallengeProgressRepository.findValue(userId, date, challengeId).orElse(value);
+    }
+
+    // 진행 값이 의존하는 조건(가맹점/카테고리)의 버전 - AMOUNT 외 지표는 조건과 무관하므로 0
+    private static long ruleVersion(Challenge ch) {
+        if (ch.getMetricType() != Challenge.MetricType.AMOUNT
+            || ch.getExtraConditions() == null || ch.getExtraConditions().isBlank()) {
+            return 0L;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(ch.getExtraConditions().getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static boolean isCurrent(UserChallengeProgress progress, Challenge ch) {
+        return ch != null && progress.getRuleVersion() != null && progress.getRuleVersion() == ruleVersion(ch);
+    }
+
+    // 레코드가 없으면 PENDING 으로 만든 뒤 DONE 처리, 처음 DONE 이 된 경우 달성 달력에 기록
+    private void markDone(Long userId, Long challengeId, LocalDate date, LocalDateTime now) {
+        userChallengeRepository.insertPendingIgnore(userId, date, List.of(challengeId), now);
+        if (userChallengeRepository.markDone(userId, challengeId, date, now) > 0) {
+            challengeCalendarService.recordDone(userId, challengeId, date);
+        }
+    }
+
+    private List<CardTransactionAmountView> loadApproved(Long userId, LocalDate date) {
+        return cardTransactionRepository.findAmountViews(userId, date, date, CardTransaction.Status.APPROVED);
+    }
+
+    private Map<LocalDate, List<CardTransactionAmountView>> loadApprovedByDay(Long userId, LocalDate startDate,
+                                                                              LocalDate endDate) {
+        return cardTransactionRepository.findAmountViews(userId, startDate, endDate, CardTransaction.Status.APPROVED)
+            .stream()
+            .collect(Collectors.groupingBy(CardTransactionAmountView::getTxDate));
+    }
+
+    private long loadSteps(Long userId, LocalDate date) {
+        return dailyStepsRepository.findByUserIdAndTargetDate(userId, date)
+            .map(ds -> ds.getSteps() == null ? 0 : ds.getSteps())
+            .orElse(0);
+    }
+
+    private static long sumMatching(ChallengeRule rule, List<CardTransactionAmountView> approved) {
+        long amount = 0L;
+        for (CardTransactionAmountView t : approved) {
+            if (rule.matches(t.getCategoryId(), t.getMerchantId())) {
+                amount += t.getAmountKrw();
+            }
+        }
+        return amount;
+    }
+}
@@ -0,0 +1,115 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.api.finance.card.service.CarbonReferenceSnapshotHolder;
+import com.E205.cocos_forest.domain.challenge.entity.Challenge;
+import com.E205.cocos_forest.domain.challenge.rule.ChallengeRule;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonReferenceSnapshot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Challenge -> ChallengeRule 변환 및 캐시
+ *
+ * - extra_conditions JSON 은 챌린지당 한 번만 파싱
+ * - 가맹점 이름 조건은 기준 정보 스냅샷으로 가맹점 id 집합으로 미리 해석
+ * - 챌린지 updated_at 또는 스냅샷 버전이 바뀌면 다시 컴파일
+ * - 스냅샷 이후 추가된 가맹점의 거래는 ensureMerchantsKnown 으로 스냅샷을 먼저 갱신해 이름 조건을 다시 해석
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChallengeRuleCompiler {
+
+    private static final String INCLUDE_CATEGORIES = "includeCategories";
+    private static final String EXCLUDE_CATEGORIES = "excludeCategories";
+    // 가맹점 포함 조건은 두 키 모두 지원
+    private static final String INCLUDE_MERCHANTS = "include_merchants";
+    private static final String MERCHANT_WHITELIST = "merchant_whitelist";
+    private static final String EXCLUDE_MERCHANTS = "exclude_merchants";
+
+    private final ObjectMapper objectMapper;
+    private final CarbonReferenceSnapshotHolder carbonReferenceSnapshotHolder;
+    private final Map<Long, ChallengeRule> rules = new ConcurrentHashMap<>();
+
+    public ChallengeRule compile(Challenge ch) {
+        CarbonReferenceSnapshot snapshot = carbonReferenceSnapshotHolder.get();
+        ChallengeRule cached = rules.get(ch.getId());
+        if (cached != null && cached.isCurrent(ch.getUpdatedAt(), snapshot.getVersion())) {
+            return cached;
+        }
+
+        ChallengeRule rule = build(ch, snapshot);
+        rules.put(ch.getId(), rule);
+        return rule;
+    }
+
+    /**
+     * 평가할 거래의 가맹점이 스냅샷에 없으면 스냅샷 갱신 확인 (갱신되면 다음 compile 에서 규칙 재생성)
+     */
+    public void ensureMerchantsKnown(Collection<Long> merchantIds) {
+        carbonReferenceSnapshotHolder.refreshOnMiss(merchantIds);
+    }
+
+    private ChallengeRule build(Challenge ch, CarbonReferenceSnapshot snapshot) {
+        JsonNode conditions = parse(ch);
+
+        Set<String> includeMerchants = new HashSet<>(stringSet(conditions, INCLUDE_MERCHANTS));
+        includeMerchants.addAll(stringSet(conditions, MERCHANT_WHITELIST));
+        Set<String> excludeMerchants = stringSet(conditions, EXCLUDE_MERCHANTS);
+
+        return ChallengeRule.of(
+            ch.getId(),
+            ch.getUpdatedAt(),
+            snapshot.getVersion(),
+            ch.getMetricType(),
+            ch.getComparator(),
+            ch.getThresholdValue(),
+            stringSet(conditions, INCLUDE_CATEGORIES),
+            stringSet(conditions, EXCLUDE_CATEGORIES),
+            snapshot.merchantIdsByName(includeMerchants),
+            snapshot.merchantIdsByName(excludeMerchants),
+            !includeMerchants.isEmpty(),
+            !excludeMerchants.isEmpty());
+    }
+
+    private JsonNode parse(Challenge ch) {
+        String json = ch.getExtraConditions();
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            log.warn("Invalid extra_conditions JSON: challengeId={}, reason={}", ch.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    // JSON 배열 값을 Set<String> 으로 변환 (키가 없거나 배열이 아니면 빈 Set)
+    private static Set<String> stringSet(JsonNode conditions, String key) {
+        if (conditions == null) {
+            return Collections.emptySet();
+        }
+        JsonNode node = conditions.get(key);
+        if (node == null || !node.isArray()) {
+            return Collections.emptySet();
+        }
+        Set<String> values = new HashSet<>();
+        node.forEach(v -> {
+            if (!v.isNull()) {
+                values.add(v.asText());
+            }
+        });
+        return values;
+    }
+}
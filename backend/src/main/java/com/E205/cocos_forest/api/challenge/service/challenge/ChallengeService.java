@@ -6,6 +6,4 @@ public interface ChallengeService {
     ChallengeTodayOut getTodayChallenges(Long userId);
 
     void claimReward(Long userId, Long userChallengeId);
-
-    void evaluateStepsChallenge(Long userId);
 }
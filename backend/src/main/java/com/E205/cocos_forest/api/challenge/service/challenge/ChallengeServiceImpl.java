@@ -1,18 +1,14 @@
 package com.E205.cocos_forest.api.challenge.service.challenge;
 
 import com.E205.cocos_forest.api.challenge.dto.out.ChallengeTodayOut;
+import com.E205.cocos_forest.api.emission.service.DailyEmissionService;
 import com.E205.cocos_forest.api.forest.service.PointService;
 import com.E205.cocos_forest.domain.challenge.entity.Challenge;
 import com.E205.cocos_forest.domain.challenge.entity.UserChallenge;
 import com.E205.cocos_forest.domain.challenge.repository.ChallengeRepository;
 import com.E205.cocos_forest.domain.challenge.repository.UserChallengeRepository;
-import com.E205.cocos_forest.domain.finance.card.transaction.CardTransaction;
-import com.E205.cocos_forest.domain.finance.card.transaction.CardTransactionRepository;
-import com.E205.cocos_forest.domain.finance.merchant.Merchant;
-import com.E205.cocos_forest.domain.finance.merchant.MerchantRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.E205.cocos_forest.domain.health.repository.DailyStepsRepository;
+import com.E205.cocos_forest.domain.challenge.rule.ChallengeRule;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,7 +18,6 @@ import java.math.BigDecimal;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 
 @Service
@@ -37,12 +32,12 @@ public class ChallengeServiceImpl implements ChallengeService {
 
     private final ChallengeRepository challengeRepository;
     private final UserChallengeRepository userChallengeRepository;
-    private final CardTransactionRepository cardTransactionRepository;
     private final PointService pointService;
-    private final MerchantRepository merchantRepository;
-    private final DailyStepsRepository dailyStepsRepository;
-
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DailyEmissionService dailyEmissionService;
+    private final ChallengeRuleCompiler challengeRuleCompiler;
+    private final ChallengeProgressService challengeProgressService;
+    private final ChallengeStatusWriteBehind challengeStatusWriteBehind;
+    private final ChallengeCalendarService challengeCalendarService;
 
 
 
@@ -56,23 +51,25 @@ public class ChallengeServiceImpl implements ChallengeService {
      * - DTO 구성
      */
     @Override
-    @Transactional //평가, 보상, 저장까지 한 트랜잭션에서 처리
     public ChallengeTodayOut getTodayChallenges(Long userId) {
         LocalDate today = LocalDate.now(ZONE_KST);
         OffsetDateTime now = OffsetDateTime.now(ZONE_KST); //동기화 시간 표시용
 
         List<Challenge> active = challengeRepository.findByIsActiveTrue(); //활성화된 챌린지 전체
 
+        // 금일의 UserChallenge 레코드를 한 번에 조회(없는 챌린지는 PENDING 으로 보고 생성은 write-behind)
+        Map<Long, UserChallenge> userChallenges = loadToday(userId, active, today);
+
+        // AMOUNT/STEPS 진행 값은 결제/걸음수 이벤트로 갱신된 행을 한 번에 조회
+        Map<Long, Long> progress = challengeProgressService.loadProgress(userId, today, active);
+
         List<ChallengeTodayOut.Item> items = new ArrayList<>();
 
         // 활성화 된 챌린지 대상으로 처리
         for (Challenge ch : active) {
-            // 금일의 UserChallenge 레코드를 확보(없으면 PENDING 생성)
-            UserChallenge uc = userChallengeRepository
-                .findByUserIdAndChallengeIdAndChallengeDate(userId, ch.getId(), today)
-                .orElseGet(() -> createPending(userId, ch, today));
+            UserChallenge uc = userChallenges.get(ch.getId());
 
-            // 챌린지 달성 여부 계산 후 상태 갱신
+            // 챌린지 달성 여부 계산 (저장은 write-behind, 이 트랜잭션은 읽기 전용)
             Evaluation eval;
             if (ch.getMetricType() == null || ch.getComparator() == null) {
                 Map<String, Object> m = new LinkedHashMap<>();
@@ -83,22 +80,13 @@ public class ChallengeServiceImpl implements ChallengeService {
                     Map<String, Object> m = new LinkedHashMap<>();
                     m.put("attended", true);
                     eval = new Evaluation(true, m);
-                } else if (ch.getMetricType() == Challenge.MetricType.STEPS) {
-                    Map<String, Object> m = new LinkedHashMap<>();
-                    BigDecimal val = evaluateSteps(userId, ch, today, m);
-                    BigDecimal threshold = ch.getThresholdValue() == null ? BigDecimal.ZERO : ch.getThresholdValue();
-                    boolean achieved = (ch.getComparator() == Challenge.ComparatorType.LTE)
-                        ? (val.compareTo(threshold) <= 0)
-                        : (val.compareTo(threshold) >= 0);
-                    eval = new Evaluation(achieved, m);
                 } else {
-                    eval = evaluate(userId, ch, today);
+                    eval = evaluate(userId, ch, today, progress);
                 }
-                applyEvaluation(uc, ch, eval);
             }
 
             // 클라이언트 응답용 아이템 구성
-            items.add(toItem(uc, ch, eval, now));
+            items.add(toItem(uc, ch, eval, resolveStatus(uc, eval), now));
         }
 
         return ChallengeTodayOut.builder()
@@ -110,72 +98,107 @@ public class ChallengeServiceImpl implements ChallengeService {
     }
 
     /**
-     * 금일 PENDING 상태의 UserChallenge 생성 후 저장
-     * - 최초 조회 시 오늘 항목이 없다면 호출됨
+     * 사용자의 금일 UserChallenge 레코드를 챌린지 id 기준으로 조회 (쿼리 1회)
+     * - 주/월 단위 챌린지는 기간 시작일 레코드 하나를 기간 내내 사용
+     * - 레코드는 자정 일괄 생성 작업(ChallengeDailyMaterializer)이 미리 만들어 둠
+     * - 작업 이후 활성화된 챌린지 등 누락분만 저장하지 않은 PENDING 객체로 채우고 생성은 write-behind 큐에 등록
      */
-    private UserChallenge createPending(Long userId, Challenge ch, LocalDate date) {
-        UserChallenge uc = new UserChallenge();
-        uc.setUserId(userId);
-        uc.setChallengeId(ch.getId());
-        uc.setChallengeDate(date);
-        uc.setStatus(UserChallenge.Status.PENDING);
-        uc.setRewardPoints(0);
-        return userChallengeRepository.save(uc);
+    private Map<Long, UserChallenge> loadToday(Long userId, List<Challenge> active, LocalDate date) {
+        if (active.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<Long, LocalDate> starts = new HashMap<>();
+        for (Challenge ch : active) {
+            starts.put(ch.getId(), ch.periodStart(date));
+        }
+
+        Map<Long, UserChallenge> byChallenge = new HashMap<>();
+        for (UserChallenge uc : userChallengeRepository.findByUserIdAndChallengeDateIn(userId, new HashSet<>(starts.values()))) {
+            if (uc.getChallengeDate().equals(starts.get(uc.getChallengeId()))) {
+                byChallenge.put(uc.getChallengeId(), uc);
+            }
+        }
+
+        for (Challenge ch : active) {
+            if (!byChallenge.containsKey(ch.getId())) {
+                LocalDate start = starts.get(ch.getId());
+                UserChallenge pending = new UserChallenge();
+                pending.setUserId(userId);
+                pending.setChallengeId(ch.getId());
+                pending.setChallengeDate(start);
+                byChallenge.put(ch.getId(), pending);
+                challengeStatusWriteBehind.enqueueCreate(userId, ch.getId(), start);
+            }
+        }
+        return byChallenge;
     }
 
     private record Evaluation(boolean achieved, Map<String, Object> metrics) {}
 
     /**
      * 챌린지의 Metric, Comparator, Threshold 조건을 바탕으로 금일 지표를 평가
-     * Amount : 카드 승인 거래 합계
-     * Emission : 배출량 집계 연동 예정
-     * Attendence, Steps: 추후 구현 예정
+     * Amount : 조건에 맞는 카드 승인 거래 합계 (user_challenge_progress)
+     * Emission : daily_emissions 집계
+     * Steps : 금일 걸음수 (user_challenge_progress)
      *
      * - threshold 가 0일 때의 특수 처리 포함
+     * - 주/월 단위 챌린지는 기간 시작일부터 금일까지의 누적 값으로 평가, 이하(LTE) 조건은 기간 종료 후 정산에서 확정
      */
-    private Evaluation evaluate(Long userId, Challenge ch, LocalDate date) {
+    private Evaluation evaluate(Long userId, Challenge ch, LocalDate date, Map<Long, Long> progress) {
         Map<String, Object> metrics = new LinkedHashMap<>();
-
-        BigDecimal value = switch (ch.getMetricType()) {
-            case AMOUNT -> evaluateAmount(userId, ch, date, metrics);
-            case EMISSION -> evaluateEmission(userId, ch, date, metrics);
-            case ATTENDANCE, STEPS -> BigDecimal.ZERO; // 추후 추가 예정
-            default -> BigDecimal.ZERO;
+        ChallengeRule rule = challengeRuleCompiler.compile(ch);
+        long value = progress.getOrDefault(ch.getId(), 0L);
+
+        boolean achieved = switch (ch.getMetricType()) {
+            case AMOUNT -> {
+                Map<String, Object> amountMap = new LinkedHashMap<>();
+                amountMap.put("krw", value);
+                metrics.put("amount", amountMap);
+                yield rule.achieved(value);
+            }
+            case EMISSION -> rule.achieved(evaluateEmission(userId, rule, ch.periodStart(date), date, metrics));
+            case STEPS -> {
+                metrics.put("steps", (int) value);
+                yield rule.achieved(value);
+            }
+            case ATTENDANCE -> rule.achieved(BigDecimal.ZERO);
         };
 
-        BigDecimal threshold = ch.getThresholdValue() == null ? BigDecimal.ZERO : ch.getThresholdValue();
-        boolean achieved;
-
-        if (ch.getComparator() == Challenge.ComparatorType.LTE) {
-            achieved = value.compareTo(threshold) <= 0;
-        } else { // GTE
-            achieved = value.compareTo(threshold) >= 0;
+        if (ch.getPeriod() != null && ch.getPeriod() != Challenge.PeriodType.DAILY) {
+            Map<String, Object> period = new LinkedHashMap<>();
+            period.put("type", ch.getPeriod().name());
+            period.put("startDate", ch.periodStart(date).format(DATE_FMT));
+            period.put("endDate", ch.periodEnd(date).format(DATE_FMT));
+            metrics.put("period", period);
         }
 
-        return new Evaluation(achieved, metrics);
+        return new Evaluation(achieved && !ch.settlesAtPeriodEnd(), metrics);
     }
 
 
     /**
-     * 평가 결과를 UserChallenge에 반영하고, 자동 보상이면 포인트 지급 시도.
-     * - 최초 달성 시 DONE, achievedAt 기록
+     * 평가 결과로 응답에 표시할 상태 결정
+     * - 최초 달성(PENDING -> DONE)만 write-behind 큐에 등록, 엔티티는 변경하지 않음
      */
-    private void applyEvaluation(UserChallenge uc, Challenge ch, Evaluation eval) {
-        if (eval.achieved() && uc.getStatus() != UserChallenge.Status.DONE) {
-            uc.setStatus(UserChallenge.Status.DONE);
-            uc.setAchievedAt(LocalDateTime.now(ZONE_KST));
+    private UserChallenge.Status resolveStatus(UserChallenge uc, Evaluation eval) {
+        if (eval.achieved() && uc.getStatus() == UserChallenge.Status.PENDING) {
+            challengeStatusWriteBehind.enqueueDone(uc.getUserId(), uc.getChallengeId(), uc.getChallengeDate(),
+                LocalDateTime.now(ZONE_KST));
+            return UserChallenge.Status.DONE;
         }
-
-        // persist changes
-        userChallengeRepository.save(uc);
+        return uc.getStatus();
     }
 
     /**
      * 단일 챌린지 항목을 응답 DTO로 변환
      */
-    private ChallengeTodayOut.Item toItem(UserChallenge uc, Challenge ch, Evaluation eval, OffsetDateTime now) {
+    private ChallengeTodayOut.Item toItem(UserChallenge uc, Challenge ch, Evaluation eval,
+                                          UserChallenge.Status status, OffsetDateTime now) {
         String code = deriveCode(ch);
-        String instanceId = String.format("UC-%s-%s-%d", uc.getChallengeDate().format(COMPACT_DATE_FMT), code, uc.getId());
+        // 레코드 생성 전(write-behind 반영 전)이면 id 자리는 0
+        long ucId = uc.getId() == null ? 0L : uc.getId();
+        String instanceId = String.format("UC-%s-%s-%d", uc.getChallengeDate().format(COMPACT_DATE_FMT), code, ucId);
         String challengeId = String.format("CH-%s", code);
 
         boolean awarded = uc.getRewardPoints() != null && uc.getRewardPoints() > 0;
@@ -183,7 +206,7 @@ public class ChallengeServiceImpl implements ChallengeService {
             ? uc.getAchievedAt().atZone(ZONE_KST).toOffsetDateTime().toString()
             : null;
 
-        String statusStr = switch (uc.getStatus()) {
+        String statusStr = switch (status) {
             case DONE -> "SUCCESS";
             case FAIL -> "FAIL";
             default -> "PENDING";
@@ -192,7 +215,8 @@ public class ChallengeServiceImpl implements ChallengeService {
         String rule = buildRule(ch);
         String message = buildMessage(ch, eval, statusStr);
 
-        boolean claimable = (uc.getStatus() == UserChallenge.Status.DONE) && !awarded;
+        // 수령 가능 여부는 DB 에 DONE 으로 반영된 행 기준 (write-behind 반영 전이면 claimReward 가 동기로 확정)
+        boolean claimable = uc.getId() != null && status == UserChallenge.Status.DONE && !awarded;
 
         return ChallengeTodayOut.Item.builder()
             .instanceId(instanceId)
@@ -233,7 +257,11 @@ public class ChallengeServiceImpl implements ChallengeService {
      */
     private String buildMessage(Challenge ch, Evaluation eval, String statusStr) {
         if ("SUCCESS".equals(statusStr)) {
-            return "오늘 목표 달성!";
+            return switch (ch.getPeriod() == null ? Challenge.PeriodType.DAILY : ch.getPeriod()) {
+                case WEEKLY -> "이번 주 목표 달성!";
+                case MONTHLY -> "이번 달 목표 달성!";
+                default -> "오늘 목표 달성!";
+            };
         }
         // simple guidance message from progress
         if (ch.getComparator() == Challenge.ComparatorType.LTE && ch.getMetricType() == Challenge.MetricType.AMOUNT) {
@@ -258,64 +286,11 @@ public class ChallengeServiceImpl implements ChallengeService {
         return "목표에 도전해보세요";
     }
 
-    /**
-     * 금일 승인된 카드 거래 중, 포함/제외 카테고리 필터를 적용해 합계(원) 계산
-     */
-    private BigDecimal evaluateAmount(Long userId, Challenge ch, LocalDate date, Map<String, Object> metricsOut) {
-        List<CardTransaction> txs = cardTransactionRepository.findByUserIdAndTxDate(userId, date);
-        List<CardTransaction> approved = txs.stream()
-            .filter(t -> t.getStatus() == CardTransaction.Status.APPROVED)
-            .toList();
-
-        Set<String> includeCategories = parseStringSet(ch.getExtraConditions(), "includeCategories");
-        Set<String> excludeCategories = parseStringSet(ch.getExtraConditions(), "excludeCategories");
-
-        // Merchant name filters (supports keys: include_merchants, merchant_whitelist, exclude_merchants)
-        Set<String> includeMerchants = new HashSet<>();
-        includeMerchants.addAll(parseStringSet(ch.getExtraConditions(), "include_merchants"));
-        includeMerchants.addAll(parseStringSet(ch.getExtraConditions(), "merchant_whitelist"));
-        Set<String> excludeMerchants = parseStringSet(ch.getExtraConditions(), "exclude_merchants");
-
-        Map<Long, String> merchantNameById;
-        if (!includeMerchants.isEmpty() || !excludeMerchants.isEmpty()) {
-            Set<Long> ids = approved.stream()
-                .map(CardTransaction::getMerchantId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-            if (!ids.isEmpty()) {
-                merchantNameById = merchantRepository.findByIdIn(ids).stream()
-                    .collect(Collectors.toMap(Merchant::getId, Merchant::getName));
-            } else {
-              merchantNameById = Collections.emptyMap();
-            }
-        } else {
-          merchantNameById = Collections.emptyMap();
-        }
-
-      long amount = approved.stream()
-            .filter(t -> includeCategories.isEmpty() || includeCategories.contains(t.getCategoryId()))
-            .filter(t -> excludeCategories.isEmpty() || !excludeCategories.contains(t.getCategoryId()))
-            .filter(t -> {
-                if (includeMerchants.isEmpty() && excludeMerchants.isEmpty()) return true;
-                String name = merchantNameById.getOrDefault(t.getMerchantId(), null);
-                if (name == null) return false;
-                if (!includeMerchants.isEmpty() && !includeMerchants.contains(name)) return false;
-                return excludeMerchants.isEmpty() || !excludeMerchants.contains(name);
-            })
-            .mapToLong(CardTransaction::getAmountKrw)
-            .sum();
-
-        Map<String, Object> amountMap = new LinkedHashMap<>();
-        amountMap.put("krw", amount);
-        metricsOut.put("amount", amountMap);
-
-        return BigDecimal.valueOf(amount);
-    }
-
-
     /**
      * 포인트 수동 지급
      * userChallenges 에 status 가 Done 인데 rewardPoints 가 0이라면 포인트 지급
+     * - reward_points = 0 조건 UPDATE 가 1건일 때만 지급 (정산 배치와 동시 수령 시 중복 지급 방지)
+     * - 멱등성 키는 정산 배치와 같은 (사용자, 사유, user_challenge id)
      */
     @Transactional
     public void claimReward(Long userId, Long userChallengeId) {
@@ -324,100 +299,66 @@ public class ChallengeServiceImpl implements ChallengeService {
         if (!Objects.equals(uc.getUserId(), userId)) {
             throw new IllegalStateException("Forbidden: not your challenge");
         }
-        if (uc.getStatus() != UserChallenge.Status.DONE) {
-            throw new IllegalStateException("Challenge not achieved yet");
-        }
         if (uc.getRewardPoints() != null && uc.getRewardPoints() > 0) {
             // already claimed
             return;
         }
         Challenge ch = challengeRepository.findById(uc.getChallengeId())
             .orElseThrow(() -> new IllegalStateException("Challenge not found"));
+        if (uc.getStatus() == UserChallenge.Status.PENDING && !confirmDone(userId, uc, ch)) {
+            throw new IllegalStateException("Challenge not achieved yet");
+        }
+        if (uc.getStatus() == UserChallenge.Status.FAIL) {
+            throw new IllegalStateException("Challenge not achieved yet");
+        }
+        if (ch.getRewardPoints() == null || ch.getRewardPoints() <= 0) {
+            return;
+        }
 
-        pointService.earnPoints(userId, ch.getRewardPoints(), "CHALLENGE_REWARD", uc.getId(), ch.getTitle());
-        uc.setRewardPoints(ch.getRewardPoints());
-        userChallengeRepository.save(uc);
+        if (userChallengeRepository.markRewarded(uc.getId(), ch.getRewardPoints(), LocalDateTime.now(ZONE_KST)) != 1) {
+            // 다른 경로에서 이미 지급
+            return;
+        }
+        pointService.earnPointsInBatch(List.of(
+            new PointService.EarnEntry(userId, ch.getRewardPoints(), "CHALLENGE_REWARD", uc.getId(), ch.getTitle())));
     }
 
     /**
-     * 걸음수 기반 챌린지 평가 및 보상 처리
-     * - 활성화된 STEPS 챌린지를 가져와 오늘의 걸음수(DailySteps)와 비교하여 완료/보상 처리
+     * 조회 응답에서 달성으로 보였지만 write-behind 반영 전인 행을 수령 시점에 동기로 DONE 확정
+     * - 진행 중인 기간의 행만 다시 평가, 달성이면 PENDING 조건 UPDATE 후 달력 비트 기록
      */
-    @Transactional
-    public void evaluateStepsChallenge(Long userId) {
+    private boolean confirmDone(Long userId, UserChallenge uc, Challenge ch) {
         LocalDate today = LocalDate.now(ZONE_KST);
-
-        int steps = dailyStepsRepository.findByUserIdAndTargetDate(userId, today)
-            .map(ds -> ds.getSteps() == null ? 0 : ds.getSteps())
-            .orElse(0);
-
-        // challenge_id=5만 평가
-        Challenge ch = challengeRepository.findById(5L).orElse(null);
-        if (ch == null) return;
-        if (ch.getMetricType() != Challenge.MetricType.STEPS || !Boolean.TRUE.equals(ch.getIsActive())) return;
-
-        BigDecimal value = BigDecimal.valueOf(steps);
-        BigDecimal threshold = ch.getThresholdValue() == null ? BigDecimal.ZERO : ch.getThresholdValue();
-        boolean achieved = (ch.getComparator() == Challenge.ComparatorType.LTE)
-            ? (value.compareTo(threshold) <= 0)
-            : (value.compareTo(threshold) >= 0);
-
-        if (!achieved) return;
-
-        UserChallenge uc = userChallengeRepository
-            .findByUserIdAndChallengeIdAndChallengeDate(userId, ch.getId(), today)
-            .orElseGet(() -> createPending(userId, ch, today));
-
-        boolean dirty = false;
-        if (uc.getStatus() != UserChallenge.Status.DONE) {
-            uc.setStatus(UserChallenge.Status.DONE);
-            uc.setAchievedAt(LocalDateTime.now(ZONE_KST));
-            dirty = true;
+        if (!Boolean.TRUE.equals(ch.getIsActive()) || !uc.getChallengeDate().equals(ch.periodStart(today))
+            || ch.getMetricType() == null || ch.getComparator() == null) {
+            return false;
         }
-
-        if (dirty) userChallengeRepository.save(uc);
+        boolean achieved = ch.getMetricType() == Challenge.MetricType.ATTENDANCE
+            || evaluate(userId, ch, today, challengeProgressService.loadProgress(userId, today, List.of(ch))).achieved();
+        if (!achieved) {
+            return false;
+        }
+        if (userChallengeRepository.markDone(userId, ch.getId(), uc.getChallengeDate(), LocalDateTime.now(ZONE_KST)) > 0) {
+            challengeCalendarService.recordDone(userId, ch.getId(), uc.getChallengeDate());
+        }
+        return true;
     }
 
-
     /**
-     * 금일 탄소 배출량 평가
-     * - 추후 DailyEmission 등 집계 테이블과 연동 예정
+     * 금일(주/월 단위는 기간 시작일부터 금일까지) 탄소 배출량 평가
+     * - daily_emissions 의 (사용자, 일자) 행만 읽음 (카드 결제 시 증분 반영된 값, 기간 일수만큼)
+     * - 포함/제외 카테고리 조건은 카테고리 slot 별 배출량에 적용
      */
-    private BigDecimal evaluateEmission(Long userId, Challenge ch, LocalDate date, Map<String, Object> metricsOut) {
-        // TODO: integrate with DailyEmission when available; placeholder 0
+    private BigDecimal evaluateEmission(Long userId, ChallengeRule rule, LocalDate startDate, LocalDate date,
+                                        Map<String, Object> metricsOut) {
+        long mg = startDate.equals(date)
+            ? dailyEmissionService.sumCarbonMg(userId, date, rule::matchesCategory)
+            : dailyEmissionService.sumCarbonMg(userId, startDate, date, rule::matchesCategory);
+        BigDecimal kg = CarbonMath.toKg(mg, 3);
+
         Map<String, Object> carbon = new LinkedHashMap<>();
-        carbon.put("kg", BigDecimal.ZERO);
+        carbon.put("kg", kg);
         metricsOut.put("carbon", carbon);
-        return BigDecimal.ZERO;
-    }
-
-    /**
-     * 금일 걸음수 평가: DailySteps에 저장된 걸음수를 metrics에 담고 비교값으로 반환
-     */
-    private BigDecimal evaluateSteps(Long userId, Challenge ch, LocalDate date, Map<String, Object> metricsOut) {
-        int steps = dailyStepsRepository.findByUserIdAndTargetDate(userId, date)
-            .map(ds -> ds.getSteps() == null ? 0 : ds.getSteps())
-            .orElse(0);
-        metricsOut.put("steps", steps);
-        return BigDecimal.valueOf(steps);
-    }
-
-    /**
-     * JSON 문자열에서 특정 key의 배열 값을 Set<String>으로 파싱
-     */
-    private Set<String> parseStringSet(String json, String key) {
-        try {
-            if (json == null || json.isBlank()) return Collections.emptySet();
-            Map<String, Object> map = objectMapper.readValue(json, new TypeReference<>() {});
-            Object v = map.get(key);
-            if (v instanceof Collection<?> c) {
-                return c.stream().filter(Objects::nonNull).map(Object::toString).collect(Collectors.toSet());
-            }
-            return Collections.emptySet();
-        } catch (Exception e) {
-            log.warn("Invalid extra_conditions JSON: {}", e.getMessage());
-            return Collections.emptySet();
-        }
+        return kg;
     }
 }
-
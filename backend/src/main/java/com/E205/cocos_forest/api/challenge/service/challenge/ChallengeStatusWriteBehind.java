@@ -0,0 +1,144 @@
+package com.E205.cocos_forest.api.challenge.service.challenge;
+
+import com.E205.cocos_forest.domain.challenge.repository.UserChallengeCalendarRepository;
+import com.E205.cocos_forest.domain.challenge.repository.UserChallengeCalendarRepositoryCustom.DoneMark;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오늘의 챌린지 조회 중 발생한 상태 변경을 모아 일괄 저장 (write-behind)
+ *
+ * - 조회 트랜잭션은 읽기 전용으로 두고, 레코드 생성/DONE 전환만 큐에 기록
+ * - 같은 (사용자, 챌린지, 일자) 는 한 번만 보관, 1초마다 BATCH_SIZE 씩 별도 트랜잭션으로 반영
+ * - INSERT IGNORE / status = 'PENDING' 조건 UPDATE 라 여러 번 반영되어도 결과 동일
+ * - 반영 전 종료되더라도 다음 조회에서 다시 평가되어 큐에 들어감 (결제/걸음수 이벤트 경로는 즉시 반영)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChallengeStatusWriteBehind {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_PENDING_SQL =
+        "INSERT IGNORE INTO user_challenges " +
+            "(user_id, challenge_id, challenge_date, status, reward_points, created_at, updated_at) " +
+            "VALUES (?, ?, ?, 'PENDING', 0, ?, ?)";
+    private static final String MARK_DONE_SQL =
+        "UPDATE user_challenges SET status = 'DONE', achieved_at = ?, updated_at = ? " +
+            "WHERE user_id = ? AND challenge_id = ? AND challenge_date = ? AND status = 'PENDING'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserChallengeCalendarRepository userChallengeCalendarRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // 레코드가 없어 생성이 필요한 항목
+    private final Set<Key> creates = ConcurrentHashMap.newKeySet();
+    // DONE 전환 항목 -> 달성 시각
+    private final Map<Key, LocalDateTime> dones = new ConcurrentHashMap<>();
+
+    public void enqueueCreate(Long userId, Long challengeId, LocalDate date) {
+        creates.add(new Key(userId, challengeId, date));
+    }
+
+    public void enqueueDone(Long userId, Long challengeId, LocalDate date, LocalDateTime achievedAt) {
+        dones.putIfAbsent(new Key(userId, challengeId, date), achievedAt);
+    }
+
+    @Scheduled(fixedDelay = 1_000)
+    public void flush() {
+        while (!creates.isEmpty() || !dones.isEmpty()) {
+            List<Key> createBatch = drain(creates.iterator());
+            List<Map.Entry<Key, LocalDateTime>> doneBatch = drainDone();
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(createBatch, doneBatch));
+            } catch (Exception e) {
+                // 실패한 항목은 다시 넣고 다음 주기에 재시도
+                creates.addAll(createBatch);
+                doneBatch.forEach(entry -> dones.putIfAbsent(entry.getKey(), entry.getValue()));
+                log.warn("[Challenge] Write-behind flush failed: creates={}, dones={}, reason={}",
+                    createBatch.size(), doneBatch.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Key> createBatch, List<Map.Entry<Key, LocalDateTime>> doneBatch) {
+        LocalDateTime writtenAt = LocalDateTime.now(ZONE_KST);
+        Timestamp now = Timestamp.valueOf(writtenAt);
+
+        // DONE 전환 대상도 레코드가 있어야 하므로 함께 생성
+        List<Object[]> inserts = new ArrayList<>(createBatch.size() + doneBatch.size());
+        createBatch.forEach(key -> inserts.add(new Object[]{key.userId(), key.challengeId(), Date.valueOf(key.date()), now, now}));
+        doneBatch.forEach(entry -> inserts.add(new Object[]{
+            entry.getKey().userId(), entry.getKey().challengeId(), Date.valueOf(entry.getKey().date()), now, now}));
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PENDING_SQL, inserts);
+        }
+
+        if (!doneBatch.isEmpty()) {
+            List<Object[]> updates = new ArrayList<>(doneBatch.size());
+            doneBatch.forEach(entry -> updates.add(new Object[]{
+                Timestamp.valueOf(entry.getValue()), now,
+                entry.getKey().userId(), entry.getKey().challengeId(), Date.valueOf(entry.getKey().date())}));
+            int[] updated = jdbcTemplate.batchUpdate(MARK_DONE_SQL, updates);
+
+            // 실제로 DONE 이 된 항목만 달성 달력에 기록 (드라이버가 건수를 주지 않으면 음수, OR 라 중복 반영 무해)
+            List<DoneMark> marks = new ArrayList<>(doneBatch.size());
+            for (int i = 0; i < doneBatch.size(); i++) {
+                if (updated[i] == 0) {
+                    continue;
+                }
+                Key key = doneBatch.get(i).getKey();
+                marks.add(new DoneMark(key.userId(), key.challengeId(), key.date()));
+            }
+            userChallengeCalendarRepository.orBits(marks, writtenAt);
+        }
+    }
+
+    private static List<Key> drain(Iterator<Key> iterator) {
+        List<Key> batch = new ArrayList<>();
+        while (iterator.hasNext() && batch.size() < BATCH_SIZE) {
+            batch.add(iterator.next());
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private List<Map.Entry<Key, LocalDateTime>> drainDone() {
+        List<Map.Entry<Key, LocalDateTime>> batch = new ArrayList<>();
+        Iterator<Map.Entry<Key, LocalDateTime>> iterator = dones.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < BATCH_SIZE) {
+            Map.Entry<Key, LocalDateTime> entry = iterator.next();
+            batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private record Key(Long userId, Long challengeId, LocalDate date) {
+    }
+}
@@ -1,11 +1,13 @@
 package com.E205.cocos_forest.api.challenge.service.step;
 
 import com.E205.cocos_forest.api.challenge.dto.out.StepsUpdateOut;
+import com.E205.cocos_forest.api.challenge.event.DailyStepsUpdatedEvent;
 import com.E205.cocos_forest.domain.health.entity.DailySteps;
 import com.E205.cocos_forest.domain.health.repository.DailyStepsRepository;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ public class StepServiceImpl implements StepService {
     private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
 
     private final DailyStepsRepository dailyStepsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -35,6 +38,9 @@ public class StepServiceImpl implements StepService {
         entity.setSteps(steps);
         dailyStepsRepository.save(entity);
 
+        // 커밋 직전 STEPS 챌린지 진행 값 반영 (달성 시 DONE)
+        eventPublisher.publishEvent(new DailyStepsUpdatedEvent(userId, today, steps));
+
         return StepsUpdateOut.builder()
             .date(today.toString())
             .steps(entity.getSteps())
@@ -1,6 +1,7 @@
 package com.E205.cocos_forest.api.challenge.service.tumbler;
 
 import com.E205.cocos_forest.api.challenge.dto.out.TumblerVerifyOut;
+import com.E205.cocos_forest.api.challenge.service.challenge.ChallengeCalendarService;
 import com.E205.cocos_forest.api.forest.service.PointService;
 import com.E205.cocos_forest.domain.challenge.entity.Challenge;
 import com.E205.cocos_forest.domain.challenge.entity.UserChallenge;
@@ -15,7 +16,9 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -32,6 +35,7 @@ public class TumblerVerificationServiceImpl implements TumblerVerificationServic
     private final PointService pointService;
     private final ClovaOcrClient clovaOcrClient;
     private final ReceiptTextParser receiptTextParser;
+    private final ChallengeCalendarService challengeCalendarService;
 
     // 간단 키워드 목록 (공백/대소문자 무시)
     private static final String[] KEYWORDS = new String[]{
@@ -46,9 +50,9 @@ public class TumblerVerificationServiceImpl implements TumblerVerificationServic
             .orElseThrow(() -> new IllegalStateException("Tumbler challenge not configured"));
 
         LocalDate today = LocalDate.now(ZONE_KST);
-        UserChallenge uc = userChallengeRepository
-            .findByUserIdAndChallengeIdAndChallengeDate(userId, tumbler.getId(), today)
-            .orElseGet(() -> createPending(userId, tumbler, today));
+        // 주/월 단위로 설정된 경우 기간 시작일 레코드 하나를 기간 내내 사용
+        LocalDate periodStart = tumbler.periodStart(today);
+        UserChallenge uc = findOrMaterialize(userId, tumbler, periodStart);
 
 //        // 이미 보상 지급된 경우 즉시 반환 (멱등) (테스팅용 생략)
 //        if (uc.getRewardPoints() != null && uc.getRewardPoints() > 0) {
@@ -105,18 +109,22 @@ public class TumblerVerificationServiceImpl implements TumblerVerificationServic
             // 성공: 상태 DONE + 포인트 지급(멱등)
             uc.setStatus(UserChallenge.Status.DONE);
             userChallengeRepository.save(uc);
-
-            if (uc.getRewardPoints() == null || uc.getRewardPoints() == 0) {
-                pointService.earnPoints(userId, tumbler.getRewardPoints(), "CHALLENGE_REWARD", uc.getId(), tumbler.getTitle());
-                uc.setRewardPoints(tumbler.getRewardPoints());
-                userChallengeRepository.save(uc);
+            challengeCalendarService.recordDone(userId, tumbler.getId(), periodStart);
+
+            // reward_points = 0 조건 UPDATE 가 1건일 때만 지급 (정산 배치/수동 수령과 중복 방지)
+            int points = uc.getRewardPoints() == null ? 0 : uc.getRewardPoints();
+            if (points == 0 && tumbler.getRewardPoints() != null && tumbler.getRewardPoints() > 0
+                && userChallengeRepository.markRewarded(uc.getId(), tumbler.getRewardPoints(), LocalDateTime.now(ZONE_KST)) == 1) {
+                pointService.earnPointsInBatch(List.of(new PointService.EarnEntry(
+                    userId, tumbler.getRewardPoints(), "CHALLENGE_REWARD", uc.getId(), tumbler.getTitle())));
+                points = tumbler.getRewardPoints();
             }
 
             return TumblerVerifyOut.builder()
                 .success(true)
                 .reason("인증 성공: 개인컵 사용 인식")
                 .awarded(true)
-                .points(uc.getRewardPoints())
+                .points(points)
                 .userChallengeId(uc.getId())
                 .build();
 
@@ -137,14 +145,15 @@ public class TumblerVerificationServiceImpl implements TumblerVerificationServic
         return challengeRepository.findById(2L);
     }
 
-    private UserChallenge createPending(Long userId, Challenge ch, LocalDate date) {
-        UserChallenge uc = new UserChallenge();
-        uc.setUserId(userId);
-        uc.setChallengeId(ch.getId());
-        uc.setChallengeDate(date);
-        uc.setStatus(UserChallenge.Status.PENDING);
-        uc.setRewardPoints(0);
-        return userChallengeRepository.save(uc);
+    // 금일 레코드는 자정 일괄 생성 작업이 만들어 두므로 조회만 수행
+    // 작업 이후 활성화된 챌린지 등 누락된 경우에만 INSERT IGNORE 로 보충 (동시 요청도 유니크 키로 안전)
+    private UserChallenge findOrMaterialize(Long userId, Challenge ch, LocalDate date) {
+        return userChallengeRepository.findByUserIdAndChallengeIdAndChallengeDate(userId, ch.getId(), date)
+            .orElseGet(() -> {
+                userChallengeRepository.insertPendingIgnore(userId, date, List.of(ch.getId()), LocalDateTime.now(ZONE_KST));
+                return userChallengeRepository.findByUserIdAndChallengeIdAndChallengeDate(userId, ch.getId(), date)
+                    .orElseThrow();
+            });
     }
 
     private boolean containsAnyKeyword(String normalizedFullText) {
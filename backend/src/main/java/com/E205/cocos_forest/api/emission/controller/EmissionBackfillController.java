@@ -0,0 +1,48 @@
+package com.E205.cocos_forest.api.emission.controller;
+
+import com.E205.cocos_forest.api.emission.dto.out.EmissionBackfillStatusOut;
+import com.E205.cocos_forest.api.emission.service.DailyEmissionBackfillService;
+import com.E205.cocos_forest.domain.user.entity.Role;
+import com.E205.cocos_forest.global.config.security.CustomUserDetails;
+import com.E205.cocos_forest.global.exception.BaseException;
+import com.E205.cocos_forest.global.response.BaseResponse;
+import com.E205.cocos_forest.global.response.BaseResponseStatus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Tag(name = "탄소배출량 관리 API", description = "일일 탄소배출량 재생성 배치 (관리자)")
+@RestController
+@RequestMapping("/api/admin/emissions/backfill")
+@RequiredArgsConstructor
+public class EmissionBackfillController {
+
+    private final DailyEmissionBackfillService dailyEmissionBackfillService;
+
+    @Operation(summary = "일일 탄소배출량 재생성 시작", description = "기간 내 모든 사용자의 daily_emissions 를 카드 거래로부터 다시 생성합니다. 중단된 경우 이어서 처리합니다.")
+    @PostMapping
+    public BaseResponse<EmissionBackfillStatusOut> start(@AuthenticationPrincipal CustomUserDetails principal,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        requireAdmin(principal);
+        return new BaseResponse<>(dailyEmissionBackfillService.start(startDate, endDate));
+    }
+
+    @Operation(summary = "일일 탄소배출량 재생성 진행 상황", description = "처리량(users/sec, rows/sec)과 진행률을 조회합니다.")
+    @GetMapping
+    public BaseResponse<EmissionBackfillStatusOut> status(@AuthenticationPrincipal CustomUserDetails principal) {
+        requireAdmin(principal);
+        return new BaseResponse<>(dailyEmissionBackfillService.getStatus());
+    }
+
+    private void requireAdmin(CustomUserDetails principal) {
+        if (principal == null || principal.getUser().getRole() != Role.ADMIN) {
+            throw new BaseException(BaseResponseStatus.NO_ACCESS_AUTHORITY);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.E205.cocos_forest.api.emission.dto.out;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmissionBackfillStatusOut {
+
+    private boolean running;
+    private String startDate;
+    private String endDate;
+    private long partitionsTotal;
+    private long partitionsDone;
+    private long usersProcessed;
+    private long rowsWritten;
+    private long elapsedMs;
+    private BigDecimal usersPerSec;
+    private BigDecimal rowsPerSec;
+}
@@ -0,0 +1,11 @@
+package com.E205.cocos_forest.api.emission.service;
+
+import com.E205.cocos_forest.api.emission.dto.out.EmissionBackfillStatusOut;
+
+import java.time.LocalDate;
+
+public interface DailyEmissionBackfillService {
+    // card_transactions 로부터 기간 내 daily_emissions 재생성 시작 (백그라운드 실행, 중단 지점부터 재개)
+    EmissionBackfillStatusOut start(LocalDate startDate, LocalDate endDate);
+    EmissionBackfillStatusOut getStatus();
+}
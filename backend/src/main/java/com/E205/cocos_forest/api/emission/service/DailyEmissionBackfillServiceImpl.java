@@ -0,0 +1,365 @@
+package com.E205.cocos_forest.api.emission.service;
+
+import com.E205.cocos_forest.api.emission.dto.out.EmissionBackfillStatusOut;
+import com.E205.cocos_forest.domain.batch.entity.BatchCheckpoint;
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
+import com.E205.cocos_forest.domain.batch.repository.BatchCheckpointRepository;
+import com.E205.cocos_forest.domain.emission.codec.PerCategoryCodec;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
+import com.E205.cocos_forest.domain.finance.category.CategorySlotIndex;
+import com.E205.cocos_forest.global.exception.BaseException;
+import com.E205.cocos_forest.global.response.BaseResponseStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * daily_emissions 재생성 배치 (card_transactions 기준)
+ *
+ * - 사용자 id 를 USERS_PER_PARTITION 단위 범위로 나눠 emissionBackfillExecutor(AsyncConfig, 스레드 수/대기열 고정)에서 병렬 처리
+ * - 실행 중에는 job_leases 임대(JobLeaseLock)를 잡고 있어 여러 인스턴스에서 동시에 시작되지 않음
+ * - 파티션 안에서는 USERS_PER_CHUNK 단위로 원본 거래 잠금 -> 집계 -> 기간 삭제 -> JDBC batch upsert 를 한 트랜잭션으로 처리
+ * - 청크마다 batch_checkpoints 에 마지막 사용자 id 를 기록, 중단/실패한 기간은 기동 시 자동으로 이어서 처리
+ * - 실행 중 REPORT_INTERVAL 마다 처리량(users/sec, rows/sec) 로그 출력
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyEmissionBackfillServiceImpl implements DailyEmissionBackfillService {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final String JOB_NAME = "DAILY_EMISSION_BACKFILL";
+    private static final long USERS_PER_PARTITION = 1000;
+    private static final long USERS_PER_CHUNK = 100;
+    private static final Duration REPORT_INTERVAL = Duration.ofSeconds(10);
+    private static final Duration LEASE = Duration.ofMinutes(10);
+    // 실행 단위(기간) 체크포인트 - 모든 파티션이 성공해야 완료, 미완료 기간은 기동 시 자동 재개
+    private static final String RUN_JOB_NAME = "DAILY_EMISSION_BACKFILL_RUN";
+
+    // carbon_mg 가 아직 적재되지 않은 과거 거래는 현재 배출계수로 계산 (DECIMAL 연산이라 정확)
+    private static final String AGGREGATE_SQL =
+        "SELECT ct.user_id, ct.tx_date, ct.category_id, " +
+            "SUM(COALESCE(ct.carbon_mg, CAST(ROUND(ct.amount_krw * COALESCE(ef.factor, 0) * 1000000) AS SIGNED))) AS carbon_mg " +
+            "FROM card_transactions ct " +
+            "LEFT JOIN emission_factors ef ON ef.category_id = ct.category_id " +
+            "WHERE ct.user_id BETWEEN ? AND ? AND ct.tx_date BETWEEN ? AND ? AND ct.status = 'APPROVED' " +
+            "GROUP BY ct.user_id, ct.tx_date, ct.category_id";
+
+    // 집계 전에 원본 거래 범위를 잠가 집계~삭제 사이에 커밋되는 증분 반영(applyDelta)이 지워지지 않도록 함
+    private static final String LOCK_SQL =
+        "SELECT COUNT(*) FROM (SELECT ct.id FROM card_transactions ct " +
+            "WHERE ct.user_id BETWEEN ? AND ? AND ct.tx_date BETWEEN ? AND ? FOR UPDATE) locked";
+
+    private static final String DELETE_SQL =
+        "DELETE FROM daily_emissions WHERE user_id BETWEEN ? AND ? AND emission_date BETWEEN ? AND ?";
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO daily_emissions " +
+            "(user_id, emission_date, total_emission, per_category, per_category_bin, created_at, updated_at) " +
+            "VALUES (?, ?, ?, JSON_OBJECT(), ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE total_emission = VALUES(total_emission), " +
+            "per_category = JSON_OBJECT(), per_category_bin = VALUES(per_category_bin), per_category_invalid = FALSE, " +
+            "updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final CategorySlotIndex categorySlotIndex;
+    private final JobLeaseLock jobLeaseLock;
+    private final TaskScheduler taskScheduler;
+    @Qualifier("emissionBackfillExecutor")
+    private final ThreadPoolTaskExecutor emissionBackfillExecutor;
+
+    private final AtomicReference<Run> current = new AtomicReference<>();
+
+    @Override
+    public EmissionBackfillStatusOut start(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid date range");
+        }
+
+        Run previous = current.get();
+        if (previous != null && previous.running) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Backfill already running");
+        }
+        // 다른 인스턴스에서 실행 중이면 시작하지 않음 (실행 중에는 진행 로그 주기마다 연장)
+        if (!jobLeaseLock.tryAcquire(JOB_NAME, LEASE)) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Backfill already running on another instance");
+        }
+        try {
+            return launch(previous, startDate, endDate);
+        } catch (RuntimeException e) {
+            jobLeaseLock.release(JOB_NAME);
+            throw e;
+        }
+    }
+
+    // 기동 시 완료되지 않은 기간(중단/실패)을 이어서 실행 - 파티션 체크포인트 이후 사용자부터 진행
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        resumeIncomplete();
+    }
+
+    @Override
+    public EmissionBackfillStatusOut getStatus() {
+        Run run = current.get();
+        return run == null ? EmissionBackfillStatusOut.builder().running(false).build() : toStatus(run);
+    }
+
+    // 파티션을 나눠 워커(emissionBackfillExecutor 스레드 수만큼)가 대기열에서 하나씩 꺼내 처리
+    private EmissionBackfillStatusOut launch(Run previous, LocalDate startDate, LocalDate endDate) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM users");
+        List<UserRange> partitions = new ArrayList<>();
+        if (bounds.get("min_id") != null) {
+            long minId = ((Number) bounds.get("min_id")).longValue();
+            long maxId = ((Number) bounds.get("max_id")).longValue();
+            for (long from = minId; from <= maxId; from += USERS_PER_PARTITION) {
+                partitions.add(new UserRange(from, Math.min(from + USERS_PER_PARTITION - 1, maxId)));
+            }
+        }
+
+        Run run = new Run(startDate, endDate, partitions.size());
+        String runKey = runKey(run);
+        batchCheckpointRepository.findByJobNameAndPartitionKey(RUN_JOB_NAME, runKey)
+            .orElseGet(() -> batchCheckpointRepository.save(new BatchCheckpoint(RUN_JOB_NAME, runKey)));
+        if (!current.compareAndSet(previous, run)) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Backfill already running");
+        }
+
+        Queue<UserRange> pending = new ConcurrentLinkedQueue<>(partitions);
+        int workers = Math.min(emissionBackfillExecutor.getMaxPoolSize(), partitions.size());
+        ScheduledFuture<?> reporter = taskScheduler.scheduleAtFixedRate(() -> report(run),
+            Instant.now().plus(REPORT_INTERVAL), REPORT_INTERVAL);
+
+        log.info("[EmissionBackfill] Start: range={}~{}, partitions={}, workers={}",
+            startDate, endDate, partitions.size(), workers);
+
+        CompletableFuture<?>[] futures = IntStream.range(0, workers)
+            .mapToObj(i -> CompletableFuture.runAsync(() -> drain(run, pending), emissionBackfillExecutor))
+            .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(futures).whenComplete((ignored, ex) -> finish(run, reporter));
+
+        return toStatus(run);
+    }
+
+    private void drain(Run run, Queue<UserRange> pending) {
+        UserRange range;
+        while ((range = pending.poll()) != null) {
+            processPartition(run, range);
+        }
+    }
+
+    // 진행 로그 + 임대 연장
+    private void report(Run run) {
+        if (!jobLeaseLock.tryAcquire(JOB_NAME, LEASE)) {
+            log.warn("[EmissionBackfill] Lease lost, another instance may start a backfill");
+        }
+        logProgress(run, "progress");
+    }
+
+    // 모든 파티션이 성공한 경우에만 기간 체크포인트 완료 후 다음 미완료 기간 이어서 실행
+    private void finish(Run run, ScheduledFuture<?> reporter) {
+        reporter.cancel(false);
+        boolean succeeded = run.failedPartitions.get() == 0;
+        try {
+            if (succeeded) {
+                batchCheckpointRepository.findByJobNameAndPartitionKey(RUN_JOB_NAME, runKey(run)).ifPresent(checkpoint -> {
+                    checkpoint.setCompleted(true);
+                    batchCheckpointRepository.save(checkpoint);
+                });
+            }
+        } catch (Exception e) {
+            succeeded = false;
+            log.warn("[EmissionBackfill] Failed to mark run completed: reason={}", e.getMessage());
+        } finally {
+            run.running = false;
+            jobLeaseLock.release(JOB_NAME);
+        }
+        logProgress(run, succeeded ? "done" : "done with failures");
+        if (succeeded) {
+            resumeIncomplete();
+        }
+    }
+
+    private void resumeIncomplete() {
+        try {
+            Optional<BatchCheckpoint> next = batchCheckpointRepository.findByJobName(RUN_JOB_NAME).stream()
+                .filter(checkpoint -> !Boolean.TRUE.equals(checkpoint.getCompleted()))
+                .min(Comparator.comparing(BatchCheckpoint::getId));
+            if (next.isEmpty()) {
+                return;
+            }
+            String[] range = next.get().getPartitionKey().split("~");
+            log.info("[EmissionBackfill] Resume incomplete run: range={}", next.get().getPartitionKey());
+            start(LocalDate.parse(range[0]), LocalDate.parse(range[1]));
+        } catch (Exception e) {
+            log.warn("[EmissionBackfill] Resume skipped: reason={}", e.getMessage());
+        }
+    }
+
+    // 파티션(사용자 id 범위) 처리 - 체크포인트 이후 사용자부터 청크 단위로 진행
+    private void processPartition(Run run, UserRange range) {
+        String partitionKey = runKey(run) + ":" + range.fromId() + "-" + range.toId();
+        try {
+            BatchCheckpoint checkpoint = batchCheckpointRepository.findByJobNameAndPartitionKey(JOB_NAME, partitionKey)
+                .orElseGet(() -> batchCheckpointRepository.save(new BatchCheckpoint(JOB_NAME, partitionKey)));
+
+            if (!Boolean.TRUE.equals(checkpoint.getCompleted())) {
+                long next = Math.max(range.fromId(), checkpoint.getLastProcessedId() + 1);
+                while (next <= range.toId()) {
+                    long chunkFrom = next;
+                    long chunkTo = Math.min(chunkFrom + USERS_PER_CHUNK - 1, range.toId());
+                    transactionTemplate.executeWithoutResult(status ->
+                        processChunk(run, checkpoint.getId(), chunkFrom, chunkTo, chunkTo == range.toId()));
+                    next = chunkTo + 1;
+                }
+            }
+            run.partitionsDone.incrementAndGet();
+        } catch (Exception e) {
+            run.failedPartitions.incrementAndGet();
+            log.error("[EmissionBackfill] Partition failed: partition={}, reason={}", partitionKey, e.getMessage(), e);
+        }
+    }
+
+    // 사용자 청크 하나 재생성 (트랜잭션 내부)
+    private void processChunk(Run run, Long checkpointId, long fromUserId, long toUserId, boolean lastChunk) {
+        Date start = Date.valueOf(run.startDate);
+        Date end = Date.valueOf(run.endDate);
+
+        jdbcTemplate.queryForObject(LOCK_SQL, Long.class, fromUserId, toUserId, start, end);
+        Long users = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM users WHERE id BETWEEN ? AND ?", Long.class, fromUserId, toUserId);
+
+        // (사용자, 일자) -> 카테고리 slot 별 mg (PerCategoryCodec)
+        Map<EmissionKey, byte[]> grouped = new LinkedHashMap<>();
+        jdbcTemplate.query(AGGREGATE_SQL,
+            rs -> {
+                EmissionKey key = new EmissionKey(rs.getLong("user_id"), rs.getDate("tx_date").toLocalDate());
+                OptionalInt slot = categorySlotIndex.findSlot(rs.getString("category_id"));
+                if (slot.isEmpty()) {
+                    log.warn("[EmissionBackfill] Skip unknown category: userId={}, date={}, categoryId={}",
+                        key.userId(), key.date(), rs.getString("category_id"));
+                    return;
+                }
+                grouped.put(key, PerCategoryCodec.add(grouped.get(key), slot.getAsInt(), rs.getLong("carbon_mg")));
+            },
+            fromUserId, toUserId, start, end);
+
+        jdbcTemplate.update(DELETE_SQL, fromUserId, toUserId, start, end);
+
+        List<Object[]> rows = new ArrayList<>(grouped.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZONE_KST));
+        grouped.forEach((key, perCategory) -> rows.add(new Object[]{
+            key.userId(),
+            Date.valueOf(key.date()),
+            CarbonMath.toKg(PerCategoryCodec.sum(perCategory), 3),
+            perCategory,
+            now,
+            now
+        }));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(checkpointId).orElseThrow();
+        checkpoint.setLastProcessedId(toUserId);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + rows.size());
+        checkpoint.setCompleted(lastChunk);
+        batchCheckpointRepository.save(checkpoint);
+
+        run.usersProcessed.addAndGet(users == null ? 0 : users);
+        run.rowsWritten.addAndGet(rows.size());
+    }
+
+    private void logProgress(Run run, String phase) {
+        EmissionBackfillStatusOut status = toStatus(run);
+        log.info("[EmissionBackfill] {}: partitions={}/{}, failed={}, users={}, rows={}, users/sec={}, rows/sec={}",
+            phase, status.getPartitionsDone(), status.getPartitionsTotal(), run.failedPartitions.get(),
+            status.getUsersProcessed(), status.getRowsWritten(), status.getUsersPerSec(), status.getRowsPerSec());
+    }
+
+    private EmissionBackfillStatusOut toStatus(Run run) {
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - run.startedNanos));
+        long users = run.usersProcessed.get();
+        long rows = run.rowsWritten.get();
+        return EmissionBackfillStatusOut.builder()
+            .running(run.running)
+            .startDate(run.startDate.toString())
+            .endDate(run.endDate.toString())
+            .partitionsTotal(run.partitionsTotal)
+            .partitionsDone(run.partitionsDone.get())
+            .usersProcessed(users)
+            .rowsWritten(rows)
+            .elapsedMs(elapsedMs)
+            .usersPerSec(perSecond(users, elapsedMs))
+            .rowsPerSec(perSecond(rows, elapsedMs))
+            .build();
+    }
+
+    private static BigDecimal perSecond(long count, long elapsedMs) {
+        return BigDecimal.valueOf(count * 1000L).divide(BigDecimal.valueOf(elapsedMs), 1, RoundingMode.HALF_UP);
+    }
+
+    private static String runKey(Run run) {
+        return run.startDate + "~" + run.endDate;
+    }
+
+    private record UserRange(long fromId, long toId) {
+    }
+
+    private record EmissionKey(long userId, LocalDate date) {
+    }
+
+    // 실행 1회의 진행 상태
+    private static final class Run {
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final long partitionsTotal;
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong partitionsDone = new AtomicLong();
+        private final AtomicInteger failedPartitions = new AtomicInteger();
+        private final AtomicLong usersProcessed = new AtomicLong();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private volatile boolean running = true;
+
+        private Run(LocalDate startDate, LocalDate endDate, long partitionsTotal) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.partitionsTotal = partitionsTotal;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.E205.cocos_forest.api.emission.service;
+
+import com.E205.cocos_forest.domain.batch.entity.BatchCheckpoint;
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
+import com.E205.cocos_forest.domain.batch.repository.BatchCheckpointRepository;
+import com.E205.cocos_forest.domain.emission.codec.PerCategoryCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * daily_emissions.per_category(JSON) -> per_category_bin 변환 배치
+ *
+ * - per_category(JSON) 에 값이 남은 행만 CHUNK_SIZE 씩 잠가서 변환 (변환된 행은 조건에서 빠지므로 중단 후 재실행해도 안전)
+ * - 변환 전에 결제로 쌓인 per_category_bin 값이 있으면 JSON 값과 합침
+ * - JSON 형식이 잘못된 행은 경고 로그 후 per_category_invalid 로 표시하고 건너뜀
+ *   (원본 JSON/바이너리 유지 - 조회 시 total_emission 을 카테고리 미상으로 취급)
+ * - 남은 행이 없으면 체크포인트를 완료로 표시하고 이후 실행은 건너뜀
+ * - 변환 전 행도 DailyEmissionService 가 읽기/갱신 시 JSON 에서 바로 변환하므로 순서 제약 없음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyEmissionPerCategoryMigration {
+
+    private static final String JOB_NAME = "DAILY_EMISSION_PER_CATEGORY_BIN";
+    private static final String PARTITION_KEY = "all-v2";
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final DailyEmissionService dailyEmissionService;
+    private final JobLeaseLock jobLeaseLock;
+
+    @Scheduled(initialDelay = 60_000, fixedDelay = 600_000)
+    public void migrate() {
+        jobLeaseLock.runExclusive(JOB_NAME, Duration.ofHours(1), Duration.ZERO, this::migrateChunks);
+    }
+
+    private void migrateChunks() {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findByJobNameAndPartitionKey(JOB_NAME, PARTITION_KEY)
+            .orElseGet(() -> batchCheckpointRepository.save(new BatchCheckpoint(JOB_NAME, PARTITION_KEY)));
+        if (Boolean.TRUE.equals(checkpoint.getCompleted())) {
+            return;
+        }
+
+        try {
+            boolean hasMore = true;
+            while (hasMore) {
+                hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(checkpoint.getId())));
+            }
+            Long invalid = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM daily_emissions WHERE per_category_invalid = TRUE", Long.class);
+            log.info("[EmissionMigration] per_category_bin migration completed: invalidRows={}", invalid);
+        } catch (Exception e) {
+            log.warn("[EmissionMigration] Migration stopped, will resume: reason={}", e.getMessage());
+        }
+    }
+
+    // 한 청크 변환 (트랜잭션 내부), 더 처리할 행이 있으면 true
+    private boolean processChunk(Long checkpointId) {
+        List<LegacyRow> rows = jdbcTemplate.query(
+            "SELECT user_id, emission_date, per_category, per_category_bin FROM daily_emissions " +
+                "WHERE JSON_LENGTH(per_category) > 0 AND per_category_invalid = FALSE LIMIT ? FOR UPDATE",
+            (rs, rowNum) -> new LegacyRow(
+                rs.getLong("user_id"),
+                rs.getDate("emission_date").toLocalDate(),
+                rs.getString("per_category"),
+                rs.getBytes("per_category_bin")),
+            CHUNK_SIZE);
+
+        List<Object[]> converted = new ArrayList<>(rows.size());
+        List<Object[]> malformed = new ArrayList<>();
+        for (LegacyRow row : rows) {
+            Optional<byte[]> data = PerCategoryCodec.isValid(row.perCategoryBin())
+                ? dailyEmissionService.fromLegacyJson(row.perCategory())
+                : Optional.empty();
+            if (data.isPresent()) {
+                converted.add(new Object[]{
+                    PerCategoryCodec.merge(data.get(), row.perCategoryBin()), row.userId(), Date.valueOf(row.emissionDate())});
+            } else {
+                // 형식 오류 행은 원본을 그대로 두고 표시만 해서 다음 청크에서 다시 잡히지 않도록 함
+                log.warn("[EmissionMigration] Skip malformed per_category: userId={}, date={}",
+                    row.userId(), row.emissionDate());
+                malformed.add(new Object[]{row.userId(), Date.valueOf(row.emissionDate())});
+            }
+        }
+        if (!converted.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE daily_emissions SET per_category_bin = ?, per_category = JSON_OBJECT() " +
+                    "WHERE user_id = ? AND emission_date = ?",
+                converted);
+        }
+        if (!malformed.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "UPDATE daily_emissions SET per_category_invalid = TRUE WHERE user_id = ? AND emission_date = ?",
+                malformed);
+        }
+
+        boolean hasMore = rows.size() == CHUNK_SIZE;
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(checkpointId).orElseThrow();
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + rows.size());
+        checkpoint.setCompleted(!hasMore);
+        batchCheckpointRepository.save(checkpoint);
+        return hasMore;
+    }
+
+    private record LegacyRow(long userId, LocalDate emissionDate, String perCategory, byte[] perCategoryBin) {
+    }
+}
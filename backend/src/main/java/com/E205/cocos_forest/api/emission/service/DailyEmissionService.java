@@ -0,0 +1,25 @@
+package com.E205.cocos_forest.api.emission.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+public interface DailyEmissionService {
+    // (사용자, 일자) 행의 카테고리 배출량(mg) 증분 반영 - 호출한 쪽 트랜잭션에 참여
+    void applyDelta(Long userId, LocalDate date, String categoryId, long deltaMg);
+
+    // (사용자, 일자) 배출량 합계(mg), categoryFilter 를 통과한 카테고리만 합산
+    long sumCarbonMg(Long userId, LocalDate date, Predicate<String> categoryFilter);
+
+    // 기간 내 (사용자, 일자) 행의 배출량 합계(mg) - 주/월 단위 챌린지용
+    long sumCarbonMg(Long userId, LocalDate startDate, LocalDate endDate, Predicate<String> categoryFilter);
+
+    // 여러 사용자의 기간 배출량 합계(mg)를 한 번에 조회 - 기간 정산 배치용, 행이 없는 사용자는 결과에 없음
+    Map<Long, Long> sumCarbonMgByUser(Collection<Long> userIds, LocalDate startDate, LocalDate endDate,
+                                      Predicate<String> categoryFilter);
+
+    // 이전 JSON 형식({"categoryId": mg}) per_category 를 바이너리로 변환, JSON 형식이 잘못됐으면 비어 있음
+    Optional<byte[]> fromLegacyJson(String json);
+}
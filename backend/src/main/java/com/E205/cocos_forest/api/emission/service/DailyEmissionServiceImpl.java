@@ -0,0 +1,184 @@
+package com.E205.cocos_forest.api.emission.service;
+
+import com.E205.cocos_forest.domain.emission.codec.PerCategoryCodec;
+import com.E205.cocos_forest.domain.emission.entity.DailyEmission;
+import com.E205.cocos_forest.domain.emission.repository.DailyEmissionRepository;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
+import com.E205.cocos_forest.domain.finance.category.CategorySlotIndex;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Predicate;
+
+/**
+ * daily_emissions 갱신/조회
+ *
+ * - per_category_bin 은 카테고리 slot 별 mg 배열 (PerCategoryCodec), JSON 파싱 없이 갱신/조회
+ * - 갱신은 upsert 한 문장 - total_emission 에 delta 를 더하고, 바이너리는 해당 slot 의 8바이트만 SQL 에서 더해 바꿈
+ *   (행을 읽어 잠그고 Java 에서 디코딩/인코딩하지 않음)
+ * - per_category(JSON) 는 이전 형식, 변환 전 행은 JSON 값 + 바이너리 값의 합으로 조회 (변환 배치가 합쳐서 JSON 을 비움)
+ * - 알 수 없는 카테고리/읽을 수 없는 행은 예외 대신 경고 로그 (결제, 챌린지 조회를 막지 않도록)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyEmissionServiceImpl implements DailyEmissionService {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final String LEGACY_EMPTY = "{}";
+
+    // per_category_bin 의 slot 값(8바이트 big-endian signed long)에 delta 를 더함
+    // - 앞부분(버전 + 앞 slot)/뒷부분은 그대로, 짧은 값은 0 바이트로 채워 slot 까지 늘림
+    // - CONV(.., 16, -10) 으로 부호 있는 값으로 읽고, CONV(음수, 10, 16) 은 2의 보수 16자리로 돌아옴
+    // - 범위를 넘는 합은 BIGINT 범위 오류 (PerCategoryCodec.add 의 addExact 와 동일)
+    private static final String APPLY_DELTA_SQL =
+        "INSERT INTO daily_emissions " +
+            "(user_id, emission_date, total_emission, per_category, per_category_bin, created_at, updated_at) " +
+            "VALUES (?, ?, ?, JSON_OBJECT(), ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "total_emission = total_emission + VALUES(total_emission), " +
+            "per_category_bin = CONCAT(" +
+            "RPAD(LEFT(COALESCE(per_category_bin, X'01'), ?), ?, X'00'), " +
+            "UNHEX(LPAD(CONV(CAST(CONV(HEX(RPAD(SUBSTRING(COALESCE(per_category_bin, X'01'), ?, 8), 8, X'00')), 16, -10) " +
+            "AS SIGNED) + ?, 10, 16), 16, '0')), " +
+            "SUBSTRING(COALESCE(per_category_bin, X'01'), ?)), " +
+            "updated_at = VALUES(updated_at)";
+
+    private final DailyEmissionRepository dailyEmissionRepository;
+    private final CategorySlotIndex categorySlotIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDelta(Long userId, LocalDate date, String categoryId, long deltaMg) {
+        if (deltaMg == 0) {
+            return;
+        }
+        OptionalInt slot = categorySlotIndex.findSlot(categoryId);
+        if (slot.isEmpty()) {
+            log.warn("[DailyEmission] Skip delta for unknown category: userId={}, date={}, categoryId={}, deltaMg={}",
+                userId, date, categoryId, deltaMg);
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZONE_KST));
+        int position = PerCategoryCodec.offsetOf(slot.getAsInt()) + 1;
+
+        jdbcTemplate.update(APPLY_DELTA_SQL,
+            userId, Date.valueOf(date), CarbonMath.toKg(deltaMg, 3),
+            PerCategoryCodec.add(null, slot.getAsInt(), deltaMg), now, now,
+            position - 1, position - 1, position, deltaMg, position + Long.BYTES);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long sumCarbonMg(Long userId, LocalDate date, Predicate<String> categoryFilter) {
+        return dailyEmissionRepository.findByUserIdAndEmissionDate(userId, date)
+            .map(emission -> sumMatching(emission, categoryFilter))
+            .orElse(0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long sumCarbonMg(Long userId, LocalDate startDate, LocalDate endDate, Predicate<String> categoryFilter) {
+        long total = 0L;
+        for (DailyEmission emission : dailyEmissionRepository.findByUserIdAndEmissionDateBetween(userId, startDate, endDate)) {
+            total += sumMatching(emission, categoryFilter);
+        }
+        return total;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> sumCarbonMgByUser(Collection<Long> userIds, LocalDate startDate, LocalDate endDate,
+                                             Predicate<String> categoryFilter) {
+        Map<Long, Long> totals = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return totals;
+        }
+        for (DailyEmission emission : dailyEmissionRepository.findByUserIdInAndEmissionDateBetween(userIds, startDate, endDate)) {
+            totals.merge(emission.getUserId(), sumMatching(emission, categoryFilter), Long::sum);
+        }
+        return totals;
+    }
+
+    @Override
+    public Optional<byte[]> fromLegacyJson(String json) {
+        byte[] data = PerCategoryCodec.empty();
+        if (json == null || json.isBlank()) {
+            return Optional.of(data);
+        }
+        Map<String, Number> values;
+        try {
+            values = objectMapper.readValue(json, new TypeReference<Map<String, Number>>() {});
+        } catch (Exception e) {
+            log.warn("[DailyEmission] Malformed legacy per_category: reason={}", e.getMessage());
+            return Optional.empty();
+        }
+        if (values == null) {
+            return Optional.of(data);
+        }
+        for (Map.Entry<String, Number> entry : values.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            OptionalInt slot = categorySlotIndex.findSlot(entry.getKey());
+            if (slot.isEmpty()) {
+                log.warn("[DailyEmission] Skip legacy per_category entry for unknown category: categoryId={}",
+                    entry.getKey());
+                continue;
+            }
+            data = PerCategoryCodec.add(data, slot.getAsInt(), Math.round(entry.getValue().doubleValue()));
+        }
+        return Optional.of(data);
+    }
+
+    // 카테고리별 값을 읽을 수 없는 행은 카테고리 미상으로 보고 total_emission 을 카테고리 조건 없는 규칙에만 합산
+    private long sumMatching(DailyEmission emission, Predicate<String> categoryFilter) {
+        Optional<byte[]> data = Boolean.TRUE.equals(emission.getLegacyInvalid())
+            ? Optional.empty()
+            : dataOf(emission.getPerCategory(), emission.getLegacyPerCategory());
+        if (data.isEmpty()) {
+            return categoryFilter.test(null) && emission.getTotalEmission() != null
+                ? emission.getTotalEmission().movePointRight(6).longValue()
+                : 0L;
+        }
+        long total = 0L;
+        int slots = PerCategoryCodec.slotCount(data.get());
+        for (int slot = 0; slot < slots; slot++) {
+            String categoryId = categorySlotIndex.categoryAt(slot);
+            if (categoryId != null && categoryFilter.test(categoryId)) {
+                total += PerCategoryCodec.get(data.get(), slot);
+            }
+        }
+        return total;
+    }
+
+    // per_category_bin + 변환 전 JSON 값 (둘 중 하나라도 읽을 수 없으면 비어 있음)
+    private Optional<byte[]> dataOf(byte[] bin, String legacyJson) {
+        if (!PerCategoryCodec.isValid(bin)) {
+            log.warn("[DailyEmission] Unsupported per_category_bin encoding: length={}", bin.length);
+            return Optional.empty();
+        }
+        if (legacyJson == null || LEGACY_EMPTY.equals(legacyJson.trim())) {
+            return Optional.of(bin != null ? bin : PerCategoryCodec.empty());
+        }
+        return fromLegacyJson(legacyJson).map(legacy -> PerCategoryCodec.merge(legacy, bin));
+    }
+}
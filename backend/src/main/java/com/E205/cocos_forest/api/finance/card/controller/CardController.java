@@ -1,13 +1,21 @@
 package com.E205.cocos_forest.api.finance.card.controller;
 
+import com.E205.cocos_forest.api.finance.card.dto.in.CarbonEstimateIn;
 import com.E205.cocos_forest.api.finance.card.dto.in.CardLinkCreateIn;
 import com.E205.cocos_forest.api.finance.card.dto.in.CardPaymentCreateIn;
+import com.E205.cocos_forest.api.finance.card.dto.out.CarbonEstimateOut;
+import com.E205.cocos_forest.api.finance.card.dto.out.CarbonPercentileOut;
+import com.E205.cocos_forest.api.finance.card.dto.out.CardCarbonTrendOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardCategoryMonthlyDetailsOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardDailyDetailsOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardLinkOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardMonthlySummaryOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardPaymentOut;
+import com.E205.cocos_forest.api.finance.card.dto.out.CardTransactionSearchOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.UserCardOut;
+import com.E205.cocos_forest.api.finance.card.service.CarbonEstimateService;
+import com.E205.cocos_forest.api.finance.card.service.CarbonPercentileService;
+import com.E205.cocos_forest.api.finance.card.service.CardTransactionExportService;
 import com.E205.cocos_forest.api.finance.card.service.CardTransactionQueryService;
 import com.E205.cocos_forest.api.finance.card.service.UserCardService;
 import com.E205.cocos_forest.api.finance.card.service.CardPaymentService;
@@ -17,8 +25,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @Tag(name = "카드 API", description = "카드 연결, 소비내역/탄소배출량 조회 API")
@@ -30,6 +43,9 @@ public class CardController {
     private final UserCardService userCardService;
     private final CardTransactionQueryService cardTransactionQueryService;
     private final CardPaymentService cardPaymentService;
+    private final CardTransactionExportService cardTransactionExportService;
+    private final CarbonPercentileService carbonPercentileService;
+    private final CarbonEstimateService carbonEstimateService;
 
     @Operation(summary = "카드 연결 api", description = "카드를 연결합니다.")
     @PostMapping
@@ -42,26 +58,91 @@ public class CardController {
     @Operation(summary = "월별 카드 사용 내역 조회 api", description = "한달 소비 내역 정보를 조회합니다.")
     @GetMapping("/transactions/monthly-summary")
     public BaseResponse<CardMonthlySummaryOut> getMonthlySummaryDefault(@AuthenticationPrincipal CustomUserDetails principal,
-                                                                        @RequestParam String yearMonth) {
+                                                                        @RequestParam String yearMonth,
+                                                                        WebRequest webRequest) {
         Long userId = principal.getUser().getId();
+        // 해당 월 집계가 바뀌지 않았으면 조회 없이 304
+        if (webRequest.checkNotModified(cardTransactionQueryService.getMonthlyVersionTag(userId, yearMonth))) {
+            return null;
+        }
         return new BaseResponse<>(cardTransactionQueryService.getMonthlySummaryForUser(userId, yearMonth));
     }
 
+    @Operation(summary = "월별 소비/탄소배출량 추이 조회 api", description = "기간(최대 24개월) 내 월별 합계와 카테고리별 탄소배출량을 조회합니다.")
+    @GetMapping("/transactions/trend")
+    public BaseResponse<CardCarbonTrendOut> getCarbonTrend(@AuthenticationPrincipal CustomUserDetails principal,
+                                                           @RequestParam String from,
+                                                           @RequestParam String to) {
+        Long userId = principal.getUser().getId();
+        return new BaseResponse<>(cardTransactionQueryService.getCarbonTrendForUser(userId, from, to));
+    }
+
+    @Operation(summary = "탄소배출량 백분위 조회 api", description = "월(yearMonth) 또는 일(date) 기준으로 나보다 배출량이 많은 사용자 비율을 조회합니다.")
+    @GetMapping("/transactions/carbon-percentile")
+    public BaseResponse<CarbonPercentileOut> getCarbonPercentile(@AuthenticationPrincipal CustomUserDetails principal,
+                                                                 @RequestParam(required = false) String yearMonth,
+                                                                 @RequestParam(required = false) String date) {
+        Long userId = principal.getUser().getId();
+        return new BaseResponse<>(carbonPercentileService.getPercentileForUser(userId, yearMonth, date));
+    }
+
     @Operation(summary = "월별 카드 사용 내역 조회 api (카테고리별)", description = "카테고리별로 한달 소비 내역 정보를 조회합니다.")
     @GetMapping("/transactions/{categoryId}")
     public BaseResponse<CardCategoryMonthlyDetailsOut> getMonthlyTransactionsByCategoryDefault(@AuthenticationPrincipal CustomUserDetails principal,
                                                                                                @PathVariable String categoryId,
-                                                                                               @RequestParam String yearMonth) {
+                                                                                               @RequestParam String yearMonth,
+                                                                                               @RequestParam(required = false) Long cursor,
+                                                                                               @RequestParam(required = false) Integer size,
+                                                                                               WebRequest webRequest) {
         Long userId = principal.getUser().getId();
-        return new BaseResponse<>(cardTransactionQueryService.getMonthlyTransactionsByCategoryForUser(userId, yearMonth, categoryId));
+        if (webRequest.checkNotModified(cardTransactionQueryService.getMonthlyVersionTag(userId, yearMonth))) {
+            return null;
+        }
+        return new BaseResponse<>(cardTransactionQueryService.getMonthlyTransactionsByCategoryForUser(userId, yearMonth, categoryId, cursor, size));
     }
 
     @Operation(summary = "일별 카드 사용 상세 내역 조회 api", description = "해당 일의 상세 소비 내역 정보를 조회합니다.")
     @GetMapping("/transactions/daily-details")
     public BaseResponse<CardDailyDetailsOut> getDailyDetailsDefault(@AuthenticationPrincipal CustomUserDetails principal,
-                                                                    @RequestParam String date) {
+                                                                    @RequestParam String date,
+                                                                    @RequestParam(required = false) Long cursor,
+                                                                    @RequestParam(required = false) Integer size,
+                                                                    WebRequest webRequest) {
+        Long userId = principal.getUser().getId();
+        if (webRequest.checkNotModified(cardTransactionQueryService.getDailyVersionTag(userId, date))) {
+            return null;
+        }
+        return new BaseResponse<>(cardTransactionQueryService.getDailyDetailsForUser(userId, date, cursor, size));
+    }
+
+    @Operation(summary = "가맹점 이름으로 거래 검색 api", description = "가맹점 이름 일부(2자 이상)로 사용자의 거래를 최신순으로 검색합니다.")
+    @GetMapping("/transactions/search")
+    public BaseResponse<CardTransactionSearchOut> searchTransactions(@AuthenticationPrincipal CustomUserDetails principal,
+                                                                     @RequestParam String q,
+                                                                     @RequestParam(required = false) Integer size) {
         Long userId = principal.getUser().getId();
-        return new BaseResponse<>(cardTransactionQueryService.getDailyDetailsForUser(userId, date));
+        return new BaseResponse<>(cardTransactionQueryService.searchTransactionsForUser(userId, q, size));
+    }
+
+    @Operation(summary = "카드 거래 내역 내보내기 api", description = "기간 내 거래 내역을 건별 탄소배출량과 함께 NDJSON 또는 CSV 로 내려받습니다.")
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@AuthenticationPrincipal CustomUserDetails principal,
+                                                                    @RequestParam String from,
+                                                                    @RequestParam String to,
+                                                                    @RequestParam(defaultValue = "NDJSON") CardTransactionExportService.Format format) {
+        Long userId = principal.getUser().getId();
+        StreamingResponseBody body = cardTransactionExportService.exportTransactions(userId, from, to, format);
+        String filename = "card-transactions_" + from + "_" + to + "." + format.getExtension();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+            .body(body);
+    }
+
+    @Operation(summary = "예상 탄소배출량 일괄 계산 api", description = "결제 전 (가맹점 또는 카테고리, 금액) 목록의 예상 배출량을 한 번에 계산합니다.")
+    @PostMapping("/carbon-estimate")
+    public BaseResponse<CarbonEstimateOut> estimateCarbon(@RequestBody @Valid CarbonEstimateIn in) {
+        return new BaseResponse<>(carbonEstimateService.estimate(in));
     }
 
     @Operation(summary = "카드 결제 이벤트 생성 api", description = "SSAFY 결제 API 호출 후 내부 거래 저장")
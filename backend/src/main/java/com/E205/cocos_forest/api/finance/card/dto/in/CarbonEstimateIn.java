@@ -0,0 +1,31 @@
+package com.E205.cocos_forest.api.finance.card.dto.in;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class CarbonEstimateIn {
+
+    @NotEmpty
+    @Size(max = 200)
+    private List<@Valid Item> items;
+
+    @Getter
+    @Setter
+    public static class Item {
+        private Long merchantId; // 우선 사용, 없거나 미등록이면 categoryId 사용
+        private String categoryId;
+
+        @NotNull
+        @Min(0)
+        private Long amountKrw;
+    }
+}
@@ -0,0 +1,35 @@
+package com.E205.cocos_forest.api.finance.card.dto.out;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarbonEstimateOut {
+
+    // 계산에 사용한 탄소 기준 정보 스냅샷 버전
+    private String factorVersion;
+    private long carbonTotalMg;
+    private BigDecimal carbonTotalKg;
+    private List<Item> items;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long merchantId;
+        // 계산에 적용된 카테고리 (배출계수를 찾지 못하면 null)
+        private String categoryId;
+        private long amountKrw;
+        // 예상 배출량 (mg = 10^-6 kg)
+        private long carbonMg;
+    }
+}
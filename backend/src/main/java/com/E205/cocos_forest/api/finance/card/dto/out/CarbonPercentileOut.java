@@ -0,0 +1,23 @@
+package com.E205.cocos_forest.api.finance.card.dto.out;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarbonPercentileOut {
+
+    private String periodType;
+    private String periodKey;
+    private BigDecimal carbonTotalKg;
+    // 나보다 배출량이 많은 사용자 비율 (0~100), 분포가 아직 없으면 null
+    private Integer lessThanPercent;
+    // 분포에 포함된 사용자 수
+    private long sampleSize;
+}
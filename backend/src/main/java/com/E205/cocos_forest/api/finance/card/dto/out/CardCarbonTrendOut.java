@@ -0,0 +1,46 @@
+package com.E205.cocos_forest.api.finance.card.dto.out;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardCarbonTrendOut {
+
+    private String userCardId;
+    private String fromYearMonth;
+    private String toYearMonth;
+    @Builder.Default
+    private String currency = "KRW";
+    private List<Monthly> months;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Monthly {
+        private String yearMonth;
+        private long amountTotal;
+        private BigDecimal carbonTotalKg;
+        private long transactionCount;
+        private List<CategoryCarbon> byCategory;
+    }
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryCarbon {
+        private String categoryId;
+        private String categoryName;
+        private long amountTotal;
+        private BigDecimal carbonTotalKg;
+    }
+}
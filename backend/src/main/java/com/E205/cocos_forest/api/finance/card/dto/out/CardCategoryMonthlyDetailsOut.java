@@ -23,6 +23,9 @@ public class CardCategoryMonthlyDetailsOut {
 
     private Totals totals;
     private List<CardDailyDetailsOut.TransactionItem> transactions;
+    // 다음 페이지 조회용 커서 (마지막 거래 id), 다음 페이지가 없으면 null
+    private Long nextCursor;
+    private Boolean hasNext;
 
     @Getter
     @Builder
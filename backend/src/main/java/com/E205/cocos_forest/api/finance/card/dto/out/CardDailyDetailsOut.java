@@ -21,6 +21,9 @@ public class CardDailyDetailsOut {
 
     private Totals totals;
     private List<TransactionItem> transactions;
+    // 다음 페이지 조회용 커서 (마지막 거래 id), 다음 페이지가 없으면 null
+    private Long nextCursor;
+    private Boolean hasNext;
     private Meta meta;
 
     @Getter
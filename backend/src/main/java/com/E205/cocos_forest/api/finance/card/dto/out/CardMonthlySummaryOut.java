@@ -21,6 +21,8 @@ public class CardMonthlySummaryOut {
     private Totals totals;
     private List<Daily> daily;
     private List<CategoryBreakdown> byCategory;
+    private List<MerchantRank> topMerchantsByAmount;
+    private List<MerchantRank> topMerchantsByCarbon;
 
     @Getter
     @Builder
@@ -58,4 +60,16 @@ public class CardMonthlySummaryOut {
         private BigDecimal ratioAmount;
         private BigDecimal ratioCarbon;
     }
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MerchantRank {
+        private Long merchantId;
+        private String merchantName;
+        private long amountTotal;
+        private BigDecimal carbonTotalKg;
+        private long transactionCount;
+    }
 }
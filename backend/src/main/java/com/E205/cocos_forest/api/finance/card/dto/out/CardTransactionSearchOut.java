@@ -0,0 +1,20 @@
+package com.E205.cocos_forest.api.finance.card.dto.out;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardTransactionSearchOut {
+
+    private String query;
+    // 이름이 일치한 가맹점 수 (사용자가 거래한 가맹점 기준)
+    private int matchedMerchantCount;
+    private List<CardDailyDetailsOut.TransactionItem> transactions;
+}
@@ -0,0 +1,14 @@
+package com.E205.cocos_forest.api.finance.card.event;
+
+import java.time.LocalDate;
+
+/**
+ * 카드 거래 저장 이벤트 (커밋 이후 조회 캐시 무효화, 챌린지 진행도 반영 등에 사용)
+ * - approvedAmountDelta: 승인 합계 변화량 (신규 승인 거래의 금액)
+ */
+public record CardTransactionChangedEvent(Long userId,
+                                          LocalDate txDate,
+                                          String categoryId,
+                                          Long merchantId,
+                                          long approvedAmountDelta) {
+}
@@ -0,0 +1,9 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.api.finance.card.dto.in.CarbonEstimateIn;
+import com.E205.cocos_forest.api.finance.card.dto.out.CarbonEstimateOut;
+
+public interface CarbonEstimateService {
+    // 결제 전 예상 배출량 일괄 계산 (DB 조회 없이 메모리 탄소 기준 정보 스냅샷 사용)
+    CarbonEstimateOut estimate(CarbonEstimateIn in);
+}
@@ -0,0 +1,76 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.api.finance.card.dto.in.CarbonEstimateIn;
+import com.E205.cocos_forest.api.finance.card.dto.out.CarbonEstimateOut;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonReferenceSnapshot;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
+import com.E205.cocos_forest.global.exception.BaseException;
+import com.E205.cocos_forest.global.response.BaseResponseStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class CarbonEstimateServiceImpl implements CarbonEstimateService {
+
+    private static final int MAX_ITEMS = 200;
+
+    private final CarbonReferenceSnapshotHolder carbonReferenceSnapshotHolder;
+
+    @Override
+    public CarbonEstimateOut estimate(CarbonEstimateIn in) {
+        if (in == null || in.getItems() == null || in.getItems().isEmpty() || in.getItems().size() > MAX_ITEMS) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+        }
+
+        // 요청 전체에 같은 스냅샷 사용 (중간에 교체되어도 일관된 결과)
+        // 스냅샷 이후 추가된 가맹점이 있으면 변경 여부를 먼저 확인해 가맹점 카테고리로 계산되도록 함
+        List<Long> merchantIds = in.getItems().stream()
+            .filter(Objects::nonNull)
+            .map(CarbonEstimateIn.Item::getMerchantId)
+            .filter(Objects::nonNull)
+            .toList();
+        CarbonReferenceSnapshot snapshot = merchantIds.isEmpty()
+            ? carbonReferenceSnapshotHolder.get()
+            : carbonReferenceSnapshotHolder.refreshOnMiss(merchantIds);
+
+        List<CarbonEstimateOut.Item> items = new ArrayList<>(in.getItems().size());
+        long total = 0L;
+        for (CarbonEstimateIn.Item item : in.getItems()) {
+            if (item == null || item.getAmountKrw() == null || item.getAmountKrw() < 0
+                || (item.getMerchantId() == null && item.getCategoryId() == null)) {
+                throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+            }
+
+            // 가맹점 카테고리 우선, 없으면 요청 카테고리
+            int categoryIdx = item.getMerchantId() == null
+                ? CarbonReferenceSnapshot.UNKNOWN
+                : snapshot.merchantFactorIndex(item.getMerchantId());
+            if (categoryIdx == CarbonReferenceSnapshot.UNKNOWN) {
+                categoryIdx = snapshot.factorIndex(item.getCategoryId());
+            }
+
+            long amount = item.getAmountKrw();
+            long carbonMg = snapshot.carbonMg(categoryIdx, amount);
+            total = Math.addExact(total, carbonMg);
+
+            items.add(CarbonEstimateOut.Item.builder()
+                .merchantId(item.getMerchantId())
+                .categoryId(snapshot.categoryIdAt(categoryIdx))
+                .amountKrw(amount)
+                .carbonMg(carbonMg)
+                .build());
+        }
+
+        return CarbonEstimateOut.builder()
+            .factorVersion(snapshot.getVersion())
+            .carbonTotalMg(total)
+            .carbonTotalKg(CarbonMath.toKg(total, 2))
+            .items(items)
+            .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.api.finance.card.dto.out.CarbonPercentileOut;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonSketch;
+
+import java.time.LocalDate;
+
+public interface CarbonPercentileService {
+    // 사용자 배출량이 전체 사용자 분포에서 어디에 위치하는지 (yearMonth 또는 date 중 하나)
+    CarbonPercentileOut getPercentileForUser(Long userId, String yearMonth, String date);
+
+    // 집계 테이블에서 해당 기간의 사용자별 합계로 스케치를 다시 만들어 저장
+    void rebuild(CarbonSketch.PeriodType periodType, LocalDate startDate, LocalDate endDate);
+}
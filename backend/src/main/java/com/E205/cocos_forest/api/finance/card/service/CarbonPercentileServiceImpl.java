@@ -0,0 +1,276 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.api.finance.card.dto.out.CarbonPercentileOut;
+import com.E205.cocos_forest.domain.batch.entity.BatchCheckpoint;
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
+import com.E205.cocos_forest.domain.batch.repository.BatchCheckpointRepository;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonSketch;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonSketchRepository;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardSpendingDailyRepository;
+import com.E205.cocos_forest.global.exception.BaseException;
+import com.E205.cocos_forest.global.response.BaseResponseStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tdunning.math.stats.MergingDigest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 사용자 탄소배출량 백분위 (t-digest)
+ *
+ * - 매일 새벽 마감된 전일(DAY) 스케치를 card_spending_daily 의 전일 행만 읽어 생성
+ * - 진행 중인 월(MONTH)은 전일 합계를 carbon_month_totals 에 더한 뒤 사용자별 누적값으로 생성 (월 전체 일 집계를 다시 읽지 않음)
+ *   반영한 일자는 batch_checkpoints 에 기록해 재실행/누락일 보충 시 중복 합산하지 않음
+ * - 월이 마감되면(전일이 월말) 일 집계에서 월 합계를 한 번 다시 계산해 늦게 반영된 거래까지 맞춤
+ * - 사용자 id % SHARD_COUNT 로 나눈 shard 단위로 저장(행 하나의 크기 제한), 조회 시 병합한 스케치를 메모리에 두고 cdf 만 계산
+ * - 야간 작업은 job_leases 로 한 인스턴스에서만 실행, shard 저장은 upsert
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CarbonPercentileServiceImpl implements CarbonPercentileService {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final double COMPRESSION = 100;
+    private static final int SHARD_COUNT = 8;
+    private static final String JOB_NAME = "CARBON_SKETCH_NIGHTLY";
+    private static final String MONTH_TOTAL_JOB_NAME = "CARBON_MONTH_TOTALS";
+
+    private static final String USER_TOTAL_SQL =
+        "SELECT user_id, SUM(carbon_mg) AS carbon_mg FROM card_spending_daily " +
+            "WHERE tx_date BETWEEN ? AND ? " +
+            "GROUP BY user_id HAVING SUM(tx_count) > 0";
+
+    private static final String MONTH_TOTAL_SQL =
+        "SELECT user_id, carbon_mg FROM carbon_month_totals WHERE month_key = ?";
+
+    // 하루치 사용자 합계를 월 누적값에 더함
+    private static final String ACCUMULATE_DAY_SQL =
+        "INSERT INTO carbon_month_totals (month_key, user_id, carbon_mg, updated_at) " +
+            "SELECT ?, user_id, SUM(carbon_mg), ? FROM card_spending_daily " +
+            "WHERE tx_date = ? " +
+            "GROUP BY user_id HAVING SUM(tx_count) > 0 " +
+            "ON DUPLICATE KEY UPDATE carbon_mg = carbon_mg + VALUES(carbon_mg), updated_at = VALUES(updated_at)";
+
+    // 마감된 월의 누적값을 일 집계 기준으로 다시 계산
+    private static final String DELETE_MONTH_TOTALS_SQL =
+        "DELETE FROM carbon_month_totals WHERE month_key = ?";
+
+    private static final String REBUILD_MONTH_TOTALS_SQL =
+        "INSERT INTO carbon_month_totals (month_key, user_id, carbon_mg, updated_at) " +
+            "SELECT ?, user_id, SUM(carbon_mg), ? FROM card_spending_daily " +
+            "WHERE tx_date BETWEEN ? AND ? " +
+            "GROUP BY user_id HAVING SUM(tx_count) > 0";
+
+    private static final String UPSERT_SHARD_SQL =
+        "INSERT INTO carbon_sketches (period_type, period_key, shard, sample_count, digest, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE sample_count = VALUES(sample_count), digest = VALUES(digest), " +
+            "updated_at = VALUES(updated_at)";
+
+    private final CarbonSketchRepository carbonSketchRepository;
+    private final CardSpendingDailyRepository cardSpendingDailyRepository;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseLock jobLeaseLock;
+
+    // 병합된 스케치 캐시 (다른 인스턴스가 새로 만든 스케치는 만료 후 반영)
+    private final Cache<String, MergedSketch> merged = Caffeine.newBuilder()
+        .maximumSize(500)
+        .expireAfterWrite(Duration.ofMinutes(30))
+        .build();
+
+    @Override
+    public CarbonPercentileOut getPercentileForUser(Long userId, String yearMonth, String date) {
+        if (userId == null || StringUtils.hasText(yearMonth) == StringUtils.hasText(date)) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+        }
+
+        CarbonSketch.PeriodType periodType;
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            if (StringUtils.hasText(yearMonth)) {
+                YearMonth month = YearMonth.parse(yearMonth);
+                periodType = CarbonSketch.PeriodType.MONTH;
+                startDate = month.atDay(1);
+                endDate = month.atEndOfMonth();
+            } else {
+                periodType = CarbonSketch.PeriodType.DAY;
+                startDate = LocalDate.parse(date);
+                endDate = startDate;
+            }
+        } catch (DateTimeParseException ex) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid period format");
+        }
+        String periodKey = periodKey(periodType, startDate);
+
+        long carbonMg = cardSpendingDailyRepository.sumCarbonMg(userId, startDate, endDate);
+        MergedSketch sketch = merged.get(cacheKey(periodType, periodKey), ignored -> loadMerged(periodType, periodKey));
+
+        Integer lessThanPercent = null;
+        if (sketch.sampleCount() > 0) {
+            // cdf(x) = 나 이하인 사용자 비율 -> 나보다 많이 배출한 사용자 비율은 1 - cdf
+            double above = 1.0 - sketch.digest().cdf(carbonMg);
+            lessThanPercent = (int) Math.round(Math.max(0.0, Math.min(1.0, above)) * 100);
+        }
+
+        return CarbonPercentileOut.builder()
+            .periodType(periodType.name())
+            .periodKey(periodKey)
+            .carbonTotalKg(CarbonMath.toKg(carbonMg, 2))
+            .lessThanPercent(lessThanPercent)
+            .sampleSize(sketch.sampleCount())
+            .build();
+    }
+
+    // 매일 00:40 전일 스케치 생성 / 전일이 속한 월 누적 후 스케치 갱신 (일 집계 마감 이후)
+    @Scheduled(cron = "0 40 0 * * *", zone = "Asia/Seoul")
+    public void rebuildNightly() {
+        LocalDate yesterday = LocalDate.now(ZONE_KST).minusDays(1);
+        jobLeaseLock.runExclusive(JOB_NAME, Duration.ofHours(1), Duration.ofMinutes(5), () -> {
+            try {
+                rebuild(CarbonSketch.PeriodType.DAY, yesterday, yesterday);
+                refreshMonth(yesterday);
+            } catch (Exception e) {
+                log.error("[CarbonSketch] Nightly rebuild failed: date={}, reason={}", yesterday, e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public void rebuild(CarbonSketch.PeriodType periodType, LocalDate startDate, LocalDate endDate) {
+        build(periodType, periodKey(periodType, startDate), USER_TOTAL_SQL, Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    // 월 누적값 갱신 후 월 스케치 생성 (월이 마감됐으면 일 집계 기준으로 다시 계산)
+    private void refreshMonth(LocalDate lastClosedDate) {
+        YearMonth month = YearMonth.from(lastClosedDate);
+        String monthKey = month.toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZONE_KST));
+
+        if (lastClosedDate.equals(month.atEndOfMonth())) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_MONTH_TOTALS_SQL, monthKey);
+                jdbcTemplate.update(REBUILD_MONTH_TOTALS_SQL, monthKey, now,
+                    Date.valueOf(month.atDay(1)), Date.valueOf(lastClosedDate));
+            });
+        } else {
+            // 실행되지 않은 날이 있으면 월초부터 빠진 날을 함께 반영
+            for (LocalDate day = month.atDay(1); !day.isAfter(lastClosedDate); day = day.plusDays(1)) {
+                accumulateDay(monthKey, day, now);
+            }
+        }
+
+        build(CarbonSketch.PeriodType.MONTH, monthKey, MONTH_TOTAL_SQL, monthKey);
+    }
+
+    // 하루치 합계를 월 누적값에 한 번만 더함 (체크포인트와 같은 트랜잭션)
+    private void accumulateDay(String monthKey, LocalDate day, Timestamp now) {
+        String partitionKey = day.toString();
+        transactionTemplate.executeWithoutResult(status -> {
+            BatchCheckpoint checkpoint = batchCheckpointRepository
+                .findByJobNameAndPartitionKey(MONTH_TOTAL_JOB_NAME, partitionKey)
+                .orElseGet(() -> new BatchCheckpoint(MONTH_TOTAL_JOB_NAME, partitionKey));
+            if (Boolean.TRUE.equals(checkpoint.getCompleted())) {
+                return;
+            }
+            int users = jdbcTemplate.update(ACCUMULATE_DAY_SQL, monthKey, now, Date.valueOf(day));
+            checkpoint.setProcessedCount((long) users);
+            checkpoint.setCompleted(true);
+            batchCheckpointRepository.save(checkpoint);
+        });
+    }
+
+    // 사용자별 합계(user_id, carbon_mg)를 반환하는 쿼리로 shard 스케치를 만들어 저장
+    private void build(CarbonSketch.PeriodType periodType, String periodKey, String userTotalSql, Object... args) {
+        long started = System.currentTimeMillis();
+
+        MergingDigest[] digests = new MergingDigest[SHARD_COUNT];
+        long[] counts = new long[SHARD_COUNT];
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            digests[i] = new MergingDigest(COMPRESSION);
+        }
+
+        // 사용자별 합계를 한 행씩 읽어 shard 스케치에 추가 (목록을 메모리에 올리지 않음)
+        jdbcTemplate.query(
+            userTotalSql,
+            rs -> {
+                int shard = (int) (rs.getLong("user_id") % SHARD_COUNT);
+                digests[shard].add(rs.getLong("carbon_mg"));
+                counts[shard]++;
+            },
+            args);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZONE_KST));
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int shard = 0; shard < SHARD_COUNT; shard++) {
+                jdbcTemplate.update(UPSERT_SHARD_SQL,
+                    periodType.name(), periodKey, shard, counts[shard], serialize(digests[shard]), now);
+            }
+        });
+        merged.invalidate(cacheKey(periodType, periodKey));
+
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        log.info("[CarbonSketch] Rebuilt: period={}:{}, users={}, durationMs={}",
+            periodType, periodKey, total, System.currentTimeMillis() - started);
+    }
+
+    // 저장된 shard 스케치를 하나로 병합
+    private MergedSketch loadMerged(CarbonSketch.PeriodType periodType, String periodKey) {
+        List<CarbonSketch> shards = carbonSketchRepository.findByPeriodTypeAndPeriodKey(periodType, periodKey);
+        MergingDigest digest = new MergingDigest(COMPRESSION);
+        long sampleCount = 0;
+        for (CarbonSketch shard : shards) {
+            if (shard.getSampleCount() == null || shard.getSampleCount() == 0) {
+                continue;
+            }
+            digest.add(MergingDigest.fromBytes(ByteBuffer.wrap(shard.getDigest())));
+            sampleCount += shard.getSampleCount();
+        }
+        // 조회 스레드들이 동시에 cdf 를 호출하므로 미리 압축해 내부 버퍼를 비워 둠
+        digest.compress();
+        return new MergedSketch(digest, sampleCount);
+    }
+
+    private static byte[] serialize(MergingDigest digest) {
+        digest.compress();
+        ByteBuffer buffer = ByteBuffer.allocate(digest.smallByteSize());
+        digest.asSmallBytes(buffer);
+        return buffer.array();
+    }
+
+    private static String periodKey(CarbonSketch.PeriodType periodType, LocalDate startDate) {
+        return periodType == CarbonSketch.PeriodType.MONTH
+            ? YearMonth.from(startDate).toString()
+            : startDate.toString();
+    }
+
+    private static String cacheKey(CarbonSketch.PeriodType periodType, String periodKey) {
+        return periodType + ":" + periodKey;
+    }
+
+    private record MergedSketch(MergingDigest digest, long sampleCount) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.domain.finance.carbon.CarbonReferenceSnapshot;
+import com.E205.cocos_forest.domain.finance.carbon.EmissionFactorRepository;
+import com.E205.cocos_forest.domain.finance.category.CategoryRepository;
+import com.E205.cocos_forest.domain.finance.category.CategorySlotIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 탄소 기준 정보 스냅샷 보관/갱신
+ *
+ * - 시작 시 한 번 생성, 이후 1분마다 카테고리/배출계수/가맹점 변경 여부만 확인해 바뀐 경우에만 재생성
+ *   (행 내용의 CRC32 를 합쳐 비교하므로 updated_at 이 바뀌지 않은 이름 변경도 감지)
+ * - 카테고리 인덱스는 CategorySlotIndex 의 slot 을 사용 (daily_emissions 인코딩과 같은 번호)
+ * - 새 스냅샷은 AtomicReference 로 교체하므로 조회 중인 요청은 이전 스냅샷을 그대로 사용
+ * - 스냅샷 이후 추가된 가맹점은 조회 쪽에서 기존 경로(캐시/DB)로 보완
+ * - 스냅샷에 없는 가맹점을 만난 쪽은 refreshOnMiss 로 주기를 기다리지 않고 변경 여부를 확인 (MISS_CHECK_INTERVAL_MS 에 한 번)
+ */
+@Component
+@Slf4j
+public class CarbonReferenceSnapshotHolder {
+
+    private static final long MISS_CHECK_INTERVAL_MS = 5_000;
+
+    private final CategoryRepository categoryRepository;
+    private final CategorySlotIndex categorySlotIndex;
+    private final EmissionFactorRepository emissionFactorRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicReference<CarbonReferenceSnapshot> current =
+        new AtomicReference<>(CarbonReferenceSnapshot.empty());
+    private volatile long lastMissCheckMillis;
+
+    public CarbonReferenceSnapshotHolder(CategoryRepository categoryRepository,
+                                         CategorySlotIndex categorySlotIndex,
+                                         EmissionFactorRepository emissionFactorRepository,
+                                         JdbcTemplate jdbcTemplate) {
+        this.categoryRepository = categoryRepository;
+        this.categorySlotIndex = categorySlotIndex;
+        this.emissionFactorRepository = emissionFactorRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public CarbonReferenceSnapshot get() {
+        return current.get();
+    }
+
+    /**
+     * 스냅샷에 없는 가맹점 id 가 있으면 변경 여부를 즉시 확인 후 최신 스냅샷 반환
+     */
+    public CarbonReferenceSnapshot refreshOnMiss(Collection<Long> merchantIds) {
+        CarbonReferenceSnapshot snapshot = current.get();
+        boolean missed = merchantIds.stream()
+            .anyMatch(id -> id != null && snapshot.merchantPosition(id) == CarbonReferenceSnapshot.UNKNOWN);
+        long now = System.currentTimeMillis();
+        if (!missed || now - lastMissCheckMillis < MISS_CHECK_INTERVAL_MS) {
+            return snapshot;
+        }
+        lastMissCheckMillis = now;
+        refreshIfChanged();
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refreshIfChanged();
+    }
+
+    // 카테고리/배출계수/가맹점 각각 행 수와 행 내용 CRC32 의 XOR 로 변경 여부 판단
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public synchronized void refreshIfChanged() {
+        String version = jdbcTemplate.queryForObject(
+            "SELECT CONCAT(" +
+                "(SELECT CONCAT(COUNT(*), ':', BIT_XOR(CRC32(CONCAT_WS('|', category_id, name, slot)))) FROM categories), '-', " +
+                "(SELECT CONCAT(COUNT(*), ':', BIT_XOR(CRC32(CONCAT_WS('|', category_id, factor, version)))) FROM emission_factors), '-', " +
+                "(SELECT CONCAT(COUNT(*), ':', BIT_XOR(CRC32(CONCAT_WS('|', id, name, category_id)))) FROM merchants))",
+            String.class);
+        if (version != null && version.equals(current.get().getVersion())) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        List<Long> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, name, category_id FROM merchants ORDER BY id", rs -> {
+            ids.add(rs.getLong("id"));
+            names.add(rs.getString("name"));
+            categories.add(rs.getString("category_id"));
+        });
+
+        // 새 카테고리에 slot 을 배정한 뒤 매핑 사용
+        categorySlotIndex.refresh();
+        CarbonReferenceSnapshot snapshot = CarbonReferenceSnapshot.build(
+            categorySlotIndex.slots(),
+            categoryRepository.findAll(),
+            emissionFactorRepository.findAll(),
+            ids.stream().mapToLong(Long::longValue).toArray(),
+            names.toArray(new String[0]),
+            categories.toArray(new String[0]),
+            version);
+        current.set(snapshot);
+
+        log.info("[Carbon] Reference snapshot built: version={}, categories={}, merchants={}, durationMs={}",
+            version, snapshot.categoryCount(), snapshot.merchantCount(), System.currentTimeMillis() - started);
+    }
+}
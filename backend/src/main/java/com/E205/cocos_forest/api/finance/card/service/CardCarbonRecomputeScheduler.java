@@ -0,0 +1,172 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.api.emission.service.DailyEmissionService;
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
+import com.E205.cocos_forest.domain.finance.carbon.EmissionFactor;
+import com.E205.cocos_forest.domain.finance.carbon.EmissionFactorRepository;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardMerchantMonthlyRepository;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardSpendingDailyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 배출계수 변경 시 해당 카테고리 거래의 carbon_mg 재계산
+ *
+ * - 실행마다 factor_version 이 현재 배출계수 버전과 다른 행을 다시 조회 (미적재 행 포함)
+ *   id 체크포인트를 두지 않으므로 재계산 이후 이전 버전으로 커밋된 거래도 다음 실행에서 처리됨
+ * - CHUNK_SIZE 씩 처리하며 청크마다 커밋, 처리한 행은 버전이 갱신되어 다음 조회에서 빠짐
+ * - 승인 거래는 변경분만큼 card_spending_daily / card_merchant_monthly 집계와 daily_emissions 도 같은 청크에서 보정
+ * - 여러 인스턴스가 떠 있어도 job_leases 로 한 곳에서만 실행
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardCarbonRecomputeScheduler {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final String JOB_NAME = "CARD_CARBON_RECOMPUTE";
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EmissionFactorRepository emissionFactorRepository;
+    private final CardSpendingDailyRepository cardSpendingDailyRepository;
+    private final CardMerchantMonthlyRepository cardMerchantMonthlyRepository;
+    private final CardSpendingRollupService cardSpendingRollupService;
+    private final DailyEmissionService dailyEmissionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CardSummaryCache cardSummaryCache;
+    private final JobLeaseLock jobLeaseLock;
+
+    // 10분마다 변경된 배출계수가 있는지 확인 후 재계산
+    @Scheduled(cron = "0 */10 * * * *", zone = "Asia/Seoul")
+    public void recomputeChangedFactors() {
+        jobLeaseLock.runExclusive(JOB_NAME, Duration.ofMinutes(30), Duration.ofMinutes(1), this::recomputeAll);
+    }
+
+    private void recomputeAll() {
+        for (EmissionFactor factor : emissionFactorRepository.findAll()) {
+            try {
+                recompute(factor);
+            } catch (Exception e) {
+                log.warn("[Carbon] Recompute failed: categoryId={}, version={}, reason={}",
+                    factor.getCategoryId(), factor.getVersion(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 단일 카테고리 재계산 (현재 버전이 아닌 행이 남지 않을 때까지 청크 반복)
+     */
+    public void recompute(EmissionFactor factor) {
+        long scaledFactor = CarbonMath.toScaledFactor(factor.getFactor());
+        long processed = 0;
+        int processedInChunk;
+        do {
+            Integer count = transactionTemplate.execute(status ->
+                processChunk(factor.getCategoryId(), factor.getVersion(), scaledFactor));
+            processedInChunk = count == null ? 0 : count;
+            processed += processedInChunk;
+        } while (processedInChunk == CHUNK_SIZE);
+
+        if (processed == 0) {
+            return;
+        }
+
+        // 여러 사용자의 배출량이 바뀌었으므로 조회 캐시 전체 무효화
+        cardSummaryCache.evictAll();
+
+        log.info("[Carbon] Recompute end: categoryId={}, version={}, processed={}",
+            factor.getCategoryId(), factor.getVersion(), processed);
+    }
+
+    // 한 청크 처리 (트랜잭션 내부), 처리한 행 수 반환
+    private int processChunk(String categoryId, Long version, long scaledFactor) {
+        List<ChunkRow> rows = jdbcTemplate.query(
+            "SELECT id, user_id, tx_date, merchant_id, amount_krw, status, carbon_mg FROM card_transactions " +
+                "WHERE category_id = ? AND (factor_version IS NULL OR factor_version <> ?) " +
+                "ORDER BY id LIMIT ? FOR UPDATE",
+            (rs, rowNum) -> new ChunkRow(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getDate("tx_date").toLocalDate(),
+                rs.getObject("merchant_id") == null ? null : rs.getLong("merchant_id"),
+                rs.getLong("amount_krw"),
+                rs.getString("status"),
+                rs.getObject("carbon_mg") == null ? null : rs.getLong("carbon_mg")),
+            categoryId, version, CHUNK_SIZE);
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // 거래별 배출량 갱신
+        jdbcTemplate.batchUpdate(
+            "UPDATE card_transactions SET carbon_mg = ?, factor_version = ? WHERE id = ?",
+            rows,
+            rows.size(),
+            (ps, row) -> {
+                ps.setLong(1, CarbonMath.carbonMg(row.amountKrw(), scaledFactor));
+                ps.setLong(2, version);
+                ps.setLong(3, row.id());
+            });
+
+        // 승인 거래의 변경분을 (사용자, 일자) 단위로 모아 집계 보정
+        // carbon_mg 가 없던 과거 행은 이전 값을 알 수 없으므로 해당 일자(가맹점은 해당 월) 집계를 원본에서 재집계
+        // (daily_emissions 는 백필 시 계수로 환산해 이미 반영되어 있어 보정하지 않음)
+        Map<DeltaKey, Long> deltas = new HashMap<>();
+        Map<MerchantDeltaKey, Long> merchantDeltas = new HashMap<>();
+        Set<DeltaKey> rebuilds = new HashSet<>();
+        for (ChunkRow row : rows) {
+            if (!"APPROVED".equals(row.status())) {
+                continue;
+            }
+            if (row.carbonMg() == null) {
+                rebuilds.add(new DeltaKey(row.userId(), row.txDate()));
+                continue;
+            }
+            long delta = CarbonMath.carbonMg(row.amountKrw(), scaledFactor) - row.carbonMg();
+            if (delta != 0) {
+                deltas.merge(new DeltaKey(row.userId(), row.txDate()), delta, Long::sum);
+                if (row.merchantId() != null) {
+                    merchantDeltas.merge(new MerchantDeltaKey(row.userId(), row.txDate().withDayOfMonth(1), row.merchantId()),
+                        delta, Long::sum);
+                }
+            }
+        }
+        LocalDateTime now = LocalDateTime.now(ZONE_KST);
+        deltas.forEach((key, delta) -> {
+            if (!rebuilds.contains(key)) {
+                cardSpendingDailyRepository.applyDelta(key.userId(), key.txDate(), categoryId, 0L, 0L, delta, now);
+            }
+            dailyEmissionService.applyDelta(key.userId(), key.txDate(), categoryId, delta);
+        });
+        merchantDeltas.forEach((key, delta) -> cardMerchantMonthlyRepository.applyDelta(
+            key.userId(), key.monthStart(), key.merchantId(), 0L, 0L, delta, now));
+        // 재집계는 변경분 반영 이후에 실행 (원본에서 다시 만들므로 같은 월의 가맹점 변경분도 덮어써짐)
+        rebuilds.forEach(key -> cardSpendingRollupService.rebuild(key.userId(), key.txDate(), key.txDate()));
+
+        return rows.size();
+    }
+
+    private record ChunkRow(long id, long userId, LocalDate txDate, Long merchantId, long amountKrw, String status,
+                            Long carbonMg) {}
+
+    private record DeltaKey(long userId, LocalDate txDate) {}
+
+    private record MerchantDeltaKey(long userId, LocalDate monthStart, long merchantId) {}
+}
@@ -2,6 +2,10 @@ package com.E205.cocos_forest.api.finance.card.service;
 
 import com.E205.cocos_forest.api.finance.card.dto.in.CardPaymentCreateIn;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardPaymentOut;
+import com.E205.cocos_forest.api.finance.card.event.CardTransactionChangedEvent;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
+import com.E205.cocos_forest.domain.finance.carbon.EmissionFactor;
+import com.E205.cocos_forest.domain.finance.carbon.EmissionFactorRepository;
 import com.E205.cocos_forest.domain.finance.card.UserCard;
 import com.E205.cocos_forest.domain.finance.card.UserCardRepository;
 import com.E205.cocos_forest.domain.finance.card.transaction.CardTransaction;
@@ -17,6 +21,7 @@ import com.E205.cocos_forest.global.response.BaseResponseStatus;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -36,6 +41,9 @@ public class CardPaymentServiceImpl implements CardPaymentService {
     private final SimplePushService simplePushService;
     private final SsafyLinkageRepository ssafyLinkageRepository;
     private final SsafyGateway ssafyGateway;
+    private final CardSpendingRollupService cardSpendingRollupService;
+    private final EmissionFactorRepository emissionFactorRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
@@ -102,6 +110,12 @@ public class CardPaymentServiceImpl implements CardPaymentService {
         tx.setTxTime(txTime);
         tx.setAmountKrw(safeParseLong(res.getPaymentBalance(), in.getPaymentBalance()));
         tx.setStatus(CardTransaction.Status.APPROVED);
+
+        // 적재 시점의 배출계수로 배출량 계산 후 저장 (계수 변경 시 재계산 작업이 보정)
+        EmissionFactor factor = emissionFactorRepository.findByCategoryId(tx.getCategoryId()).orElse(null);
+        long scaledFactor = factor == null ? 0L : CarbonMath.toScaledFactor(factor.getFactor());
+        tx.setCarbonMg(CarbonMath.carbonMg(tx.getAmountKrw(), scaledFactor));
+        tx.setFactorVersion(factor == null ? null : factor.getVersion());
         try {
             tx.setRawResponse(objectMapper.writeValueAsString(res));
         } catch (JsonProcessingException e) {
@@ -113,6 +127,13 @@ public class CardPaymentServiceImpl implements CardPaymentService {
 
         CardTransaction saved = cardTransactionRepository.save(tx);
 
+        // 일자/카테고리 집계 반영 (같은 트랜잭션)
+        cardSpendingRollupService.applyTransaction(saved);
+
+        // 커밋 후 챌린지 진행도 반영 및 해당 사용자-월 조회 캐시 무효화
+        eventPublisher.publishEvent(new CardTransactionChangedEvent(
+            userId, saved.getTxDate(), saved.getCategoryId(), saved.getMerchantId(), saved.getAmountKrw()));
+
         // 결제 알림 전송 - 하드코딩된 디바이스로만 전송하기
         simplePushService.sendPaymentNotificationAsync(res.getMerchantName(),
             Long.valueOf(res.getPaymentBalance()), res.getCategoryName());
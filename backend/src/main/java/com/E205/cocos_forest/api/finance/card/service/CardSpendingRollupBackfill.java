@@ -0,0 +1,96 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.domain.batch.entity.BatchCheckpoint;
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
+import com.E205.cocos_forest.domain.batch.repository.BatchCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 기존 card_transactions -> card_spending_daily / card_merchant_monthly 집계 채우기 배치
+ *
+ * - 배포 이전 거래는 증분 반영 경로를 거치지 않았으므로 사용자별 전체 거래 기간을 rebuild 로 재생성
+ * - 사용자 id 범위를 CHUNK_SIZE 씩 한 트랜잭션으로 처리, 체크포인트(batch_checkpoints)에 마지막 id 기록
+ * - 기동 시 한 번 실행, 완료된 뒤에는 체크포인트만 확인하고 종료 (중단된 경우 다음 기동에서 이어서 처리)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardSpendingRollupBackfill {
+
+    private static final String JOB_NAME = "CARD_SPENDING_ROLLUP_BACKFILL";
+    // 가맹점 월 집계 추가로 전체를 다시 채우기 위해 파티션 변경 (이전: "all")
+    private static final String PARTITION_KEY = "all-with-merchant";
+    private static final long CHUNK_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final CardSpendingRollupService cardSpendingRollupService;
+    private final JobLeaseLock jobLeaseLock;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        jobLeaseLock.runExclusive(JOB_NAME, Duration.ofHours(1), Duration.ZERO, this::backfillChunks);
+    }
+
+    private void backfillChunks() {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findByJobNameAndPartitionKey(JOB_NAME, PARTITION_KEY)
+            .orElseGet(() -> batchCheckpointRepository.save(new BatchCheckpoint(JOB_NAME, PARTITION_KEY)));
+        if (Boolean.TRUE.equals(checkpoint.getCompleted())) {
+            return;
+        }
+
+        // 작업 시작 이후 가입한 사용자는 증분 반영만으로 충분
+        Long maxUserId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Long.class);
+        log.info("[CardRollup] Backfill start: fromUserId={}, maxUserId={}", checkpoint.getLastProcessedId(), maxUserId);
+        try {
+            boolean hasMore = true;
+            while (hasMore) {
+                hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    processChunk(checkpoint.getId(), maxUserId == null ? 0L : maxUserId)));
+            }
+            log.info("[CardRollup] Backfill completed");
+        } catch (Exception e) {
+            log.warn("[CardRollup] Backfill stopped, will resume on next start: reason={}", e.getMessage());
+        }
+    }
+
+    // 사용자 id 범위 한 청크 재집계 (트랜잭션 내부), 더 처리할 범위가 있으면 true
+    private boolean processChunk(Long checkpointId, long maxUserId) {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findById(checkpointId).orElseThrow();
+
+        long fromId = checkpoint.getLastProcessedId();
+        long toId = Math.min(fromId + CHUNK_SIZE, maxUserId);
+        List<UserTxRange> ranges = jdbcTemplate.query(
+            "SELECT user_id, MIN(tx_date) AS min_date, MAX(tx_date) AS max_date FROM card_transactions " +
+                "WHERE user_id > ? AND user_id <= ? GROUP BY user_id",
+            (rs, rowNum) -> new UserTxRange(rs.getLong("user_id"),
+                rs.getDate("min_date").toLocalDate(), rs.getDate("max_date").toLocalDate()),
+            fromId, toId);
+        for (UserTxRange range : ranges) {
+            cardSpendingRollupService.rebuild(range.userId(), range.minDate(), range.maxDate());
+        }
+
+        boolean hasMore = toId < maxUserId;
+        checkpoint.setLastProcessedId(toId);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + ranges.size());
+        checkpoint.setCompleted(!hasMore);
+        batchCheckpointRepository.save(checkpoint);
+        return hasMore;
+    }
+
+    private record UserTxRange(long userId, LocalDate minDate, LocalDate maxDate) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.domain.finance.card.transaction.CardTransaction;
+
+import java.time.LocalDate;
+
+public interface CardSpendingRollupService {
+    // 신규 거래 저장 시 집계 반영
+    void applyTransaction(CardTransaction tx);
+
+    // 기간 내 집계를 원본 거래로부터 재생성
+    void rebuild(Long userId, LocalDate startDate, LocalDate endDate);
+}
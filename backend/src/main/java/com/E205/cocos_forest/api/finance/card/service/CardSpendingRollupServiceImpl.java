@@ -0,0 +1,84 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.api.emission.service.DailyEmissionService;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardMerchantMonthlyRepository;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardSpendingDailyRepository;
+import com.E205.cocos_forest.domain.finance.card.transaction.CardTransaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * card_spending_daily / card_merchant_monthly 집계 테이블 증분 갱신
+ * - 호출한 쪽(결제)의 트랜잭션에 참여해 원본 거래와 함께 커밋/롤백됨
+ * - 승인 거래의 배출량 변경분은 daily_emissions 에도 같은 트랜잭션에서 반영
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class CardSpendingRollupServiceImpl implements CardSpendingRollupService {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+
+    private final CardSpendingDailyRepository cardSpendingDailyRepository;
+    private final CardMerchantMonthlyRepository cardMerchantMonthlyRepository;
+    private final DailyEmissionService dailyEmissionService;
+
+    @Override
+    public void applyTransaction(CardTransaction tx) {
+        if (tx.getStatus() != CardTransaction.Status.APPROVED) {
+            return;
+        }
+        applySigned(tx, 1);
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Long userId, LocalDate startDate, LocalDate endDate) {
+        LocalDateTime now = LocalDateTime.now(ZONE_KST);
+        // 가맹점 집계는 월 단위이므로 기간이 걸친 월 전체를 다시 만듦
+        LocalDate monthStart = startDate.withDayOfMonth(1);
+        LocalDate monthEnd = endDate.withDayOfMonth(endDate.lengthOfMonth());
+        // 원본 거래를 먼저 잠가 삭제~재생성 사이에 들어온 증분 반영이 지워지지 않도록 함
+        cardSpendingDailyRepository.lockSourceRange(userId, monthStart, monthEnd);
+        cardSpendingDailyRepository.deleteRange(userId, startDate, endDate);
+        // 재집계 행의 버전은 재집계 시각(ms) - 삭제 후 같은 행 수로 다시 만들어져도 ETag 가 바뀌도록
+        cardSpendingDailyRepository.rebuildRange(userId, startDate, endDate, System.currentTimeMillis(), now);
+
+        cardMerchantMonthlyRepository.deleteRange(userId, monthStart, endDate.withDayOfMonth(1));
+        cardMerchantMonthlyRepository.rebuildRange(userId, monthStart, monthEnd, now);
+    }
+
+    private void applySigned(CardTransaction tx, int sign) {
+        long amount = tx.getAmountKrw() == null ? 0L : tx.getAmountKrw();
+        long carbonMg = tx.getCarbonMg() == null ? 0L : tx.getCarbonMg();
+
+        LocalDateTime now = LocalDateTime.now(ZONE_KST);
+        cardSpendingDailyRepository.applyDelta(
+            tx.getUserId(),
+            tx.getTxDate(),
+            tx.getCategoryId(),
+            sign * amount,
+            sign,
+            sign * carbonMg,
+            now);
+
+        if (tx.getMerchantId() != null) {
+            cardMerchantMonthlyRepository.applyDelta(
+                tx.getUserId(),
+                tx.getTxDate().withDayOfMonth(1),
+                tx.getMerchantId(),
+                sign * amount,
+                sign,
+                sign * carbonMg,
+                now);
+        }
+
+        dailyEmissionService.applyDelta(tx.getUserId(), tx.getTxDate(), tx.getCategoryId(), sign * carbonMg);
+    }
+}
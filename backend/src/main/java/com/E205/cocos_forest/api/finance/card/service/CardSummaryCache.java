@@ -0,0 +1,218 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.api.finance.card.event.CardTransactionChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 카드 소비내역 조회 결과 캐시 (사용자 x 월 단위)
+ *
+ * - L1: Caffeine, 사용자-월 하나에 월 요약/일별 상세/카테고리 상세 응답을 함께 보관
+ * - L2: Redis (cocos.cache.card-summary.redis-enabled=true 일 때만), JSON 문자열로 저장
+ *   값 키에 전체/사용자-월 세대 번호를 붙이고, 무효화는 세대 번호 증가로 처리
+ *   조회 시작 시점의 세대로 저장하므로 조회 도중 무효화되면 저장 값은 읽히지 않고 TTL 로 만료됨
+ * - L1 항목에도 적재 당시 세대를 함께 저장하고 매 조회마다 현재 세대와 비교
+ *   (다른 인스턴스에서 커밋/무효화된 사용자-월을 L1 TTL 동안 계속 내려주지 않도록)
+ *   Redis 를 쓰지 않으면 세대 비교가 없으므로 단일 인스턴스 구성에서만 사용
+ * - 결제 커밋 후 해당 사용자-월만 무효화, 배출계수 재계산 시 전체 무효화
+ * - 조회 결과는 card.summary.cache 카운터(view, result 태그)로 기록
+ */
+@Component
+@Slf4j
+public class CardSummaryCache {
+
+    private static final String REDIS_KEY_PREFIX = "card:summary:";
+    private static final String REDIS_GLOBAL_GENERATION_KEY = REDIS_KEY_PREFIX + "gen";
+    private static final long MAX_USER_MONTHS = 10_000;
+    private static final int MAX_VIEWS_PER_MONTH = 64;
+    private static final Duration L1_TTL = Duration.ofMinutes(10);
+    private static final Duration L2_TTL = Duration.ofHours(1);
+    // 세대 키는 그 세대로 저장된 값보다 오래 유지 (만료 후 0부터 다시 세어도 이전 값이 남아 있지 않도록)
+    private static final Duration GENERATION_TTL = L2_TTL.multipliedBy(2);
+
+    private final Cache<UserMonth, Map<String, LocalEntry>> local;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean redisEnabled;
+
+    public CardSummaryCache(RedisTemplate<String, Object> redisTemplate,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${cocos.cache.card-summary.redis-enabled:false}") boolean redisEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.redisEnabled = redisEnabled;
+        this.local = Caffeine.newBuilder()
+            .maximumSize(MAX_USER_MONTHS)
+            .expireAfterWrite(L1_TTL)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "cardSummary");
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader 결과를 저장 후 반환
+     *
+     * @param view 같은 사용자-월 안에서 응답을 구분하는 키 (예: "summary", "daily:2025-09-01:null:20")
+     */
+    public <T> T get(Long userId, YearMonth month, String view, Class<T> type, Supplier<T> loader) {
+        UserMonth key = new UserMonth(userId, month);
+        Map<String, LocalEntry> views = local.get(key, ignored -> new ConcurrentHashMap<>());
+
+        // 적재 전에 세대를 읽어 둠 (적재 도중 무효화되면 이 세대로 저장된 값은 다음 조회에서 버려짐)
+        String generation = readGeneration(key);
+        LocalEntry cached = views.get(view);
+        if (cached != null && Objects.equals(cached.generation(), generation)) {
+            record(view, "l1_hit");
+            return type.cast(cached.value());
+        }
+
+        String valueKey = generation == null ? null : key.redisKey() + ":" + generation + ":" + view;
+        T remote = readRemote(valueKey, type);
+        if (remote != null) {
+            record(view, "l2_hit");
+            putLocal(views, view, generation, remote);
+            return remote;
+        }
+
+        record(view, "miss");
+        T loaded = loader.get();
+        putLocal(views, view, generation, loaded);
+        writeRemote(key, valueKey, loaded);
+        return loaded;
+    }
+
+    /**
+     * 거래 커밋 이후 해당 사용자-월만 무효화
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(CardTransactionChangedEvent event) {
+        if (event.userId() == null || event.txDate() == null) {
+            return;
+        }
+        evict(event.userId(), YearMonth.from(event.txDate()));
+    }
+
+    public void evict(Long userId, YearMonth month) {
+        UserMonth key = new UserMonth(userId, month);
+        local.invalidate(key);
+
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            // 세대가 바뀌면 이전 세대 값 키는 더 이상 조회되지 않음
+            redisTemplate.opsForValue().increment(key.generationKey());
+            redisTemplate.expire(key.generationKey(), GENERATION_TTL);
+        } catch (Exception e) {
+            log.warn("[CardSummaryCache] Redis evict failed: userId={}, month={}, reason={}", userId, month, e.getMessage());
+        }
+    }
+
+    /**
+     * 전체 무효화 (배출계수 재계산 등 다수 사용자에 영향이 있는 경우)
+     * - Redis 는 전체 세대 번호를 올려 모든 사용자-월 값을 한 번에 무효화
+     */
+    public void evictAll() {
+        local.invalidateAll();
+
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().increment(REDIS_GLOBAL_GENERATION_KEY);
+        } catch (Exception e) {
+            log.warn("[CardSummaryCache] Redis evict all failed: reason={}", e.getMessage());
+        }
+    }
+
+    private void putLocal(Map<String, LocalEntry> views, String view, String generation, Object value) {
+        // 커서/페이지 크기 조합으로 한 달 항목이 무한히 늘어나지 않도록 제한 (같은 view 교체는 허용)
+        if (value != null && (views.size() < MAX_VIEWS_PER_MONTH || views.containsKey(view))) {
+            views.put(view, new LocalEntry(generation, value));
+        }
+    }
+
+    // 현재 전체/사용자-월 세대 ("g{전체}.{사용자-월}", Redis 미사용/장애 시 null)
+    private String readGeneration(UserMonth key) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            List<Object> generations = redisTemplate.opsForValue()
+                .multiGet(List.of(REDIS_GLOBAL_GENERATION_KEY, key.generationKey()));
+            Object global = generations == null ? null : generations.get(0);
+            Object userMonth = generations == null ? null : generations.get(1);
+            return "g" + (global == null ? 0 : global) + "." + (userMonth == null ? 0 : userMonth);
+        } catch (Exception e) {
+            log.warn("[CardSummaryCache] Redis generation read failed: key={}, reason={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T readRemote(String valueKey, Class<T> type) {
+        if (valueKey == null) {
+            return null;
+        }
+        try {
+            Object json = redisTemplate.opsForValue().get(valueKey);
+            return json == null ? null : objectMapper.readValue(json.toString(), type);
+        } catch (Exception e) {
+            log.warn("[CardSummaryCache] Redis read failed: key={}, reason={}", valueKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRemote(UserMonth key, String valueKey, Object value) {
+        if (valueKey == null || value == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(valueKey, objectMapper.writeValueAsString(value),
+                L2_TTL.toSeconds(), TimeUnit.SECONDS);
+            redisTemplate.expire(key.generationKey(), GENERATION_TTL);
+        } catch (Exception e) {
+            log.warn("[CardSummaryCache] Redis write failed: key={}, reason={}", valueKey, e.getMessage());
+        }
+    }
+
+    private void record(String view, String result) {
+        int sep = view.indexOf(':');
+        meterRegistry.counter("card.summary.cache",
+            "view", sep < 0 ? view : view.substring(0, sep),
+            "result", result).increment();
+    }
+
+    private record LocalEntry(String generation, Object value) {
+    }
+
+    private record UserMonth(Long userId, YearMonth month) {
+        String redisKey() {
+            return REDIS_KEY_PREFIX + userId + ":" + month;
+        }
+
+        String generationKey() {
+            return redisKey() + ":gen";
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface CardTransactionExportService {
+
+    /**
+     * 기간 내 거래 내역 스트리밍 내보내기 (입력값 검증은 호출 시점에 수행)
+     */
+    StreamingResponseBody exportTransactions(Long userId, String from, String to, Format format);
+
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+}
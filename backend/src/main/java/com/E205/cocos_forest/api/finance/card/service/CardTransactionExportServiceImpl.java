@@ -0,0 +1,209 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonReferenceSnapshot;
+import com.E205.cocos_forest.global.exception.BaseException;
+import com.E205.cocos_forest.global.response.BaseResponseStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 카드 거래 내역 내보내기
+ *
+ * - 목록을 메모리에 올리지 않고 JDBC 커서(MySQL 스트리밍 fetch)로 한 행씩 읽어 바로 응답에 기록
+ * - 건별 배출량은 적재된 carbon_mg 를 사용, 적재 전 과거 행은 내보내기 시작 시 잡아 둔 기준 스냅샷의 배출계수로 계산
+ * - 한 번에 내보낼 수 있는 기간은 MAX_EXPORT_DAYS 일로 제한
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CardTransactionExportServiceImpl implements CardTransactionExportService {
+
+    private static final int MAX_EXPORT_DAYS = 366;
+
+    private static final String CSV_HEADER =
+        "transactionNo,txDate,txTime,categoryId,merchantName,amountKrw,status,carbonKg";
+
+    private static final String EXPORT_SQL =
+        "SELECT ct.transaction_no, ct.tx_date, ct.tx_time, ct.category_id, m.name AS merchant_name, " +
+            "ct.amount_krw, ct.status, ct.carbon_mg " +
+            "FROM card_transactions ct " +
+            "LEFT JOIN merchants m ON m.id = ct.merchant_id " +
+            "WHERE ct.user_id = ? AND ct.tx_date BETWEEN ? AND ? " +
+            "ORDER BY ct.tx_date, ct.tx_time, ct.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CarbonReferenceSnapshotHolder carbonReferenceSnapshotHolder;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public StreamingResponseBody exportTransactions(Long userId, String from, String to, Format format) {
+        if (userId == null || !StringUtils.hasText(from) || !StringUtils.hasText(to) || format == null) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+        }
+
+        LocalDate startDate = parseDate(from);
+        LocalDate endDate = parseDate(to);
+        if (startDate.isAfter(endDate) || startDate.plusDays(MAX_EXPORT_DAYS - 1L).isBefore(endDate)) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid date range");
+        }
+
+        // 배출계수 기준 스냅샷 - 내보내기 1회 동안 고정
+        CarbonReferenceSnapshot snapshot = carbonReferenceSnapshotHolder.get();
+
+        return out -> {
+            long started = System.currentTimeMillis();
+            long rows = format == Format.CSV
+                ? writeCsv(userId, startDate, endDate, snapshot, out)
+                : writeNdjson(userId, startDate, endDate, snapshot, out);
+            log.info("[Export] userId={}, range={}~{}, format={}, rows={}, durationMs={}",
+                userId, startDate, endDate, format, rows, System.currentTimeMillis() - started);
+        };
+    }
+
+    private long writeNdjson(Long userId, LocalDate startDate, LocalDate endDate,
+                             CarbonReferenceSnapshot snapshot, OutputStream out) throws IOException {
+        // 응답 스트림은 컨테이너가 닫으므로 generator 종료 시 flush 만 수행
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            // 루트 값 사이 기본 구분자(공백)를 끄고 줄 끝에 '\n' 만 직접 씀
+            generator.setRootValueSeparator(null);
+            return streamRows(userId, startDate, endDate, snapshot, row -> {
+                generator.writeStartObject();
+                generator.writeStringField("transactionNo", row.transactionNo());
+                generator.writeStringField("txDate", row.txDate());
+                generator.writeStringField("txTime", row.txTime());
+                generator.writeStringField("categoryId", row.categoryId());
+                generator.writeStringField("merchantName", row.merchantName());
+                generator.writeNumberField("amountKrw", row.amountKrw());
+                generator.writeStringField("status", row.status());
+                generator.writeNumberField("carbonKg", CarbonMath.toKg(row.carbonMg(), 6));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private long writeCsv(Long userId, LocalDate startDate, LocalDate endDate,
+                          CarbonReferenceSnapshot snapshot, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = streamRows(userId, startDate, endDate, snapshot, row -> {
+            writer.write(csv(row.transactionNo()));
+            writer.write(',');
+            writer.write(row.txDate());
+            writer.write(',');
+            writer.write(row.txTime() == null ? "" : row.txTime());
+            writer.write(',');
+            writer.write(csv(row.categoryId()));
+            writer.write(',');
+            writer.write(csv(row.merchantName()));
+            writer.write(',');
+            writer.write(Long.toString(row.amountKrw()));
+            writer.write(',');
+            writer.write(row.status());
+            writer.write(',');
+            writer.write(CarbonMath.toKg(row.carbonMg(), 6).toPlainString());
+            writer.write('\n');
+        });
+        writer.flush();
+        return rows;
+    }
+
+    // 사용자의 기간 내 거래를 한 행씩 읽어 writer 에 전달, 기록한 행 수 반환
+    private long streamRows(Long userId, LocalDate startDate, LocalDate endDate,
+                            CarbonReferenceSnapshot snapshot, RowWriter writer) {
+        long[] count = {0L};
+        jdbcTemplate.query(
+            connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // MySQL 드라이버는 Integer.MIN_VALUE 일 때 결과를 한 행씩 스트리밍
+                ps.setFetchSize(Integer.MIN_VALUE);
+                ps.setLong(1, userId);
+                ps.setDate(2, Date.valueOf(startDate));
+                ps.setDate(3, Date.valueOf(endDate));
+                return ps;
+            },
+            rs -> {
+                try {
+                    writer.write(toRow(rs, snapshot));
+                } catch (IOException e) {
+                    // 클라이언트 연결 종료 등 - 커서를 닫고 중단
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+        return count[0];
+    }
+
+    private ExportRow toRow(ResultSet rs, CarbonReferenceSnapshot snapshot) throws SQLException {
+        String categoryId = rs.getString("category_id");
+        long amountKrw = rs.getLong("amount_krw");
+        long carbonMg = rs.getLong("carbon_mg");
+        if (rs.wasNull()) {
+            carbonMg = snapshot.carbonMg(snapshot.factorIndex(categoryId), amountKrw);
+        }
+        Time txTime = rs.getTime("tx_time");
+
+        return new ExportRow(
+            rs.getString("transaction_no"),
+            rs.getDate("tx_date").toLocalDate().toString(),
+            txTime == null ? null : txTime.toLocalTime().toString(),
+            categoryId,
+            rs.getString("merchant_name"),
+            amountKrw,
+            rs.getString("status"),
+            carbonMg);
+    }
+
+    private LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid date format");
+        }
+    }
+
+    // CSV 필드 이스케이프 (쉼표, 따옴표, 개행 포함 시 따옴표로 감쌈)
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ExportRow row) throws IOException;
+    }
+
+    private record ExportRow(String transactionNo, String txDate, String txTime, String categoryId,
+                             String merchantName, long amountKrw, String status, long carbonMg) {
+    }
+}
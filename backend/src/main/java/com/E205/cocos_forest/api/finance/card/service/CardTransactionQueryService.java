@@ -1,12 +1,20 @@
 package com.E205.cocos_forest.api.finance.card.service;
 
+import com.E205.cocos_forest.api.finance.card.dto.out.CardCarbonTrendOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardMonthlySummaryOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardCategoryMonthlyDetailsOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardDailyDetailsOut;
+import com.E205.cocos_forest.api.finance.card.dto.out.CardTransactionSearchOut;
 
 public interface CardTransactionQueryService {
     // Resolves default/owned card internally based on userId
     CardMonthlySummaryOut getMonthlySummaryForUser(Long userId, String yearMonth);
-    CardDailyDetailsOut getDailyDetailsForUser(Long userId, String date);
-    CardCategoryMonthlyDetailsOut getMonthlyTransactionsByCategoryForUser(Long userId, String yearMonth, String categoryId);
+    CardDailyDetailsOut getDailyDetailsForUser(Long userId, String date, Long cursor, Integer size);
+    // 조회 응답 버전 태그 (ETag) - 집계 행의 변경 워터마크로 계산, 본 조회는 실행하지 않음
+    String getMonthlyVersionTag(Long userId, String yearMonth);
+    String getDailyVersionTag(Long userId, String date);
+    CardCarbonTrendOut getCarbonTrendForUser(Long userId, String fromYearMonth, String toYearMonth);
+    CardCategoryMonthlyDetailsOut getMonthlyTransactionsByCategoryForUser(Long userId, String yearMonth, String categoryId, Long cursor, Integer size);
+    // 가맹점 이름 부분 검색 (최신순 size 건)
+    CardTransactionSearchOut searchTransactionsForUser(Long userId, String query, Integer size);
 }
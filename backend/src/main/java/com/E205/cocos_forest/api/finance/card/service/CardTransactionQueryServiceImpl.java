@@ -1,29 +1,39 @@
 package com.E205.cocos_forest.api.finance.card.service;
 
+import com.E205.cocos_forest.api.finance.card.dto.out.CardCarbonTrendOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardMonthlySummaryOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardDailyDetailsOut;
 import com.E205.cocos_forest.api.finance.card.dto.out.CardCategoryMonthlyDetailsOut;
-import com.E205.cocos_forest.domain.finance.carbon.EmissionFactor;
-import com.E205.cocos_forest.domain.finance.carbon.EmissionFactorRepository;
+import com.E205.cocos_forest.api.finance.card.dto.out.CardTransactionSearchOut;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonMath;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonReferenceSnapshot;
 import com.E205.cocos_forest.domain.finance.card.UserCard;
 import com.E205.cocos_forest.domain.finance.card.UserCardRepository;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardMerchantAggregate;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardMonthlyCategoryAggregate;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardSpendingDaily;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardMerchantMonthlyRepository;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardSpendingDailyRepository;
+import com.E205.cocos_forest.domain.finance.card.rollup.CardSpendingWatermark;
+import com.E205.cocos_forest.domain.finance.card.transaction.CardCategoryAggregate;
+import com.E205.cocos_forest.domain.finance.card.transaction.CardDailyAggregate;
 import com.E205.cocos_forest.domain.finance.card.transaction.CardTransaction;
 import com.E205.cocos_forest.domain.finance.card.transaction.CardTransactionRepository;
-import com.E205.cocos_forest.domain.finance.category.Category;
-import com.E205.cocos_forest.domain.finance.category.CategoryRepository;
+import com.E205.cocos_forest.domain.finance.card.transaction.CardTransactionView;
 import com.E205.cocos_forest.global.exception.BaseException;
 import com.E205.cocos_forest.global.response.BaseResponseStatus;
-import com.E205.cocos_forest.domain.finance.merchant.Merchant;
-import com.E205.cocos_forest.domain.finance.merchant.MerchantRepository;
+import com.E205.cocos_forest.global.util.CursorPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
@@ -35,12 +45,20 @@ import java.util.stream.Collectors;
 public class CardTransactionQueryServiceImpl implements CardTransactionQueryService {
 
     private static final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TREND_MONTHS = 24;
+    private static final int TOP_MERCHANT_LIMIT = 5;
 
     private final UserCardRepository userCardRepository;
     private final CardTransactionRepository cardTransactionRepository;
-    private final CategoryRepository categoryRepository;
-    private final EmissionFactorRepository emissionFactorRepository;
-    private final MerchantRepository merchantRepository;
+    private final CardSpendingDailyRepository cardSpendingDailyRepository;
+    private final CardMerchantMonthlyRepository cardMerchantMonthlyRepository;
+    private final CarbonReferenceSnapshotHolder carbonReferenceSnapshotHolder;
+    private final MerchantNameCache merchantNameCache;
+    private final CardSummaryCache cardSummaryCache;
+    private final MerchantNgramIndex merchantNgramIndex;
 
     private CardMonthlySummaryOut buildMonthlySummary(String userCardId, String yearMonth) {
 
@@ -59,67 +77,65 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
         LocalDate startDate = targetMonth.atDay(1);
         LocalDate endDate = targetMonth.atEndOfMonth();
 
-        // 해당 카드 소유자의 해당 월 거래내역 조회
-        List<CardTransaction> transactions = cardTransactionRepository.findByUserIdAndTxDateBetween(
+        // 해당 카드 소유자의 월간 일자/카테고리 집계 조회 (승인 거래만 누적된 행)
+        List<CardSpendingDaily> rollups = cardSpendingDailyRepository.findByUserIdAndTxDateBetween(
             userCard.getUserId(), startDate, endDate);
 
-        // 승인된 거래 내역만 필터링
-        List<CardTransaction> approvedTransactions = transactions.stream()
-            .filter(tx -> tx.getStatus() == CardTransaction.Status.APPROVED)
-            .toList();
-
-        // 사용된 카테고리와 배출계수 미리 로드
-        Map<String, Category> categoryMap = loadCategories(approvedTransactions);
-        Map<String, BigDecimal> factorMap = loadEmissionFactors(approvedTransactions);
+        // 카테고리 인덱스/이름은 메모리 스냅샷에서 조회 (요청 중 교체되어도 같은 스냅샷 사용)
+        CarbonReferenceSnapshot snapshot = carbonReferenceSnapshotHolder.get();
 
-        // 월별 요약 집계
+        // 월별 요약 집계 - 일자는 (일 - 1), 카테고리는 스냅샷 인덱스로 배열 누적
         SummaryAccumulator totalAccumulator = new SummaryAccumulator();
-        Map<LocalDate, SummaryAccumulator> dailyAccumulators = new HashMap<>();
-        Map<String, SummaryAccumulator> categoryAccumulators = new HashMap<>();
-
-        // 거래내역 순회하면서 집계
-        for (CardTransaction tx : approvedTransactions) {
-            long amount = tx.getAmountKrw();
-
-            // 카테고리별 금액 x 배출계수로 배출량 계산
-            BigDecimal factor = factorMap.getOrDefault(tx.getCategoryId(), BigDecimal.ZERO); // 배출계수
-            BigDecimal carbon = factor.multiply(BigDecimal.valueOf(amount)); // 금액 x 배출계수 = 배출량
+        SummaryAccumulator[] dailyAccumulators = new SummaryAccumulator[targetMonth.lengthOfMonth()];
+        SummaryAccumulator[] categoryAccumulators = new SummaryAccumulator[snapshot.categoryCount()];
+        // 스냅샷 이후 추가된 카테고리만 id 로 누적
+        Map<String, SummaryAccumulator> unindexedCategories = new HashMap<>();
+
+        // 집계 행 순회하면서 합산 (최대 일수 x 카테고리 수)
+        for (CardSpendingDaily row : rollups) {
+            if (row.getTxCount() <= 0) {
+                continue;
+            }
+            long amount = row.getAmountTotal();
+            long count = row.getTxCount();
+            long carbon = row.getCarbonMg();
 
             // 전체 합계 누적
-            totalAccumulator.add(amount, carbon);
+            totalAccumulator.add(amount, count, carbon);
 
             // 일자별 합계 누적
-            dailyAccumulators
-                .computeIfAbsent(tx.getTxDate(), ignored -> new SummaryAccumulator())
-                .add(amount, carbon);
+            accumulatorAt(dailyAccumulators, row.getTxDate().getDayOfMonth() - 1)
+                .add(amount, count, carbon);
 
             // 카테고리별 합계 누적
-            categoryAccumulators
-                .computeIfAbsent(tx.getCategoryId(), ignored -> new SummaryAccumulator())
-                .add(amount, carbon);
+            int categoryIdx = snapshot.categoryIndex(row.getCategoryId());
+            SummaryAccumulator categoryAcc = categoryIdx == CarbonReferenceSnapshot.UNKNOWN
+                ? unindexedCategories.computeIfAbsent(row.getCategoryId(), ignored -> new SummaryAccumulator())
+                : accumulatorAt(categoryAccumulators, categoryIdx);
+            categoryAcc.add(amount, count, carbon);
         }
 
         // 거래가 발생한 날 수
-        long daysActive = dailyAccumulators.values().stream()
-            .filter(acc -> acc.getTransactionCount() > 0)
-            .count();
+        long daysActive = 0;
+        for (SummaryAccumulator acc : dailyAccumulators) {
+            if (acc != null && acc.getTransactionCount() > 0) {
+                daysActive++;
+            }
+        }
 
         // 일 평균 금액/탄소 배출량 계산
         long avgPerDayAmount = daysActive == 0
             ? 0
-            : BigDecimal.valueOf(totalAccumulator.getAmountTotal())
-                .divide(BigDecimal.valueOf(daysActive), 0, RoundingMode.HALF_UP)
-                .longValue();
+            : CarbonMath.divideHalfUp(totalAccumulator.getAmountTotal(), daysActive);
 
         BigDecimal avgPerDayCarbon = daysActive == 0
             ? BigDecimal.ZERO
-            : scale(totalAccumulator.getCarbonTotal()
-                .divide(BigDecimal.valueOf(daysActive), 2, RoundingMode.HALF_UP), 2);
+            : CarbonMath.divideToKg(totalAccumulator.getCarbonTotal(), daysActive, 2);
 
         // 결과 생성
         CardMonthlySummaryOut.Totals totals = CardMonthlySummaryOut.Totals.builder()
             .amountTotal(totalAccumulator.getAmountTotal())
-            .carbonTotalKg(scale(totalAccumulator.getCarbonTotal(), 2))
+            .carbonTotalKg(CarbonMath.toKg(totalAccumulator.getCarbonTotal(), 2))
             .transactionCount(totalAccumulator.getTransactionCount())
             .daysActive(daysActive)
             .avgPerDayAmount(avgPerDayAmount)
@@ -129,7 +145,20 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
         // 일별 요약 및 카테고리별 요약 생성
         List<CardMonthlySummaryOut.Daily> dailySummaries = buildDailySummaries(startDate, endDate, dailyAccumulators);
         List<CardMonthlySummaryOut.CategoryBreakdown> categorySummaries = buildCategorySummaries(
-            categoryAccumulators, totalAccumulator, categoryMap);
+            categoryAccumulators, unindexedCategories, totalAccumulator, snapshot);
+
+        // 가맹점 순위 (가맹점별 합계는 월 가맹점 집계에서, 상위 K 개는 고정 크기 힙으로 선택)
+        List<CardMerchantAggregate> merchantAggregates = cardMerchantMonthlyRepository.findAggregates(
+            userCard.getUserId(), startDate);
+        List<CardMerchantAggregate> topByAmount = topK(merchantAggregates,
+            Comparator.comparingLong(CardMerchantAggregate::getAmountTotal), TOP_MERCHANT_LIMIT);
+        List<CardMerchantAggregate> topByCarbon = topK(merchantAggregates,
+            Comparator.comparingLong(CardMerchantAggregate::getCarbonMg), TOP_MERCHANT_LIMIT);
+
+        Set<Long> rankedMerchantIds = new HashSet<>();
+        topByAmount.forEach(row -> rankedMerchantIds.add(row.getMerchantId()));
+        topByCarbon.forEach(row -> rankedMerchantIds.add(row.getMerchantId()));
+        Map<Long, String> merchantNames = loadMerchantNames(rankedMerchantIds, snapshot);
 
         // 최종 응답 반환
         return CardMonthlySummaryOut.builder()
@@ -138,17 +167,112 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
             .totals(totals)
             .daily(dailySummaries)
             .byCategory(categorySummaries)
+            .topMerchantsByAmount(toMerchantRanks(topByAmount, merchantNames))
+            .topMerchantsByCarbon(toMerchantRanks(topByCarbon, merchantNames))
             .build();
     }
 
     @Override
     public CardMonthlySummaryOut getMonthlySummaryForUser(Long userId, String yearMonth) {
-        String resolvedUserCardId = resolveUserCardIdForUser(userId);
-        return buildMonthlySummary(resolvedUserCardId, yearMonth);
+        YearMonth cacheMonth = parseYearMonth(requireText(yearMonth));
+        return cardSummaryCache.get(userId, cacheMonth, "summary", CardMonthlySummaryOut.class, () -> {
+            String resolvedUserCardId = resolveUserCardIdForUser(userId);
+            return buildMonthlySummary(resolvedUserCardId, yearMonth);
+        });
     }
     
+    @Override
+    public String getMonthlyVersionTag(Long userId, String yearMonth) {
+        YearMonth month = parseYearMonth(requireText(yearMonth));
+        return versionTag(userId, month.atDay(1), month.atEndOfMonth());
+    }
+
+    @Override
+    public String getDailyVersionTag(Long userId, String date) {
+        LocalDate targetDate = parseDate(requireText(date));
+        return versionTag(userId, targetDate, targetDate);
+    }
+
+    // 사용자-기간의 집계 행 수, 행 변경 횟수 합계, 금액 합계, 마지막 갱신 시각으로 버전 문자열 생성
+    // (같은 초 안의 두 번째 변경도 row_version 합계가 달라지므로 감지)
+    private String versionTag(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (userId == null) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Missing userId");
+        }
+        CardSpendingWatermark watermark = cardSpendingDailyRepository.findWatermark(userId, startDate, endDate);
+        long rowCount = watermark == null || watermark.getRowCount() == null ? 0L : watermark.getRowCount();
+        long versionSum = watermark == null || watermark.getVersionSum() == null ? 0L : watermark.getVersionSum();
+        long amountSum = watermark == null || watermark.getAmountSum() == null ? 0L : watermark.getAmountSum();
+        long lastUpdated = watermark == null || watermark.getLastUpdatedAt() == null
+            ? 0L
+            : watermark.getLastUpdatedAt().atZone(ZONE_KST).toInstant().toEpochMilli();
+        return userId + "-" + startDate + "-" + rowCount + "-" + versionSum + "-" + amountSum + "-" + lastUpdated;
+    }
+
+    // 월별 추이 조회 (기간 전체를 월 x 카테고리 GROUP BY 한 번으로 집계)
+    @Override
+    public CardCarbonTrendOut getCarbonTrendForUser(Long userId, String fromYearMonth, String toYearMonth) {
+        String userCardId = resolveUserCardIdForUser(userId);
+
+        if (!StringUtils.hasText(fromYearMonth) || !StringUtils.hasText(toYearMonth)) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+        }
+
+        YearMonth fromMonth = parseYearMonth(fromYearMonth);
+        YearMonth toMonth = parseYearMonth(toYearMonth);
+        if (fromMonth.isAfter(toMonth) || fromMonth.plusMonths(MAX_TREND_MONTHS - 1L).isBefore(toMonth)) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid yearMonth range");
+        }
+
+        UserCard userCard = resolveUserCard(userCardId);
+
+        List<CardMonthlyCategoryAggregate> aggregates = cardSpendingDailyRepository.aggregateByMonthAndCategory(
+            userCard.getUserId(), fromMonth.atDay(1), toMonth.atEndOfMonth());
+
+        CarbonReferenceSnapshot snapshot = carbonReferenceSnapshotHolder.get();
+
+        // 월별로 카테고리 집계 묶기
+        Map<YearMonth, List<CardMonthlyCategoryAggregate>> byMonth = aggregates.stream()
+            .collect(Collectors.groupingBy(row -> YearMonth.of(row.getTxYear(), row.getTxMonth())));
+
+        // 기간의 모든 월을 돌면서 월별 추이 생성 (거래 없는 달은 0 처리)
+        List<CardCarbonTrendOut.Monthly> months = new ArrayList<>();
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            SummaryAccumulator monthTotal = new SummaryAccumulator();
+            List<CardCarbonTrendOut.CategoryCarbon> byCategory = new ArrayList<>();
+
+            for (CardMonthlyCategoryAggregate row : byMonth.getOrDefault(month, Collections.emptyList())) {
+                long carbonMg = row.getCarbonMg() == null ? 0L : row.getCarbonMg();
+                monthTotal.add(row.getAmountTotal(), row.getTxCount(), carbonMg);
+
+                byCategory.add(CardCarbonTrendOut.CategoryCarbon.builder()
+                    .categoryId(row.getCategoryId())
+                    .categoryName(snapshot.categoryName(row.getCategoryId()))
+                    .amountTotal(row.getAmountTotal())
+                    .carbonTotalKg(CarbonMath.toKg(carbonMg, 2))
+                    .build());
+            }
+            byCategory.sort(Comparator.comparing(CardCarbonTrendOut.CategoryCarbon::getCarbonTotalKg).reversed());
+
+            months.add(CardCarbonTrendOut.Monthly.builder()
+                .yearMonth(month.format(YEAR_MONTH_FORMATTER))
+                .amountTotal(monthTotal.getAmountTotal())
+                .carbonTotalKg(CarbonMath.toKg(monthTotal.getCarbonTotal(), 2))
+                .transactionCount(monthTotal.getTransactionCount())
+                .byCategory(byCategory)
+                .build());
+        }
+
+        return CardCarbonTrendOut.builder()
+            .userCardId(userCardId)
+            .fromYearMonth(fromMonth.format(YEAR_MONTH_FORMATTER))
+            .toYearMonth(toMonth.format(YEAR_MONTH_FORMATTER))
+            .months(months)
+            .build();
+    }
+
     // 일별 상세 조회
-    private CardDailyDetailsOut buildDailyDetails(String userCardId, String date) {
+    private CardDailyDetailsOut buildDailyDetails(String userCardId, String date, Long cursor, Integer size) {
 
         long started = System.currentTimeMillis();
 
@@ -156,84 +280,39 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
             throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
         }
 
-        LocalDate targetDate;
-        try {
-            targetDate = LocalDate.parse(date);
-        } catch (Exception ex) {
-            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid date format");
-        }
+        LocalDate targetDate = parseDate(date);
 
         UserCard userCard = resolveUserCard(userCardId);
 
-        List<CardTransaction> transactions = cardTransactionRepository.findByUserIdAndTxDate(
-            userCard.getUserId(), targetDate);
+        // 해당 일자의 거래 목록 한 페이지 (raw_response 제외 projection, 정렬은 SQL 에서)
+        CursorPage<CardTransactionView> page = loadTransactionPage(
+            userCard.getUserId(), targetDate, targetDate, null, cursor, size);
+        List<CardTransactionView> transactions = page.getContent();
 
-        // 사용된 카테고리와 배출계수 미리 로드
-        Map<String, Category> categoryMap = loadCategories(transactions);
-        Map<String, BigDecimal> factorMap = loadEmissionFactors(transactions);
-        Map<Long, com.E205.cocos_forest.domain.finance.merchant.Merchant> merchantMap = loadMerchants(transactions);
+        // 사용된 카테고리, 가맹점 미리 로드
+        CarbonReferenceSnapshot snapshot = carbonReferenceSnapshotHolder.get();
+        Map<Long, String> merchantNames = loadMerchantNames(collectMerchantIds(transactions), snapshot);
 
         // 거래 내역 목록 생성
         List<CardDailyDetailsOut.TransactionItem> items = transactions.stream()
-            .map(tx -> {
-                BigDecimal factor = factorMap.getOrDefault(tx.getCategoryId(), BigDecimal.ZERO);
-                BigDecimal carbon = factor.multiply(BigDecimal.valueOf(tx.getAmountKrw()));
-
-                String categoryName = Optional.ofNullable(categoryMap.get(tx.getCategoryId()))
-                    .map(Category::getName)
-                    .orElse(tx.getCategoryId());
-
-                String approvedAt = null;
-                if (tx.getTxDate() != null) {
-                    // txDate + txTime 으로 ISO 8601 형식의 문자열 생성
-                    var ldt = tx.getTxTime() == null
-                        ? tx.getTxDate().atStartOfDay()
-                        : tx.getTxDate().atTime(tx.getTxTime());
-                    approvedAt = java.time.ZonedDateTime.of(ldt, java.time.ZoneId.of("Asia/Seoul"))
-                        .toOffsetDateTime()
-                        .toString();
-                }
-
-                // 거래내역 항목 생성
-                return CardDailyDetailsOut.TransactionItem.builder()
-                    .externalTransactionId(tx.getTransactionNo())
-                    .approvedAt(approvedAt)
-                    .txDate(tx.getTxDate() == null ? null : tx.getTxDate().toString())
-                    .txTime(tx.getTxTime() == null ? null : tx.getTxTime().toString())
-                    .amountKrw(tx.getAmountKrw())
-                    .status(tx.getStatus() == null ? null : tx.getStatus().name())
-                    .merchantName(Optional.ofNullable(tx.getMerchantId())
-                        .map(merchantMap::get)
-                        .map(Merchant::getName)
-                        .orElse(null))
-                    .categoryId(tx.getCategoryId())
-                    .categoryName(categoryName)
-                    .cardLast4(tx.getCardLast4())
-                    .issuerCode(tx.getIssueCode())
-                    .cardName(tx.getCardName())
-                    .source("SSAFY")
-                    .carbonKg(scale(carbon, 2))
-                    .carbonCoefId(null)
-                    .build();
-            })
-            .sorted(Comparator.comparing(CardDailyDetailsOut.TransactionItem::getApprovedAt,
-                Comparator.nullsLast(String::compareTo)).reversed())
-            .toList();
-
-        // 승인된 상태만 조회
-        List<CardDailyDetailsOut.TransactionItem> pendingItems = items.stream()
-            .filter(i -> "APPROVED".equals(i.getStatus()))
+            .map(tx -> toTransactionItem(tx, snapshot, merchantNames))
             .toList();
 
-        long amountTotal = pendingItems.stream().mapToLong(CardDailyDetailsOut.TransactionItem::getAmountKrw).sum();
-        BigDecimal carbonTotal = pendingItems.stream()
-            .map(CardDailyDetailsOut.TransactionItem::getCarbonKg)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // 승인된 거래 합계는 SQL 에서 집계
+        List<CardDailyAggregate> aggregates = cardTransactionRepository.aggregateByDate(
+            userCard.getUserId(), targetDate, targetDate, CardTransaction.Status.APPROVED);
+        long amountTotal = aggregates.stream().mapToLong(CardDailyAggregate::getAmountTotal).sum();
+        long transactionCount = aggregates.stream().mapToLong(CardDailyAggregate::getTxCount).sum();
+        long carbonTotal = aggregates.stream()
+            .map(CardDailyAggregate::getCarbonMg)
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .sum();
 
         CardDailyDetailsOut.Totals totals = CardDailyDetailsOut.Totals.builder()
             .amountTotal(amountTotal)
-            .carbonTotalKg(scale(carbonTotal, 2))
-            .transactionCount(pendingItems.size())
+            .carbonTotalKg(CarbonMath.toKg(carbonTotal, 2))
+            .transactionCount(transactionCount)
             .build();
 
         long durationMs = System.currentTimeMillis() - started;
@@ -252,14 +331,20 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
             .currency("KRW")
             .totals(totals)
             .transactions(items)
+            .nextCursor(page.getNextCursor())
+            .hasNext(page.getHasNext())
             .meta(meta)
             .build();
     }
 
     @Override
-    public CardDailyDetailsOut getDailyDetailsForUser(Long userId, String date) {
-        String userCardId = resolveUserCardIdForUser(userId);
-        return buildDailyDetails(userCardId, date);
+    public CardDailyDetailsOut getDailyDetailsForUser(Long userId, String date, Long cursor, Integer size) {
+        YearMonth cacheMonth = YearMonth.from(parseDate(requireText(date)));
+        String view = "daily:" + date + ":" + cursor + ":" + size;
+        return cardSummaryCache.get(userId, cacheMonth, view, CardDailyDetailsOut.class, () -> {
+            String userCardId = resolveUserCardIdForUser(userId);
+            return buildDailyDetails(userCardId, date, cursor, size);
+        });
     }
 
     // yearMont 를 yyyy-MM 형식으로 파싱
@@ -271,6 +356,22 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
         }
     }
 
+    // yyyy-MM-dd 형식 일자 파싱
+    private LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (Exception ex) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid date format");
+        }
+    }
+
+    private String requireText(String value) {
+        if (!StringUtils.hasText(value)) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE);
+        }
+        return value;
+    }
+
     // 카드 ID로 UserCard 조회
     private UserCard resolveUserCard(String userCardId) {
         return userCardRepository.findById(Long.valueOf(userCardId))
@@ -290,47 +391,38 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
             .orElseThrow(() -> new BaseException(BaseResponseStatus.USER_CARD_NOT_LINKED));
     }
 
-    // 거래에 등장한 categoryId 목록으로 카테고리 엔티티 로딩
-    private Map<String, Category> loadCategories(List<CardTransaction> transactions) {
-        Set<String> categoryIds = transactions.stream()
-            .map(CardTransaction::getCategoryId)
+    // 거래에 등장한 merchantId 목록
+    private Set<Long> collectMerchantIds(List<CardTransactionView> transactions) {
+        return transactions.stream()
+            .map(CardTransactionView::getMerchantId)
+            .filter(Objects::nonNull)
             .collect(Collectors.toSet());
-
-        if (categoryIds.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        return categoryRepository.findByCategoryIdIn(categoryIds).stream()
-            .collect(Collectors.toMap(Category::getCategoryId, category -> category));
     }
 
-    // 거래에 등장한 categoryId 목록으로 배출계수 로딩
-    private Map<String, BigDecimal> loadEmissionFactors(List<CardTransaction> transactions) {
-        Set<String> categoryIds = transactions.stream()
-            .map(CardTransaction::getCategoryId)
-            .collect(Collectors.toSet());
-
-        if (categoryIds.isEmpty()) {
-            return Collections.emptyMap();
+    // 배열 칸이 비어 있으면 누적기를 생성
+    private static SummaryAccumulator accumulatorAt(SummaryAccumulator[] accumulators, int index) {
+        SummaryAccumulator acc = accumulators[index];
+        if (acc == null) {
+            acc = new SummaryAccumulator();
+            accumulators[index] = acc;
         }
-
-        return emissionFactorRepository.findByCategoryIdIn(categoryIds).stream()
-            .collect(Collectors.toMap(EmissionFactor::getCategoryId, EmissionFactor::getFactor));
+        return acc;
     }
 
     // 월의 모든 날짜를 돌면서 일별 요약 생성 (빈 날은 0 처리)
     private List<CardMonthlySummaryOut.Daily> buildDailySummaries(LocalDate startDate,
                                                                 LocalDate endDate,
-                                                                Map<LocalDate, SummaryAccumulator> dailyAccumulators) {
+                                                                SummaryAccumulator[] dailyAccumulators) {
         List<CardMonthlySummaryOut.Daily> result = new ArrayList<>();
 
         for (LocalDate cursor = startDate; !cursor.isAfter(endDate); cursor = cursor.plusDays(1)) {
-            SummaryAccumulator acc = dailyAccumulators.getOrDefault(cursor, SummaryAccumulator.empty());
+            SummaryAccumulator acc = Optional.ofNullable(dailyAccumulators[cursor.getDayOfMonth() - 1])
+                .orElseGet(SummaryAccumulator::empty);
 
             result.add(CardMonthlySummaryOut.Daily.builder()
                 .date(cursor.toString())
                 .amountTotal(acc.getAmountTotal())
-                .carbonTotalKg(scale(acc.getCarbonTotal(), 2))
+                .carbonTotalKg(CarbonMath.toKg(acc.getCarbonTotal(), 2))
                 .transactionCount(acc.getTransactionCount())
                 .build());
         }
@@ -340,45 +432,75 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
 
     // 카테고리별 요약 생성
     private List<CardMonthlySummaryOut.CategoryBreakdown> buildCategorySummaries(
-        Map<String, SummaryAccumulator> categoryAccumulators,
+        SummaryAccumulator[] categoryAccumulators,
+        Map<String, SummaryAccumulator> unindexedCategories,
         SummaryAccumulator totals,
-        Map<String, Category> categoryMap) {
-
-        BigDecimal amountTotal = BigDecimal.valueOf(Math.max(totals.getAmountTotal(), 0));
-        BigDecimal carbonTotal = totals.getCarbonTotal();
-
-        return categoryAccumulators.entrySet().stream()
-            .map(entry -> {
-                String categoryId = entry.getKey();
-                SummaryAccumulator acc = entry.getValue();
-                String categoryName = Optional.ofNullable(categoryMap.get(categoryId))
-                    .map(Category::getName)
-                    .orElse(categoryId);
-
-                BigDecimal ratioAmount = amountTotal.signum() == 0
-                    ? BigDecimal.ZERO
-                    : scale(BigDecimal.valueOf(acc.getAmountTotal())
-                        .divide(amountTotal, 3, RoundingMode.HALF_UP), 3);
-
-                BigDecimal ratioCarbon = carbonTotal.signum() == 0
-                    ? BigDecimal.ZERO
-                    : scale(acc.getCarbonTotal().divide(carbonTotal, 3, RoundingMode.HALF_UP), 3);
-
-                return CardMonthlySummaryOut.CategoryBreakdown.builder()
-                    .categoryId(categoryId)
-                    .categoryName(categoryName)
-                    .amountTotal(acc.getAmountTotal())
-                    .carbonTotalKg(scale(acc.getCarbonTotal(), 2))
-                    .ratioAmount(ratioAmount)
-                    .ratioCarbon(ratioCarbon)
-                    .build();
-            })
-            .sorted(Comparator.comparing(CardMonthlySummaryOut.CategoryBreakdown::getAmountTotal).reversed())
+        CarbonReferenceSnapshot snapshot) {
+
+        long amountTotal = Math.max(totals.getAmountTotal(), 0);
+        long carbonTotal = totals.getCarbonTotal();
+
+        List<CardMonthlySummaryOut.CategoryBreakdown> result = new ArrayList<>();
+        for (int i = 0; i < categoryAccumulators.length; i++) {
+            if (categoryAccumulators[i] != null) {
+                result.add(toCategoryBreakdown(snapshot.categoryIdAt(i), snapshot.categoryNameAt(i),
+                    categoryAccumulators[i], amountTotal, carbonTotal));
+            }
+        }
+        unindexedCategories.forEach((categoryId, acc) ->
+            result.add(toCategoryBreakdown(categoryId, categoryId, acc, amountTotal, carbonTotal)));
+
+        result.sort(Comparator.comparing(CardMonthlySummaryOut.CategoryBreakdown::getAmountTotal).reversed());
+        return result;
+    }
+
+    private CardMonthlySummaryOut.CategoryBreakdown toCategoryBreakdown(String categoryId,
+                                                                        String categoryName,
+                                                                        SummaryAccumulator acc,
+                                                                        long amountTotal,
+                                                                        long carbonTotal) {
+        return CardMonthlySummaryOut.CategoryBreakdown.builder()
+            .categoryId(categoryId)
+            .categoryName(categoryName)
+            .amountTotal(acc.getAmountTotal())
+            .carbonTotalKg(CarbonMath.toKg(acc.getCarbonTotal(), 2))
+            .ratioAmount(CarbonMath.ratio(acc.getAmountTotal(), amountTotal, 3))
+            .ratioCarbon(CarbonMath.ratio(acc.getCarbonTotal(), carbonTotal, 3))
+            .build();
+    }
+
+    // 크기 k 의 최소 힙으로 상위 k 개 선택 후 내림차순 정렬 (O(n log k))
+    private static <T> List<T> topK(List<T> rows, Comparator<T> order, int k) {
+        PriorityQueue<T> heap = new PriorityQueue<>(k + 1, order);
+        for (T row : rows) {
+            if (heap.size() < k) {
+                heap.offer(row);
+            } else if (order.compare(row, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(row);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    private List<CardMonthlySummaryOut.MerchantRank> toMerchantRanks(List<CardMerchantAggregate> rows,
+                                                                     Map<Long, String> merchantNames) {
+        return rows.stream()
+            .map(row -> CardMonthlySummaryOut.MerchantRank.builder()
+                .merchantId(row.getMerchantId())
+                .merchantName(merchantNames.get(row.getMerchantId()))
+                .amountTotal(row.getAmountTotal())
+                .carbonTotalKg(CarbonMath.toKg(row.getCarbonMg(), 2))
+                .transactionCount(row.getTxCount())
+                .build())
             .toList();
     }
 
     // 카테고리별 조회
-    private CardCategoryMonthlyDetailsOut buildMonthlyTransactionsByCategory(String userCardId, String yearMonth, String categoryId) {
+    private CardCategoryMonthlyDetailsOut buildMonthlyTransactionsByCategory(String userCardId, String yearMonth, String categoryId,
+                                                                             Long cursor, Integer size) {
 
         // 입력값 검증
         if (!StringUtils.hasText(userCardId) || !StringUtils.hasText(yearMonth) || !StringUtils.hasText(categoryId)) {
@@ -392,40 +514,36 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
         LocalDate startDate = targetMonth.atDay(1);
         LocalDate endDate = targetMonth.atEndOfMonth();
 
-        // 해당 카드 소유자의 월 거래내역 조회
-        List<CardTransaction> transactions = cardTransactionRepository.findByUserIdAndTxDateBetween(
-            userCard.getUserId(), startDate, endDate);
-
-        List<CardTransaction> approvedTransactions = transactions.stream()
-            .filter(tx -> tx.getStatus() == CardTransaction.Status.APPROVED)
-            .filter(tx -> categoryId.equals(tx.getCategoryId())) // categoryId 로 필터링
-            .toList();
-
-        Map<String, Category> categoryMap = loadCategories(approvedTransactions);
-        Map<String, BigDecimal> factorMap = loadEmissionFactors(approvedTransactions);
+        // 승인 상태 + 카테고리 조건을 SQL 에서 적용한 월 거래 목록 한 페이지
+        CursorPage<CardTransactionView> page = loadTransactionPage(
+            userCard.getUserId(), startDate, endDate, categoryId, cursor, size);
+        List<CardTransactionView> transactions = page.getContent();
 
-        Map<Long, Merchant> merchantMap = loadMerchants(approvedTransactions);
+        CarbonReferenceSnapshot snapshot = carbonReferenceSnapshotHolder.get();
+        Map<Long, String> merchantNames = loadMerchantNames(collectMerchantIds(transactions), snapshot);
 
         // Build transaction items for the month filtered by category
-        List<CardDailyDetailsOut.TransactionItem> items = approvedTransactions.stream()
-            .map(tx -> toTransactionItem(tx, categoryMap, factorMap, merchantMap))
-            .sorted(Comparator.comparing(CardDailyDetailsOut.TransactionItem::getApprovedAt,
-                Comparator.nullsLast(String::compareTo)).reversed())
+        List<CardDailyDetailsOut.TransactionItem> items = transactions.stream()
+            .map(tx -> toTransactionItem(tx, snapshot, merchantNames))
             .toList();
 
-        long amountTotal = items.stream().mapToLong(CardDailyDetailsOut.TransactionItem::getAmountKrw).sum();
-        BigDecimal carbonTotal = items.stream()
-            .map(CardDailyDetailsOut.TransactionItem::getCarbonKg)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // 카테고리 합계는 SQL 에서 집계
+        List<CardCategoryAggregate> aggregates = cardTransactionRepository.aggregateByCategory(
+            userCard.getUserId(), startDate, endDate, CardTransaction.Status.APPROVED, categoryId);
+        long amountTotal = aggregates.stream().mapToLong(CardCategoryAggregate::getAmountTotal).sum();
+        long transactionCount = aggregates.stream().mapToLong(CardCategoryAggregate::getTxCount).sum();
+        long carbonTotal = aggregates.stream()
+            .map(CardCategoryAggregate::getCarbonMg)
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .sum();
 
-        String categoryName = Optional.ofNullable(categoryMap.get(categoryId))
-            .map(Category::getName)
-            .orElse(categoryId);
+        String categoryName = snapshot.categoryName(categoryId);
 
         CardCategoryMonthlyDetailsOut.Totals totals = CardCategoryMonthlyDetailsOut.Totals.builder()
             .amountTotal(amountTotal)
-            .carbonTotalKg(scale(carbonTotal, 2))
-            .transactionCount(items.size())
+            .carbonTotalKg(CarbonMath.toKg(carbonTotal, 2))
+            .transactionCount(transactionCount)
             .build();
 
         return CardCategoryMonthlyDetailsOut.builder()
@@ -435,33 +553,126 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
             .categoryName(categoryName)
             .totals(totals)
             .transactions(items)
+            .nextCursor(page.getNextCursor())
+            .hasNext(page.getHasNext())
             .build();
     }
 
     @Override
-    public CardCategoryMonthlyDetailsOut getMonthlyTransactionsByCategoryForUser(Long userId, String yearMonth, String categoryId) {
-        String resolvedUserCardId = resolveUserCardIdForUser(userId);
-        return buildMonthlyTransactionsByCategory(resolvedUserCardId, yearMonth, categoryId);
+    public CardCategoryMonthlyDetailsOut getMonthlyTransactionsByCategoryForUser(Long userId, String yearMonth, String categoryId,
+                                                                         Long cursor, Integer size) {
+        YearMonth cacheMonth = parseYearMonth(requireText(yearMonth));
+        String view = "category:" + categoryId + ":" + cursor + ":" + size;
+        return cardSummaryCache.get(userId, cacheMonth, view, CardCategoryMonthlyDetailsOut.class, () -> {
+            String resolvedUserCardId = resolveUserCardIdForUser(userId);
+            return buildMonthlyTransactionsByCategory(resolvedUserCardId, yearMonth, categoryId, cursor, size);
+        });
+    }
+
+    @Override
+    public CardTransactionSearchOut searchTransactionsForUser(Long userId, String query, Integer size) {
+        if (userId == null || query == null || query.strip().length() < MerchantNgramIndex.MIN_QUERY_LENGTH) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Query too short");
+        }
+        int pageSize = resolvePageSize(size);
+
+        // 색인에서 사용자 가맹점 중 이름이 일치하는 id 를 구한 뒤 (user_id, merchant_id) 인덱스로 거래 조회
+        List<Long> merchantIds = merchantNgramIndex.search(userId, query);
+        List<CardTransactionView> transactions = merchantIds.isEmpty()
+            ? List.of()
+            : cardTransactionRepository.findViewsByMerchantIds(userId, merchantIds, PageRequest.of(0, pageSize));
+
+        CarbonReferenceSnapshot snapshot = carbonReferenceSnapshotHolder.get();
+        Map<Long, String> merchantNames = loadMerchantNames(collectMerchantIds(transactions), snapshot);
+        List<CardDailyDetailsOut.TransactionItem> items = transactions.stream()
+            .map(tx -> toTransactionItem(tx, snapshot, merchantNames))
+            .toList();
+
+        return CardTransactionSearchOut.builder()
+            .query(query.strip())
+            .matchedMerchantCount(merchantIds.size())
+            .transactions(items)
+            .build();
     }
 
-    private static BigDecimal scale(BigDecimal value, int scale) {
-        return value.setScale(scale, RoundingMode.HALF_UP);
+    // (tx_date, tx_time, id) 내림차순 커서 페이지 조회 - size + 1 건을 읽어 다음 페이지 여부 판단
+    // categoryId 가 있으면 해당 카테고리의 승인 거래만, 없으면 전체 상태/카테고리
+    private CursorPage<CardTransactionView> loadTransactionPage(Long userId,
+                                                               LocalDate startDate,
+                                                               LocalDate endDate,
+                                                               String categoryId,
+                                                               Long cursor,
+                                                               Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        // 커서는 이전 페이지 마지막 거래 id - 본인 거래인지 확인 후 정렬 키를 가져옴
+        CardTransactionView last = cursor == null
+            ? null
+            : cardTransactionRepository.findViewByIdAndUserId(cursor, userId)
+                .orElseThrow(() -> new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid cursor"));
+
+        List<CardTransactionView> rows;
+        if (categoryId == null) {
+            if (last == null) {
+                rows = cardTransactionRepository.findPageFirst(userId, startDate, endDate, limit);
+            } else if (last.getTxTime() == null) {
+                rows = cardTransactionRepository.findPageAfterUntimed(
+                    userId, startDate, endDate, last.getTxDate(), last.getId(), limit);
+            } else {
+                rows = cardTransactionRepository.findPageAfter(
+                    userId, startDate, endDate, last.getTxDate(), last.getTxTime(), last.getId(), limit);
+            }
+        } else {
+            CardTransaction.Status approved = CardTransaction.Status.APPROVED;
+            if (last == null) {
+                rows = cardTransactionRepository.findCategoryPageFirst(
+                    userId, categoryId, startDate, endDate, approved, limit);
+            } else if (last.getTxTime() == null) {
+                rows = cardTransactionRepository.findCategoryPageAfterUntimed(
+                    userId, categoryId, startDate, endDate, approved, last.getTxDate(), last.getId(), limit);
+            } else {
+                rows = cardTransactionRepository.findCategoryPageAfter(
+                    userId, categoryId, startDate, endDate, approved,
+                    last.getTxDate(), last.getTxTime(), last.getId(), limit);
+            }
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<CardTransactionView> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorPage.<CardTransactionView>builder()
+            .content(content)
+            .nextCursor(hasNext ? content.get(content.size() - 1).getId() : null)
+            .hasNext(hasNext)
+            .pageSize(pageSize)
+            .build();
     }
 
-    // 소비내역 and 탄소배출량 월별 집계용 클래스
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new BaseException(BaseResponseStatus.INVALID_INPUT_VALUE, "Invalid page size");
+        }
+        return size;
+    }
+
+    // 소비내역 and 탄소배출량 월별 집계용 클래스 (배출량은 mg 단위 long)
     private static class SummaryAccumulator {
         private long amountTotal;
         private long transactionCount;
-        private BigDecimal carbonTotal = BigDecimal.ZERO;
+        private long carbonTotal;
 
         static SummaryAccumulator empty() {
             return new SummaryAccumulator();
         }
 
-        void add(long amount, BigDecimal carbon) {
+        void add(long amount, long count, long carbonMg) {
             this.amountTotal += amount;
-            this.transactionCount += 1;
-            this.carbonTotal = this.carbonTotal.add(carbon);
+            this.transactionCount += count;
+            this.carbonTotal += carbonMg;
         }
 
         long getAmountTotal() {
@@ -472,24 +683,21 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
             return transactionCount;
         }
 
-        BigDecimal getCarbonTotal() {
+        long getCarbonTotal() {
             return carbonTotal;
         }
     }
 
     // 거래 내역 정보를 TransacitonItem 으로 매핑
     private CardDailyDetailsOut.TransactionItem toTransactionItem(
-        CardTransaction tx,
-        Map<String, Category> categoryMap,
-        Map<String, BigDecimal> factorMap,
-        Map<Long, Merchant> merchantMap
+        CardTransactionView tx,
+        CarbonReferenceSnapshot snapshot,
+        Map<Long, String> merchantNames
     ) {
-        BigDecimal factor = factorMap.getOrDefault(tx.getCategoryId(), BigDecimal.ZERO);
-        BigDecimal carbon = factor.multiply(BigDecimal.valueOf(tx.getAmountKrw()));
+        // 적재 시 저장된 배출량 사용 (배출계수 조회 없음)
+        long carbonMg = tx.getCarbonMg() == null ? 0L : tx.getCarbonMg();
 
-        String categoryName = Optional.ofNullable(categoryMap.get(tx.getCategoryId()))
-            .map(Category::getName)
-            .orElse(tx.getCategoryId());
+        String categoryName = snapshot.categoryName(tx.getCategoryId());
 
         String approvedAt = null;
         if (tx.getTxDate() != null) {
@@ -503,8 +711,7 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
 
         // 가맹점 Id로 이름을 가져오기
         String merchantName = Optional.ofNullable(tx.getMerchantId()) //nullable 하기 때문에 Optional 형식으로 받음
-            .map(merchantMap::get) //객체의 메서드 참조
-            .map(Merchant::getName) // 클래스의 메서드 참조
+            .map(merchantNames::get) //객체의 메서드 참조
             .orElse(null);
 
         return CardDailyDetailsOut.TransactionItem.builder()
@@ -521,19 +728,26 @@ public class CardTransactionQueryServiceImpl implements CardTransactionQueryServ
             .issuerCode(tx.getIssueCode())
             .cardName(tx.getCardName())
             .source("SSAFY")
-            .carbonKg(scale(carbon, 2))
+            .carbonKg(CarbonMath.toKg(carbonMg, 2))
             .carbonCoefId(null)
             .build();
     }
 
-    // 거래에서 등장한 merchantId로 가맹점 정보를 미리 로딩합니다.
-    private Map<Long, Merchant> loadMerchants(List<CardTransaction> transactions) {
-        Set<Long> ids = transactions.stream()
-            .map(CardTransaction::getMerchantId)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
-        if (ids.isEmpty()) return Collections.emptyMap();
-        return merchantRepository.findByIdIn(ids).stream()
-            .collect(Collectors.toMap(Merchant::getId, m -> m));
+    // 가맹점 이름은 스냅샷에서 가져오고, 스냅샷 이후 추가된 가맹점만 캐시(DB)에서 보완합니다.
+    private Map<Long, String> loadMerchantNames(Set<Long> merchantIds, CarbonReferenceSnapshot snapshot) {
+        Map<Long, String> names = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long merchantId : merchantIds) {
+            String name = snapshot.merchantName(merchantId);
+            if (name == null) {
+                missing.add(merchantId);
+            } else {
+                names.put(merchantId, name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            names.putAll(merchantNameCache.getNames(missing));
+        }
+        return names;
     }
 }
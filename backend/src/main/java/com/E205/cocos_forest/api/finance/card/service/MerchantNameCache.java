@@ -0,0 +1,47 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.domain.finance.merchant.Merchant;
+import com.E205.cocos_forest.domain.finance.merchant.MerchantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 가맹점 id -> 이름 캐시
+ * - 가맹점 이름은 거의 바뀌지 않으므로 요청마다 findByIdIn 을 하지 않고 없는 id 만 한 번에 로딩
+ */
+@Component
+public class MerchantNameCache {
+
+    private static final long MAX_MERCHANTS = 50_000;
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final MerchantRepository merchantRepository;
+    private final Cache<Long, String> names = Caffeine.newBuilder()
+        .maximumSize(MAX_MERCHANTS)
+        .expireAfterWrite(TTL)
+        .build();
+
+    public MerchantNameCache(MerchantRepository merchantRepository) {
+        this.merchantRepository = merchantRepository;
+    }
+
+    /**
+     * id 목록의 가맹점 이름 조회 (존재하지 않거나 이름이 비어 있는 가맹점은 결과에서 제외)
+     */
+    public Map<Long, String> getNames(Collection<Long> merchantIds) {
+        if (merchantIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return names.getAll(merchantIds, missing -> merchantRepository.findByIdIn(new HashSet<>(missing)).stream()
+            .filter(merchant -> merchant.getName() != null)
+            .collect(Collectors.toMap(Merchant::getId, Merchant::getName)));
+    }
+}
@@ -0,0 +1,237 @@
+package com.E205.cocos_forest.api.finance.card.service;
+
+import com.E205.cocos_forest.api.finance.card.event.CardTransactionChangedEvent;
+import com.E205.cocos_forest.domain.finance.carbon.CarbonReferenceSnapshot;
+import com.E205.cocos_forest.domain.finance.card.transaction.CardTransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 가맹점 이름 n-gram 역색인 (메모리)
+ *
+ * - 탄소 기준 정보 스냅샷의 가맹점 배열로 만들며, 스냅샷 버전이 바뀌면 새 스냅샷에 맞춰 갱신
+ *   (가맹점 추가/이름 변경/삭제가 스냅샷과 같은 시점에 반영되고 별도 가맹점 조회를 하지 않음)
+ *   - 기존 가맹점이 그대로이고 뒤에 새 가맹점만 붙은 경우 새 가맹점의 gram 만 posting 끝에 추가
+ *   - 이름 변경/삭제 또는 중간 위치 삽입이 있으면 통째로 다시 만듦
+ * - 사용자 가맹점이 스냅샷에 없으면 refreshOnMiss 로 스냅샷 갱신을 먼저 확인
+ * - 정규화한 이름(소문자, 공백 제거)의 2-gram / 3-gram -> 스냅샷 가맹점 위치(int[], 오름차순)
+ * - 사용자별 거래 가맹점 id 목록은 캐시, 결제 커밋 시 해당 사용자만 무효화
+ * - 검색: 질의 gram 들의 posting 교집합 -> 이름 포함 여부 확인 -> 사용자 가맹점과 교집합
+ */
+@Component
+@Slf4j
+public class MerchantNgramIndex {
+
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    private final CarbonReferenceSnapshotHolder carbonReferenceSnapshotHolder;
+    private final CardTransactionRepository cardTransactionRepository;
+
+    private final Cache<Long, long[]> userMerchants = Caffeine.newBuilder()
+        .maximumSize(50_000)
+        .expireAfterWrite(Duration.ofMinutes(30))
+        .build();
+
+    private volatile Index index = Index.EMPTY;
+
+    public MerchantNgramIndex(CarbonReferenceSnapshotHolder carbonReferenceSnapshotHolder,
+                              CardTransactionRepository cardTransactionRepository) {
+        this.carbonReferenceSnapshotHolder = carbonReferenceSnapshotHolder;
+        this.cardTransactionRepository = cardTransactionRepository;
+    }
+
+    /**
+     * 사용자가 거래한 가맹점 중 이름에 query 가 포함된 가맹점 id 목록
+     */
+    public List<Long> search(Long userId, String query) {
+        String normalized = normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            return Collections.emptyList();
+        }
+
+        long[] mine = userMerchants.get(userId, this::loadUserMerchants);
+        Index current = currentIndex(mine.length == 0
+            ? carbonReferenceSnapshotHolder.get()
+            : carbonReferenceSnapshotHolder.refreshOnMiss(Arrays.stream(mine).boxed().toList()));
+
+        // 질의 gram 들의 posting 교집합 (가장 작은 posting 부터 확인)
+        List<int[]> lists = new ArrayList<>();
+        for (String gram : grams(normalized)) {
+            int[] positions = current.postings().get(gram);
+            if (positions == null) {
+                return Collections.emptyList();
+            }
+            lists.add(positions);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        CarbonReferenceSnapshot snapshot = current.snapshot();
+        List<Long> result = new ArrayList<>();
+        int[] smallest = lists.get(0);
+
+        // 사용자 가맹점 수가 더 적으면 사용자 쪽을 기준으로 순회
+        if (mine.length < smallest.length) {
+            for (long merchantId : mine) {
+                int pos = snapshot.merchantPosition(merchantId);
+                if (pos != CarbonReferenceSnapshot.UNKNOWN && matches(current, pos, normalized, lists)) {
+                    result.add(merchantId);
+                }
+            }
+        } else {
+            for (int pos : smallest) {
+                long merchantId = snapshot.merchantIdAt(pos);
+                if (Arrays.binarySearch(mine, merchantId) >= 0 && matches(current, pos, normalized, lists)) {
+                    result.add(merchantId);
+                }
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionChanged(CardTransactionChangedEvent event) {
+        if (event.userId() != null) {
+            userMerchants.invalidate(event.userId());
+        }
+    }
+
+    // 스냅샷이 바뀌었으면 색인 갱신 (새 가맹점만 추가된 경우 증분, 아니면 전체 재생성)
+    private Index currentIndex(CarbonReferenceSnapshot snapshot) {
+        Index current = index;
+        if (current.snapshot() == snapshot) {
+            return current;
+        }
+        synchronized (this) {
+            if (index.snapshot() != snapshot) {
+                index = isAppendOnly(index.snapshot(), snapshot) ? append(index, snapshot) : build(snapshot);
+            }
+            return index;
+        }
+    }
+
+    // 이전 스냅샷의 가맹점(id, 이름)이 새 스냅샷 앞부분과 위치까지 같으면 true
+    private static boolean isAppendOnly(CarbonReferenceSnapshot previous, CarbonReferenceSnapshot snapshot) {
+        if (previous == null || previous.merchantCount() > snapshot.merchantCount()) {
+            return false;
+        }
+        for (int pos = 0; pos < previous.merchantCount(); pos++) {
+            if (previous.merchantIdAt(pos) != snapshot.merchantIdAt(pos)
+                || !Objects.equals(previous.merchantNameAt(pos), snapshot.merchantNameAt(pos))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Index index, int pos, String normalized, List<int[]> lists) {
+        for (int[] positions : lists) {
+            if (Arrays.binarySearch(positions, pos) < 0) {
+                return false;
+            }
+        }
+        // gram 이 모두 있어도 순서가 다를 수 있으므로 원문 포함 여부로 확인
+        return index.normalizedNames()[pos].contains(normalized);
+    }
+
+    private long[] loadUserMerchants(Long userId) {
+        return cardTransactionRepository.findDistinctMerchantIdsByUserId(userId).stream()
+            .mapToLong(Long::longValue)
+            .sorted()
+            .toArray();
+    }
+
+    // 스냅샷 가맹점 위치 순서로 색인하므로 posting 은 만들어지는 순서대로 오름차순
+    private static Index build(CarbonReferenceSnapshot snapshot) {
+        long started = System.currentTimeMillis();
+        int merchantCount = snapshot.merchantCount();
+        String[] normalizedNames = new String[merchantCount];
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int pos = 0; pos < merchantCount; pos++) {
+            normalizedNames[pos] = normalize(snapshot.merchantNameAt(pos));
+            for (String gram : grams(normalizedNames[pos])) {
+                lists.computeIfAbsent(gram, ignored -> new ArrayList<>()).add(pos);
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((gram, positions) ->
+            postings.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+
+        log.info("[MerchantIndex] Indexed: snapshotVersion={}, merchants={}, grams={}, durationMs={}",
+            snapshot.getVersion(), merchantCount, postings.size(), System.currentTimeMillis() - started);
+        return new Index(snapshot, postings, normalizedNames);
+    }
+
+    // 새 가맹점 위치는 기존 위치보다 크므로 posting 끝에 붙여도 오름차순 유지
+    private static Index append(Index previous, CarbonReferenceSnapshot snapshot) {
+        long started = System.currentTimeMillis();
+        int from = previous.normalizedNames().length;
+        int merchantCount = snapshot.merchantCount();
+        String[] normalizedNames = Arrays.copyOf(previous.normalizedNames(), merchantCount);
+        Map<String, List<Integer>> added = new HashMap<>();
+        for (int pos = from; pos < merchantCount; pos++) {
+            normalizedNames[pos] = normalize(snapshot.merchantNameAt(pos));
+            for (String gram : grams(normalizedNames[pos])) {
+                added.computeIfAbsent(gram, ignored -> new ArrayList<>()).add(pos);
+            }
+        }
+
+        // 이전 색인은 검색 중인 스레드가 읽고 있을 수 있으므로 바뀌는 posting 만 새 배열로 교체
+        Map<String, int[]> postings = new HashMap<>(previous.postings());
+        added.forEach((gram, positions) -> {
+            int[] existing = postings.getOrDefault(gram, new int[0]);
+            int[] merged = Arrays.copyOf(existing, existing.length + positions.size());
+            for (int i = 0; i < positions.size(); i++) {
+                merged[existing.length + i] = positions.get(i);
+            }
+            postings.put(gram, merged);
+        });
+
+        log.info("[MerchantIndex] Appended: snapshotVersion={}, added={}, merchants={}, grams={}, durationMs={}",
+            snapshot.getVersion(), merchantCount - from, merchantCount, postings.size(),
+            System.currentTimeMillis() - started);
+        return new Index(snapshot, postings, normalizedNames);
+    }
+
+    // 2-gram 과 3-gram (길이 2 인 문자열은 자기 자신)
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int n = 2; n <= 3; n++) {
+            for (int i = 0; i + n <= text.length(); i++) {
+                grams.add(text.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        text.toLowerCase(Locale.ROOT).codePoints()
+            .filter(cp -> !Character.isWhitespace(cp))
+            .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    private record Index(CarbonReferenceSnapshot snapshot, Map<String, int[]> postings, String[] normalizedNames) {
+        static final Index EMPTY = new Index(null, Map.of(), new String[0]);
+    }
+}
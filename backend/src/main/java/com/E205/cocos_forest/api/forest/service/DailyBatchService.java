@@ -1,5 +1,6 @@
 package com.E205.cocos_forest.api.forest.service;
 
+import com.E205.cocos_forest.domain.batch.lock.JobLeaseLock;
 import com.E205.cocos_forest.domain.forest.entity.GrowthStage;
 import com.E205.cocos_forest.domain.forest.entity.Plants;
 import com.E205.cocos_forest.domain.forest.repository.TreeRepository;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,7 @@ public class DailyBatchService {
     private final TreeRepository treeRepository;
     private final UserRepository userRepository;
     private final PointService pointService;
+    private final JobLeaseLock jobLeaseLock;
 
     /**
      * 매일 오전 6시 배치 작업 실행
@@ -35,9 +38,14 @@ public class DailyBatchService {
      * - 포인트 획득
      * - 물주기 3회 제한 리셋
      */
-    @Scheduled(cron = "0 0 6 * * *") // 매일 오전 6시
+    @Scheduled(cron = "${cocos.scheduling.forest-daily-batch.cron:-}") // 기본 꺼짐, 설정 시 실행 (예: 매일 오전 6시 "0 0 6 * * *")
     @Transactional
     public void runDailyBatch() {
+        // 여러 인스턴스 중 한 곳에서만 실행
+        jobLeaseLock.runExclusive("FOREST_DAILY_BATCH", Duration.ofHours(1), Duration.ofMinutes(5), this::processDailyBatch);
+    }
+
+    private void processDailyBatch() {
         log.info("=== 일일 배치 작업 시작 ===");
         
         try {
@@ -11,7 +11,14 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -127,6 +134,77 @@ public class PointService {
         }
     }
 
+    /**
+     * 포인트 일괄 지급 (배치 작업용)
+     * - 사용자별 합계로 잔액을 한 번씩 가산하고 내역은 batch insert
+     * - 호출한 쪽 트랜잭션에 참여, 멱등성 키는 (사용자, 사유, 참조 id) 로 고정
+     */
+    @Transactional
+    public void earnPointsInBatch(List<EarnEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> totals = new LinkedHashMap<>();
+        for (EarnEntry entry : entries) {
+            if (entry.points() == null || entry.points() <= 0) {
+                throw new BaseException(BaseResponseStatus.INVALID_POINTS_AMOUNT, "포인트는 양수여야 합니다.");
+            }
+            totals.merge(entry.userId(), entry.points().longValue(), Long::sum);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        try {
+            // 1. users 테이블의 current_balance 가산 (사용자당 1회)
+            List<Object[]> balanceArgs = new ArrayList<>(totals.size());
+            totals.forEach((userId, total) -> balanceArgs.add(new Object[]{total, nowTs, userId}));
+            jdbcTemplate.batchUpdate(
+                "UPDATE users SET current_balance = current_balance + ?, updated_at = ? WHERE id = ?",
+                balanceArgs);
+
+            // 2. 갱신된 잔액으로 항목별 balance_after 역산 (같은 트랜잭션에서 행 잠금 유지)
+            Map<Long, Long> balances = new HashMap<>();
+            String placeholders = String.join(",", Collections.nCopies(totals.size(), "?"));
+            jdbcTemplate.query(
+                "SELECT id, current_balance FROM users WHERE id IN (" + placeholders + ")",
+                rs -> { balances.put(rs.getLong("id"), rs.getLong("current_balance")); },
+                totals.keySet().toArray());
+
+            Map<Long, Long> running = new HashMap<>();
+            totals.forEach((userId, total) -> running.put(userId, balances.getOrDefault(userId, total) - total));
+
+            // 3. points_ledger 에 획득 내역 일괄 기록
+            List<Object[]> ledgerArgs = new ArrayList<>(entries.size());
+            for (EarnEntry entry : entries) {
+                long balanceAfter = running.merge(entry.userId(), entry.points().longValue(), Long::sum);
+                ledgerArgs.add(new Object[]{
+                    UUID.randomUUID().toString(), entry.userId(), "EARN", entry.points(), balanceAfter, "FOREST_GAME",
+                    getTransactionTitle("EARN", entry.reason()), entry.description(), entry.reason(),
+                    entry.refId().toString(), nowTs, nowTs,
+                    referenceIdempotencyKey(entry.userId(), entry.reason(), entry.refId())});
+            }
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO points_ledger " +
+                    "(entry_id, user_id, entry_type, points, balance_after, source, title, description, " +
+                    "reference_type, reference_id, occurred_at, created_at, idempotency_key) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                ledgerArgs);
+
+            log.info("포인트 일괄 지급: 사용자 {}명, {}건", totals.size(), entries.size());
+
+        } catch (DataIntegrityViolationException e) {
+            log.error("포인트 일괄 지급 중 데이터 무결성 오류 발생: {}", e.getMessage());
+            throw new BaseException(BaseResponseStatus.POINTS_LEDGER_ERROR,
+                "포인트 지급 내역 기록 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 일괄 지급 항목
+     */
+    public record EarnEntry(Long userId, Integer points, String reason, Long refId, String description) {}
+
     /**
      * 완전 성장 나무 일일 보상 지급 (배치 작업용)
      */
@@ -175,6 +253,13 @@ public class PointService {
         return String.format("%d_%s_%d_%d", userId, reason, refId, System.currentTimeMillis());
     }
 
+    /**
+     * 참조 대상 단위 멱등성 키 (같은 보상은 같은 키 - 일괄 지급/수동 수령 공통)
+     */
+    private String referenceIdempotencyKey(Long userId, String reason, Long refId) {
+        return String.format("%d_%s_%d", userId, reason, refId);
+    }
+
     /**
      * 거래 제목 생성
      */
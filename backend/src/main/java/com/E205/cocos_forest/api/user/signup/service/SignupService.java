@@ -1,5 +1,6 @@
 package com.E205.cocos_forest.api.user.signup.service;
 
+import com.E205.cocos_forest.api.challenge.service.challenge.ChallengeDailyMaterializer;
 import com.E205.cocos_forest.api.user.signup.dto.in.SignupRequestDto;
 import com.E205.cocos_forest.api.user.signup.dto.out.SignupResponseDto;
 import com.E205.cocos_forest.domain.email.repository.EmailVerificationRepository;
@@ -37,6 +38,7 @@ public class SignupService {
     private final UserRepository userRepository;
     private final EmailVerificationRepository emailVerificationRepository; // 이메일 인증 확인용
     private final PasswordEncoder passwordEncoder;
+    private final ChallengeDailyMaterializer challengeDailyMaterializer; // 금일 챌린지 레코드 생성용
 
     @Transactional
     public SignupResponseDto signup(SignupRequestDto requestDto) {
@@ -66,7 +68,10 @@ public class SignupService {
         // 5. 인증 완료된 이메일 정보 삭제
         emailVerificationRepository.delete(emailVerification);
 
-        // 6. 응답 DTO로 변환하여 반환
+        // 6. 금일 챌린지 레코드 생성 (자정 일괄 생성 이후 가입한 사용자)
+        challengeDailyMaterializer.materializeForUser(savedUser.getId());
+
+        // 7. 응답 DTO로 변환하여 반환
         return SignupResponseDto.from(savedUser);
     }
 }
\ No newline at end of file
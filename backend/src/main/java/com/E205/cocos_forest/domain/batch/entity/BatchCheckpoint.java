@@ -0,0 +1,65 @@
+package com.E205.cocos_forest.domain.batch.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배치 작업 진행 지점 (재시작 시 이어서 처리하기 위한 체크포인트)
+ * - jobName + partitionKey 단위로 마지막 처리 id 와 완료 여부를 기록
+ */
+@Entity
+@Table(name = "batch_checkpoints",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_batch_checkpoints_job_partition", columnNames = {"job_name", "partition_key"})
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 64)
+    private String jobName;
+
+    @Column(name = "partition_key", nullable = false, length = 128)
+    private String partitionKey;
+
+    @Column(name = "last_processed_id", nullable = false)
+    private Long lastProcessedId = 0L;
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount = 0L;
+
+    @Column(name = "completed", nullable = false)
+    private Boolean completed = false;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BatchCheckpoint(String jobName, String partitionKey) {
+        this.jobName = jobName;
+        this.partitionKey = partitionKey;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
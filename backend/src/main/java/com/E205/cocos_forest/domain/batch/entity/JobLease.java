@@ -0,0 +1,28 @@
+package com.E205.cocos_forest.domain.batch.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 작업 실행 임대 (여러 인스턴스 중 한 곳에서만 실행하기 위한 잠금)
+ * - lease_until 이 지나기 전까지는 owner 인스턴스만 같은 작업을 실행
+ */
+@Entity
+@Table(name = "job_leases")
+@Getter
+@NoArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "owner", nullable = false, length = 128)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+}
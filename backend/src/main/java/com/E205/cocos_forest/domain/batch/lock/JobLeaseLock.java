@@ -0,0 +1,104 @@
+package com.E205.cocos_forest.domain.batch.lock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 예약 작업 단일 실행 잠금 (job_leases 행 임대)
+ *
+ * - 임대가 만료됐거나 자신이 가진 작업만 획득, 다른 인스턴스가 가진 동안에는 실행하지 않고 건너뜀
+ * - lockAtMostFor: 인스턴스가 작업 도중 죽어도 이 시간이 지나면 다른 인스턴스가 획득 가능
+ * - lockAtLeastFor: 작업이 빨리 끝나도 이 시간까지는 임대 유지 (인스턴스 간 시계/cron 발화 차이로 같은 회차가 두 번 실행되지 않도록)
+ * - 획득/반납은 호출 쪽 트랜잭션과 분리된 새 트랜잭션에서 바로 커밋
+ * - 백그라운드로 오래 도는 작업은 tryAcquire 로 잡고 실행 중 주기적으로 다시 호출해 연장, 끝나면 release
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobLeaseLock {
+
+    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    private static final String OWNER = ProcessHandle.current().pid() + "-" + UUID.randomUUID();
+
+    // 만료됐거나 자신이 가진 임대만 갱신 (owner 를 먼저 바꾸고, 바뀐 owner 기준으로 lease_until 갱신)
+    private static final String ACQUIRE_SQL =
+        "INSERT INTO job_leases (job_name, owner, lease_until) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "owner = IF(lease_until < ? OR owner = VALUES(owner), VALUES(owner), owner), " +
+            "lease_until = IF(owner = VALUES(owner), VALUES(lease_until), lease_until)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 잠금을 얻은 경우에만 job 실행, 실행했으면 true
+     */
+    public boolean runExclusive(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable job) {
+        LocalDateTime startedAt = LocalDateTime.now(ZONE_KST);
+        if (!acquire(jobName, startedAt, startedAt.plus(lockAtMostFor))) {
+            log.info("[JobLease] Skip, held by another instance: job={}", jobName);
+            return false;
+        }
+        try {
+            job.run();
+            return true;
+        } finally {
+            LocalDateTime now = LocalDateTime.now(ZONE_KST);
+            LocalDateTime minimum = startedAt.plus(lockAtLeastFor);
+            release(jobName, now.isAfter(minimum) ? now : minimum);
+        }
+    }
+
+    /**
+     * 지금부터 lockAtMostFor 동안 임대 획득 (이미 자신이 가진 임대면 연장), 얻었으면 true
+     */
+    public boolean tryAcquire(String jobName, Duration lockAtMostFor) {
+        LocalDateTime now = LocalDateTime.now(ZONE_KST);
+        return acquire(jobName, now, now.plus(lockAtMostFor));
+    }
+
+    /**
+     * 자신이 가진 임대를 바로 반납
+     */
+    public void release(String jobName) {
+        release(jobName, LocalDateTime.now(ZONE_KST));
+    }
+
+    private boolean acquire(String jobName, LocalDateTime now, LocalDateTime until) {
+        Boolean acquired = requiresNew().execute(status -> {
+            jdbcTemplate.update(ACQUIRE_SQL, jobName, OWNER, Timestamp.valueOf(until), Timestamp.valueOf(now));
+            List<String> owners = jdbcTemplate.queryForList(
+                "SELECT owner FROM job_leases WHERE job_name = ?", String.class, jobName);
+            return !owners.isEmpty() && OWNER.equals(owners.get(0));
+        });
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    private void release(String jobName, LocalDateTime until) {
+        try {
+            requiresNew().executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE job_leases SET lease_until = ? WHERE job_name = ? AND owner = ?",
+                Timestamp.valueOf(until), jobName, OWNER));
+        } catch (Exception e) {
+            // 반납 실패 시 lockAtMostFor 만료까지 다른 인스턴스가 대기
+            log.warn("[JobLease] Release failed: job={}, reason={}", jobName, e.getMessage());
+        }
+    }
+
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
@@ -0,0 +1,12 @@
+package com.E205.cocos_forest.domain.batch.repository;
+
+import com.E205.cocos_forest.domain.batch.entity.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, Long> {
+    Optional<BatchCheckpoint> findByJobNameAndPartitionKey(String jobName, String partitionKey);
+    List<BatchCheckpoint> findByJobName(String jobName);
+}
@@ -0,0 +1,177 @@
+package com.E205.cocos_forest.domain.challenge.calendar;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * 월별 챌린지 달성 비트맵 (user_challenge_calendars.done_bits)
+ *
+ * - 1일은 bit 0, 31일은 bit 30 (32-bit int 하나에 한 달)
+ * - 연속 달성(streak)은 월 단위 int 끼리의 비트 연산으로 계산, 월 경계는 앞/뒤 연속 구간을 이어 붙임
+ * - 주/월 단위 챌린지는 기간 시작일(월요일/1일)에 비트가 기록되므로 연속 달성도 기간 단위로 계산 (currentPeriodStreak 등)
+ */
+public final class CompletionBitmap {
+
+    private CompletionBitmap() {
+    }
+
+    public static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public static YearMonth month(int monthKey) {
+        return YearMonth.of(monthKey / 100, monthKey % 100);
+    }
+
+    public static int bit(LocalDate date) {
+        return 1 << (date.getDayOfMonth() - 1);
+    }
+
+    public static boolean isDone(int bits, int dayOfMonth) {
+        return (bits & (1 << (dayOfMonth - 1))) != 0;
+    }
+
+    public static List<Integer> days(int bits) {
+        List<Integer> days = new ArrayList<>(Integer.bitCount(bits));
+        int rest = bits;
+        while (rest != 0) {
+            days.add(Integer.numberOfTrailingZeros(rest) + 1);
+            rest &= rest - 1;
+        }
+        return days;
+    }
+
+    /**
+     * 1일부터 이어진 달성 일수
+     */
+    public static int leadingRun(int bits, int length) {
+        return Math.min(Integer.numberOfTrailingZeros(~bits), length);
+    }
+
+    /**
+     * endDay 일부터 거꾸로 이어진 달성 일수 (endDay 미달성이면 0)
+     */
+    public static int runEndingAt(int bits, int endDay) {
+        if (endDay <= 0) {
+            return 0;
+        }
+        return Integer.numberOfLeadingZeros(~(bits << (Integer.SIZE - endDay)));
+    }
+
+    /**
+     * 한 달 안의 최장 연속 달성 일수 (x &= x << 1 을 반복한 횟수)
+     */
+    public static int longestRun(int bits) {
+        int run = 0;
+        int rest = bits;
+        while (rest != 0) {
+            rest &= rest << 1;
+            run++;
+        }
+        return run;
+    }
+
+    /**
+     * today 기준 현재 연속 달성 일수
+     * - 오늘 아직 달성 전이면 어제까지의 연속 일수
+     * - byMonth: monthKey -> done_bits
+     */
+    public static int currentStreak(Map<Integer, Integer> byMonth, LocalDate today) {
+        YearMonth month = YearMonth.from(today);
+        int bits = byMonth.getOrDefault(monthKey(month), 0);
+        int endDay = isDone(bits, today.getDayOfMonth()) ? today.getDayOfMonth() : today.getDayOfMonth() - 1;
+
+        int streak = 0;
+        while (true) {
+            int run = runEndingAt(bits, endDay);
+            streak += run;
+            if (run < endDay) {
+                return streak;
+            }
+            month = month.minusMonths(1);
+            Integer previous = byMonth.get(monthKey(month));
+            if (previous == null) {
+                return streak;
+            }
+            bits = previous;
+            endDay = month.lengthOfMonth();
+        }
+    }
+
+    /**
+     * 주/월 단위 챌린지의 현재 연속 달성 기간 수
+     * - startOf: 날짜가 속한 기간의 시작일 (Challenge.PeriodType::startOf)
+     * - 진행 중인 기간이 아직 미달성이면 직전 기간까지의 연속 기간 수
+     */
+    public static int currentPeriodStreak(Map<Integer, Integer> byMonth, LocalDate today, UnaryOperator<LocalDate> startOf) {
+        LocalDate start = startOf.apply(today);
+        if (!isDone(byMonth, start)) {
+            start = startOf.apply(start.minusDays(1));
+        }
+        int streak = 0;
+        while (isDone(byMonth, start)) {
+            streak++;
+            start = startOf.apply(start.minusDays(1));
+        }
+        return streak;
+    }
+
+    /**
+     * 주/월 단위 챌린지의 전체 기간 최장 연속 달성 기간 수 (기간 시작일이 아닌 날짜의 비트는 무시)
+     */
+    public static int longestPeriodStreak(Map<Integer, Integer> byMonth, UnaryOperator<LocalDate> startOf) {
+        int longest = 0;
+        int run = 0;
+        LocalDate previous = null;
+        for (Map.Entry<Integer, Integer> entry : byMonth.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+            YearMonth month = month(entry.getKey());
+            for (int day : days(entry.getValue())) {
+                LocalDate date = month.atDay(day);
+                if (!startOf.apply(date).equals(date)) {
+                    continue;
+                }
+                run = previous != null && startOf.apply(date.minusDays(1)).equals(previous) ? run + 1 : 1;
+                longest = Math.max(longest, run);
+                previous = date;
+            }
+        }
+        return longest;
+    }
+
+    private static boolean isDone(Map<Integer, Integer> byMonth, LocalDate date) {
+        return isDone(byMonth.getOrDefault(monthKey(YearMonth.from(date)), 0), date.getDayOfMonth());
+    }
+
+    /**
+     * 전체 기간 최장 연속 달성 일수
+     * - 월 안의 최장 구간과, 이전 달 말일까지 이어진 구간 + 이번 달 1일부터 이어진 구간 중 큰 값
+     */
+    public static int longestStreak(Map<Integer, Integer> byMonth) {
+        int longest = 0;
+        int carry = 0;
+        YearMonth previous = null;
+        for (Map.Entry<Integer, Integer> entry : byMonth.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+            YearMonth month = month(entry.getKey());
+            int bits = entry.getValue();
+            int length = month.lengthOfMonth();
+            if (previous == null || !previous.plusMonths(1).equals(month)) {
+                carry = 0;
+            }
+
+            int leading = leadingRun(bits, length);
+            if (leading == length) {
+                carry += length;
+                longest = Math.max(longest, carry);
+            } else {
+                longest = Math.max(longest, Math.max(carry + leading, longestRun(bits)));
+                carry = runEndingAt(bits, length);
+            }
+            previous = month;
+        }
+        return longest;
+    }
+}
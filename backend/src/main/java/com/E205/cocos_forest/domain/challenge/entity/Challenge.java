@@ -5,7 +5,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 
 @Entity
 @Table(name = "challenges")
@@ -61,6 +64,31 @@ public class Challenge {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * date 가 속한 기간의 시작일 (user_challenges.challenge_date 로 사용)
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return periodType().startOf(date);
+    }
+
+    /**
+     * date 가 속한 기간의 마지막 날 (정산일)
+     */
+    public LocalDate periodEnd(LocalDate date) {
+        return periodType().endOf(date);
+    }
+
+    /**
+     * 기간이 끝나야 달성 여부가 확정되는 챌린지인지 (주/월 단위 이하(LTE) 조건)
+     * - 일 단위는 기존과 같이 조회/이벤트 시점에 판정
+     */
+    public boolean settlesAtPeriodEnd() {
+        return periodType() != PeriodType.DAILY && comparator == ComparatorType.LTE;
+    }
+
+    private PeriodType periodType() {
+        return period == null ? PeriodType.DAILY : period;
+    }
 
     public enum Difficulty { EASY, NORMAL, HARD }
 
@@ -68,6 +96,27 @@ public class Challenge {
 
     public enum ComparatorType { LTE, GTE }
 
-    public enum PeriodType { DAILY }
+    /**
+     * 챌린지 기간 - 주 단위는 월요일 ~ 일요일, 월 단위는 1일 ~ 말일
+     */
+    public enum PeriodType {
+        DAILY, WEEKLY, MONTHLY;
+
+        public LocalDate startOf(LocalDate date) {
+            return switch (this) {
+                case DAILY -> date;
+                case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTHLY -> date.withDayOfMonth(1);
+            };
+        }
+
+        public LocalDate endOf(LocalDate date) {
+            return switch (this) {
+                case DAILY -> date;
+                case WEEKLY -> date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+                case MONTHLY -> date.with(TemporalAdjusters.lastDayOfMonth());
+            };
+        }
+    }
 }
 
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
     },
     indexes = {
         @Index(name = "idx_user_challenges_user", columnList = "user_id"),
-        @Index(name = "idx_user_challenges_chal", columnList = "challenge_id")
+        @Index(name = "idx_user_challenges_chal", columnList = "challenge_id"),
+        @Index(name = "idx_user_challenges_date_status", columnList = "challenge_date, status")
     }
 )
 @Getter
@@ -0,0 +1,42 @@
+package com.E205.cocos_forest.domain.challenge.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자-챌린지-월별 달성 비트맵 (CompletionBitmap)
+ * - month_key: yyyyMM, done_bits: 1일 = bit 0
+ * - UserChallenge 가 DONE 이 될 때 OR 로 갱신 (여러 번 반영되어도 결과 동일)
+ */
+@Entity
+@Table(name = "user_challenge_calendars",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ucc_user_chal_month", columnNames = {"user_id", "challenge_id", "month_key"})
+    })
+@Getter
+@NoArgsConstructor
+public class UserChallengeCalendar {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(columnDefinition = "BIGINT UNSIGNED")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "BIGINT UNSIGNED")
+    private Long userId;
+
+    @Column(name = "challenge_id", nullable = false, columnDefinition = "BIGINT UNSIGNED")
+    private Long challengeId;
+
+    @Column(name = "month_key", nullable = false)
+    private Integer monthKey;
+
+    @Column(name = "done_bits", nullable = false)
+    private Integer doneBits = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,47 @@
+package com.E205.cocos_forest.domain.challenge.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자-일자-챌린지별 진행 값 (결제/걸음수 이벤트로 증분 갱신)
+ * - AMOUNT: 챌린지 조건(카테고리/가맹점)에 맞는 승인 금액 합계(원)
+ * - STEPS: 당일 걸음수
+ */
+@Entity
+@Table(name = "user_challenge_progress",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ucp_user_date_chal", columnNames = {"user_id", "challenge_date", "challenge_id"})
+    })
+@Getter
+@NoArgsConstructor
+public class UserChallengeProgress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(columnDefinition = "BIGINT UNSIGNED")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "BIGINT UNSIGNED")
+    private Long userId;
+
+    @Column(name = "challenge_date", nullable = false)
+    private LocalDate challengeDate;
+
+    @Column(name = "challenge_id", nullable = false, columnDefinition = "BIGINT UNSIGNED")
+    private Long challengeId;
+
+    @Column(name = "metric_value", nullable = false)
+    private Long metricValue = 0L;
+
+    // 진행 값을 계산한 가맹점/카테고리 조건 버전 (extra_conditions 체크섬) - 다르면 조건 변경 전 값으로 보고 다시 계산
+    @Column(name = "rule_version", nullable = false)
+    private Long ruleVersion = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,49 @@
+package com.E205.cocos_forest.domain.challenge.repository;
+
+import com.E205.cocos_forest.domain.challenge.entity.UserChallengeCalendar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserChallengeCalendarRepository extends JpaRepository<UserChallengeCalendar, Long>,
+    UserChallengeCalendarRepositoryCustom {
+
+    // 사용자-챌린지의 전체 월 비트맵 (uk_ucc_user_chal_month 선두 컬럼 사용, 월당 1행)
+    List<UserChallengeCalendar> findByUserIdAndChallengeId(Long userId, Long challengeId);
+
+    Optional<UserChallengeCalendar> findByUserIdAndChallengeIdAndMonthKey(Long userId, Long challengeId, Integer monthKey);
+
+    /**
+     * 월 비트맵에 달성 비트 추가 (없으면 생성)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_challenge_calendars (user_id, challenge_id, month_key, done_bits, updated_at) " +
+            "VALUES (:userId, :challengeId, :monthKey, :bit, :now) " +
+            "ON DUPLICATE KEY UPDATE done_bits = done_bits | :bit, updated_at = :now",
+            nativeQuery = true)
+    int orBit(@Param("userId") Long userId,
+              @Param("challengeId") Long challengeId,
+              @Param("monthKey") int monthKey,
+              @Param("bit") int bit,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * DONE 인 user_challenges 행들의 사용자-챌린지에 같은 월/일 비트 추가 (기간 정산 청크용, 없으면 생성)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_challenge_calendars (user_id, challenge_id, month_key, done_bits, updated_at) " +
+            "SELECT uc.user_id, uc.challenge_id, :monthKey, :bit, :now FROM user_challenges uc " +
+            "WHERE uc.id IN (:userChallengeIds) AND uc.status = 'DONE' " +
+            "ON DUPLICATE KEY UPDATE done_bits = done_bits | VALUES(done_bits), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int orBitForDone(@Param("userChallengeIds") Collection<Long> userChallengeIds,
+                     @Param("monthKey") int monthKey,
+                     @Param("bit") int bit,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,16 @@
+package com.E205.cocos_forest.domain.challenge.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserChallengeCalendarRepositoryCustom {
+
+    /**
+     * 여러 (사용자, 챌린지, 일자) 달성 비트를 한 번의 JDBC 배치로 기록 (없으면 생성, 있으면 OR)
+     */
+    void orBits(List<DoneMark> marks, LocalDateTime now);
+
+    record DoneMark(Long userId, Long challengeId, LocalDate date) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.E205.cocos_forest.domain.challenge.repository;
+
+import com.E205.cocos_forest.domain.challenge.calendar.CompletionBitmap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserChallengeCalendarRepositoryCustomImpl implements UserChallengeCalendarRepositoryCustom {
+
+    // UserChallengeCalendarRepository.orBit 과 같은 upsert 의 JDBC 배치용 (위치 파라미터)
+    private static final String OR_BIT_SQL =
+        "INSERT INTO user_challenge_calendars (user_id, challenge_id, month_key, done_bits, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE done_bits = done_bits | VALUES(done_bits), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void orBits(List<DoneMark> marks, LocalDateTime now) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(OR_BIT_SQL, marks.stream()
+            .map(mark -> new Object[]{mark.userId(), mark.challengeId(),
+                CompletionBitmap.monthKey(YearMonth.from(mark.date())), CompletionBitmap.bit(mark.date()), updatedAt})
+            .toList());
+    }
+}
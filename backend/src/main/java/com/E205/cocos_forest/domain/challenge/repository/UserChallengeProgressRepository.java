@@ -0,0 +1,88 @@
+package com.E205.cocos_forest.domain.challenge.repository;
+
+import com.E205.cocos_forest.domain.challenge.entity.UserChallengeProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserChallengeProgressRepository extends JpaRepository<UserChallengeProgress, Long> {
+
+    // 사용자의 하루치 진행 값 (uk_ucp_user_date_chal 선두 컬럼 사용)
+    List<UserChallengeProgress> findByUserIdAndChallengeDate(Long userId, LocalDate challengeDate);
+
+    // 사용자의 기간 내 일자별 진행 값 (주/월 단위 챌린지 누적용)
+    List<UserChallengeProgress> findByUserIdAndChallengeDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    @Query(value = "SELECT metric_value FROM user_challenge_progress " +
+            "WHERE user_id = :userId AND challenge_date = :challengeDate AND challenge_id = :challengeId",
+            nativeQuery = true)
+    Optional<Long> findValue(@Param("userId") Long userId,
+                             @Param("challengeDate") LocalDate challengeDate,
+                             @Param("challengeId") Long challengeId);
+
+    /**
+     * 기존 진행 값에 증감 (행이 없거나 조건 버전이 다르면 0 반환 - 호출 측에서 원천 데이터로 초기화)
+     */
+    @Modifying
+    @Query(value = "UPDATE user_challenge_progress SET metric_value = metric_value + :delta, updated_at = :now " +
+            "WHERE user_id = :userId AND challenge_date = :challengeDate AND challenge_id = :challengeId " +
+            "AND rule_version = :ruleVersion",
+            nativeQuery = true)
+    int addValue(@Param("userId") Long userId,
+                 @Param("challengeDate") LocalDate challengeDate,
+                 @Param("challengeId") Long challengeId,
+                 @Param("delta") long delta,
+                 @Param("ruleVersion") long ruleVersion,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * 원천 데이터로 계산한 초기 진행 값 저장 (동시에 먼저 생성된 행은 유지)
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_challenge_progress " +
+            "(user_id, challenge_date, challenge_id, metric_value, rule_version, updated_at) " +
+            "VALUES (:userId, :challengeDate, :challengeId, :value, :ruleVersion, :now)",
+            nativeQuery = true)
+    int insertIgnore(@Param("userId") Long userId,
+                     @Param("challengeDate") LocalDate challengeDate,
+                     @Param("challengeId") Long challengeId,
+                     @Param("value") long value,
+                     @Param("ruleVersion") long ruleVersion,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 조건 변경 전 버전으로 계산된 행을 다시 계산한 값으로 교체 (이미 현재 버전이면 0 반환)
+     */
+    @Modifying
+    @Query(value = "UPDATE user_challenge_progress SET metric_value = :value, rule_version = :ruleVersion, updated_at = :now " +
+            "WHERE user_id = :userId AND challenge_date = :challengeDate AND challenge_id = :challengeId " +
+            "AND rule_version <> :ruleVersion",
+            nativeQuery = true)
+    int replaceStale(@Param("userId") Long userId,
+                     @Param("challengeDate") LocalDate challengeDate,
+                     @Param("challengeId") Long challengeId,
+                     @Param("value") long value,
+                     @Param("ruleVersion") long ruleVersion,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 진행 값을 주어진 값으로 설정 (걸음수처럼 누적이 아닌 현재값 지표)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_challenge_progress " +
+            "(user_id, challenge_date, challenge_id, metric_value, rule_version, updated_at) " +
+            "VALUES (:userId, :challengeDate, :challengeId, :value, 0, :now) " +
+            "ON DUPLICATE KEY UPDATE metric_value = :value, rule_version = 0, updated_at = :now",
+            nativeQuery = true)
+    int upsertValue(@Param("userId") Long userId,
+                    @Param("challengeDate") LocalDate challengeDate,
+                    @Param("challengeId") Long challengeId,
+                    @Param("value") long value,
+                    @Param("now") LocalDateTime now);
+}
@@ -2,13 +2,74 @@ package com.E205.cocos_forest.domain.challenge.repository;
 
 import com.E205.cocos_forest.domain.challenge.entity.UserChallenge;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserChallengeRepository extends JpaRepository<UserChallenge, Long> {
     Optional<UserChallenge> findByUserIdAndChallengeIdAndChallengeDate(Long userId, Long challengeId, LocalDate challengeDate);
     List<UserChallenge> findByChallengeDate(LocalDate date);
-}
 
+    // 사용자의 하루치 챌린지 레코드 일괄 조회 (uk_user_challenges_user_chal_date 선두 컬럼 사용)
+    List<UserChallenge> findByUserIdAndChallengeDate(Long userId, LocalDate challengeDate);
+
+    // 일/주/월 기간 시작일별 레코드 일괄 조회
+    List<UserChallenge> findByUserIdAndChallengeDateIn(Long userId, Collection<LocalDate> challengeDates);
+
+    /**
+     * 없는 (사용자, 챌린지, 일자) 레코드를 PENDING 으로 일괄 생성
+     * - 동시 요청으로 이미 생성된 행은 유니크 키로 무시
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_challenges " +
+            "(user_id, challenge_id, challenge_date, status, reward_points, created_at, updated_at) " +
+            "SELECT :userId, c.id, :challengeDate, 'PENDING', 0, :now, :now " +
+            "FROM challenges c WHERE c.id IN (:challengeIds)",
+            nativeQuery = true)
+    int insertPendingIgnore(@Param("userId") Long userId,
+                            @Param("challengeDate") LocalDate challengeDate,
+                            @Param("challengeIds") Collection<Long> challengeIds,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * 진행 중(PENDING)인 챌린지를 달성(DONE) 처리 - 이미 처리된 행은 변경 없음
+     */
+    @Modifying
+    @Query("UPDATE UserChallenge uc SET uc.status = com.E205.cocos_forest.domain.challenge.entity.UserChallenge.Status.DONE, " +
+            "uc.achievedAt = :now, uc.updatedAt = :now " +
+            "WHERE uc.userId = :userId AND uc.challengeId = :challengeId AND uc.challengeDate = :challengeDate " +
+            "AND uc.status = com.E205.cocos_forest.domain.challenge.entity.UserChallenge.Status.PENDING")
+    int markDone(@Param("userId") Long userId,
+                 @Param("challengeId") Long challengeId,
+                 @Param("challengeDate") LocalDate challengeDate,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * 보상 지급 표시 - 아직 지급되지 않은(reward_points = 0) 행만 변경, 1건 갱신된 쪽만 포인트 지급
+     * - 정산 배치(ChallengeDailyScheduler)와 동시에 수령해도 행 잠금으로 한쪽만 성공
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserChallenge uc SET uc.rewardPoints = :points, uc.updatedAt = :now " +
+            "WHERE uc.id = :id AND uc.rewardPoints = 0")
+    int markRewarded(@Param("id") Long id,
+                     @Param("points") Integer points,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 지정 일자(기간 시작일)의 미달성(PENDING) 챌린지를 일괄 실패(FAIL) 처리
+     */
+    @Modifying
+    @Query("UPDATE UserChallenge uc SET uc.status = com.E205.cocos_forest.domain.challenge.entity.UserChallenge.Status.FAIL, " +
+            "uc.updatedAt = :now " +
+            "WHERE uc.challengeDate = :challengeDate AND uc.challengeId IN :challengeIds " +
+            "AND uc.status = com.E205.cocos_forest.domain.challenge.entity.UserChallenge.Status.PENDING")
+    int failPending(@Param("challengeDate") LocalDate challengeDate,
+                    @Param("challengeIds") Collection<Long> challengeIds,
+                    @Param("now") LocalDateTime now);
+}
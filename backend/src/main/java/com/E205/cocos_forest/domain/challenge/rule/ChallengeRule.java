@@ -0,0 +1,166 @@
+package com.E205.cocos_forest.domain.challenge.rule;
+
+import com.E205.cocos_forest.domain.challenge.entity.Challenge;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 챌린지 평가 규칙 (extra_conditions 를 미리 해석한 불변 객체)
+ *
+ * - 포함/제외 카테고리는 Set, 가맹점 조건은 이름이 아닌 정렬된 가맹점 id 배열로 보관
+ * - 금액 비교용 정수 임계값(LTE 는 내림, GTE 는 올림)을 미리 계산해 거래 합계 비교 시 BigDecimal 을 만들지 않음
+ * - challengeId + updatedAt + 기준 정보 버전이 같으면 재사용 (ChallengeRuleCompiler 참고)
+ */
+public final class ChallengeRule {
+
+    private final Long challengeId;
+    private final LocalDateTime updatedAt;
+    private final String referenceVersion;
+    private final Challenge.MetricType metricType;
+    private final Challenge.ComparatorType comparator;
+    private final BigDecimal threshold;
+    private final long thresholdLong;
+    private final Set<String> includeCategories;
+    private final Set<String> excludeCategories;
+    private final long[] includeMerchantIds;
+    private final long[] excludeMerchantIds;
+    private final boolean includeMerchantsConfigured;
+    private final boolean excludeMerchantsConfigured;
+
+    private ChallengeRule(Long challengeId,
+                          LocalDateTime updatedAt,
+                          String referenceVersion,
+                          Challenge.MetricType metricType,
+                          Challenge.ComparatorType comparator,
+                          BigDecimal threshold,
+                          Set<String> includeCategories,
+                          Set<String> excludeCategories,
+                          long[] includeMerchantIds,
+                          long[] excludeMerchantIds,
+                          boolean includeMerchantsConfigured,
+                          boolean excludeMerchantsConfigured) {
+        this.challengeId = challengeId;
+        this.updatedAt = updatedAt;
+        this.referenceVersion = referenceVersion;
+        this.metricType = metricType;
+        this.comparator = comparator;
+        this.threshold = threshold;
+        this.thresholdLong = comparator == Challenge.ComparatorType.LTE
+            ? threshold.setScale(0, RoundingMode.FLOOR).longValueExact()
+            : threshold.setScale(0, RoundingMode.CEILING).longValueExact();
+        this.includeCategories = includeCategories;
+        this.excludeCategories = excludeCategories;
+        this.includeMerchantIds = includeMerchantIds;
+        this.excludeMerchantIds = excludeMerchantIds;
+        this.includeMerchantsConfigured = includeMerchantsConfigured;
+        this.excludeMerchantsConfigured = excludeMerchantsConfigured;
+    }
+
+    /**
+     * 규칙 생성
+     * - include/excludeMerchantsConfigured: extra_conditions 에 해당 가맹점 조건이 있었는지 (id 로 해석된 가맹점이 없어도 true)
+     *   포함 조건이 있는데 해석된 id 가 없으면 어떤 거래도 집계하지 않음
+     */
+    public static ChallengeRule of(Long challengeId,
+                                   LocalDateTime updatedAt,
+                                   String referenceVersion,
+                                   Challenge.MetricType metricType,
+                                   Challenge.ComparatorType comparator,
+                                   BigDecimal threshold,
+                                   Set<String> includeCategories,
+                                   Set<String> excludeCategories,
+                                   long[] includeMerchantIds,
+                                   long[] excludeMerchantIds,
+                                   boolean includeMerchantsConfigured,
+                                   boolean excludeMerchantsConfigured) {
+        long[] include = includeMerchantIds.clone();
+        long[] exclude = excludeMerchantIds.clone();
+        Arrays.sort(include);
+        Arrays.sort(exclude);
+        return new ChallengeRule(challengeId, updatedAt, referenceVersion, metricType,
+            comparator == null ? Challenge.ComparatorType.GTE : comparator,
+            threshold == null ? BigDecimal.ZERO : threshold,
+            Set.copyOf(includeCategories), Set.copyOf(excludeCategories),
+            include, exclude, includeMerchantsConfigured, excludeMerchantsConfigured);
+    }
+
+    /**
+     * 같은 챌린지 정의/기준 정보로 만들어진 규칙인지
+     */
+    public boolean isCurrent(LocalDateTime challengeUpdatedAt, String currentReferenceVersion) {
+        return Objects.equals(updatedAt, challengeUpdatedAt)
+            && Objects.equals(referenceVersion, currentReferenceVersion);
+    }
+
+    /**
+     * 카테고리 조건만 적용 (배출량 등 카테고리 단위 집계용)
+     */
+    public boolean matchesCategory(String categoryId) {
+        return (includeCategories.isEmpty() || includeCategories.contains(categoryId))
+            && (excludeCategories.isEmpty() || !excludeCategories.contains(categoryId));
+    }
+
+    /**
+     * 거래 한 건이 집계 대상인지 (카테고리 + 가맹점 조건)
+     * - 가맹점 조건이 있는 규칙은 가맹점 미상 거래를 제외
+     */
+    public boolean matches(String categoryId, Long merchantId) {
+        if (!matchesCategory(categoryId)) {
+            return false;
+        }
+        if (!isMerchantFiltered()) {
+            return true;
+        }
+        if (merchantId == null) {
+            return false;
+        }
+        long id = merchantId;
+        if (includeMerchantsConfigured && Arrays.binarySearch(includeMerchantIds, id) < 0) {
+            return false;
+        }
+        return excludeMerchantIds.length == 0 || Arrays.binarySearch(excludeMerchantIds, id) < 0;
+    }
+
+    /**
+     * 가맹점 조건이 있는 규칙인지
+     */
+    public boolean isMerchantFiltered() {
+        return includeMerchantsConfigured || excludeMerchantsConfigured;
+    }
+
+    /**
+     * 정수 지표(금액, 걸음수) 달성 여부
+     */
+    public boolean achieved(long value) {
+        return comparator == Challenge.ComparatorType.LTE ? value <= thresholdLong : value >= thresholdLong;
+    }
+
+    /**
+     * 소수 지표(배출량 kg) 달성 여부
+     */
+    public boolean achieved(BigDecimal value) {
+        int cmp = value.compareTo(threshold);
+        return comparator == Challenge.ComparatorType.LTE ? cmp <= 0 : cmp >= 0;
+    }
+
+    public Long getChallengeId() {
+        return challengeId;
+    }
+
+    public Challenge.MetricType getMetricType() {
+        return metricType;
+    }
+
+    public Challenge.ComparatorType getComparator() {
+        return comparator;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+}
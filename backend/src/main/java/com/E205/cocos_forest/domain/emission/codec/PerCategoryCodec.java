@@ -0,0 +1,122 @@
+package com.E205.cocos_forest.domain.emission.codec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * daily_emissions.per_category_bin 인코딩
+ *
+ * - [0] 버전 바이트, 이후 카테고리 slot 순서대로 8바이트 big-endian long (mg)
+ * - slot 은 categories.slot 에 고정 배정된 dense index (CategorySlotIndex)
+ * - 사용하지 않은 뒤쪽 slot 은 생략 가능 (길이로 slot 수 판단), 없는 slot 은 0
+ * - slot 위치가 고정이라 DB 에서도 offsetOf(slot) 부터 8바이트만 읽고 바꿔 갱신 가능 (DailyEmissionServiceImpl)
+ */
+public final class PerCategoryCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int HEADER_BYTES = 1;
+    private static final int SLOT_BYTES = Long.BYTES;
+    private static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private PerCategoryCodec() {
+    }
+
+    public static byte[] empty() {
+        return new byte[]{VERSION};
+    }
+
+    /**
+     * 이 형식으로 읽을 수 있는 값인지 (null/빈 배열은 0 slot 으로 유효)
+     */
+    public static boolean isValid(byte[] data) {
+        return data == null || data.length == 0
+            || (data[0] == VERSION && (data.length - HEADER_BYTES) % SLOT_BYTES == 0);
+    }
+
+    public static int slotCount(byte[] data) {
+        if (data == null || data.length == 0) {
+            return 0;
+        }
+        checkVersion(data);
+        return (data.length - HEADER_BYTES) / SLOT_BYTES;
+    }
+
+    public static long get(byte[] data, int slot) {
+        if (slot < 0 || slot >= slotCount(data)) {
+            return 0L;
+        }
+        return (long) LONG_BE.get(data, offsetOf(slot));
+    }
+
+    /**
+     * slot 값에 delta 를 더한 결과 반환 (slot 이 범위를 넘으면 늘린 새 배열, 아니면 같은 배열을 수정)
+     */
+    public static byte[] add(byte[] data, int slot, long delta) {
+        if (slot < 0) {
+            throw new IllegalArgumentException("Invalid slot: " + slot);
+        }
+        byte[] target = data == null || data.length == 0 ? empty() : data;
+        checkVersion(target);
+        if (slot >= slotCount(target)) {
+            target = Arrays.copyOf(target, offsetOf(slot) + SLOT_BYTES);
+        }
+        int offset = offsetOf(slot);
+        LONG_BE.set(target, offset, Math.addExact((long) LONG_BE.get(target, offset), delta));
+        return target;
+    }
+
+    /**
+     * 두 값의 slot 별 합 (새 배열, 길이는 긴 쪽)
+     */
+    public static byte[] merge(byte[] left, byte[] right) {
+        long[] a = decode(left);
+        long[] b = decode(right);
+        long[] merged = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int slot = 0; slot < b.length; slot++) {
+            merged[slot] = Math.addExact(merged[slot], b[slot]);
+        }
+        return encode(merged);
+    }
+
+    public static long sum(byte[] data) {
+        long total = 0L;
+        int slots = slotCount(data);
+        for (int slot = 0; slot < slots; slot++) {
+            total = Math.addExact(total, (long) LONG_BE.get(data, offsetOf(slot)));
+        }
+        return total;
+    }
+
+    public static byte[] encode(long[] values) {
+        byte[] data = new byte[HEADER_BYTES + values.length * SLOT_BYTES];
+        data[0] = VERSION;
+        for (int slot = 0; slot < values.length; slot++) {
+            LONG_BE.set(data, offsetOf(slot), values[slot]);
+        }
+        return data;
+    }
+
+    public static long[] decode(byte[] data) {
+        long[] values = new long[slotCount(data)];
+        for (int slot = 0; slot < values.length; slot++) {
+            values[slot] = (long) LONG_BE.get(data, offsetOf(slot));
+        }
+        return values;
+    }
+
+    /**
+     * slot 값의 시작 바이트 위치 (0부터)
+     */
+    public static int offsetOf(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private static void checkVersion(byte[] data) {
+        if (!isValid(data)) {
+            throw new IllegalArgumentException("Unsupported per_category encoding");
+        }
+    }
+}
@@ -33,8 +33,18 @@ public class DailyEmission {
     @Column(name = "total_emission", nullable = false, precision = 12, scale = 3)
     private BigDecimal totalEmission;
 
-    @Column(name = "per_category", nullable = false, columnDefinition = "JSON")
-    private String perCategory; // JSON 형태로 카테고리별 배출량 저장
+    // 카테고리 slot 별 배출량(mg) 바이너리 (PerCategoryCodec)
+    @Column(name = "per_category_bin", columnDefinition = "VARBINARY(512)")
+    private byte[] perCategory;
+
+    // 이전 JSON 형식 ({"categoryId": mg}) - 변환 배치가 per_category_bin 에 합친 뒤 빈 객체(JSON_OBJECT())로 비움 (형식 오류 행은 원본 유지)
+    @Column(name = "per_category", columnDefinition = "JSON", insertable = false, updatable = false)
+    private String legacyPerCategory;
+
+    // per_category(JSON) 를 바이너리로 변환할 수 없어 변환 배치가 건너뛴 행 (원본 JSON 보존, 카테고리 미상으로 조회)
+    @Column(name = "per_category_invalid", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE",
+        insertable = false, updatable = false)
+    private Boolean legacyInvalid;
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
@@ -45,7 +55,7 @@ public class DailyEmission {
     private LocalDateTime updatedAt;
 
     @Builder
-    public DailyEmission(Long userId, LocalDate emissionDate, BigDecimal totalEmission, String perCategory) {
+    public DailyEmission(Long userId, LocalDate emissionDate, BigDecimal totalEmission, byte[] perCategory) {
         this.userId = userId;
         this.emissionDate = emissionDate;
         this.totalEmission = totalEmission;
@@ -0,0 +1,19 @@
+package com.E205.cocos_forest.domain.emission.repository;
+
+import com.E205.cocos_forest.domain.emission.entity.DailyEmission;
+import com.E205.cocos_forest.domain.emission.entity.DailyEmissionId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface DailyEmissionRepository extends JpaRepository<DailyEmission, DailyEmissionId> {
+
+    Optional<DailyEmission> findByUserIdAndEmissionDate(Long userId, LocalDate emissionDate);
+
+    List<DailyEmission> findByUserIdAndEmissionDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    List<DailyEmission> findByUserIdInAndEmissionDateBetween(Collection<Long> userIds, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,85 @@
+package com.E205.cocos_forest.domain.finance.carbon;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 탄소 배출량 고정소수점(long) 연산 유틸
+ *
+ * - 배출계수(kg/원)는 소수 6자리(DECIMAL(12,6))이므로 10^6 배 한 정수로 한 번만 변환
+ * - 금액(원) x 정수 배출계수 = 10^-6 kg(= mg) 단위의 정확한 배출량
+ * - 응답 변환 시에만 BigDecimal 을 생성하며, 반올림은 기존과 동일한 HALF_UP
+ */
+public final class CarbonMath {
+
+    // 배출계수 소수 자릿수 (mg = 10^-6 kg)
+    public static final int FACTOR_SCALE = 6;
+
+    private static final long[] POW10 = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L
+    };
+
+    private CarbonMath() {
+    }
+
+    /**
+     * 배출계수(kg/원)를 10^6 배 정수로 변환
+     */
+    public static long toScaledFactor(BigDecimal factor) {
+        if (factor == null) {
+            return 0L;
+        }
+        return factor.setScale(FACTOR_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 금액 x 배출계수 = 배출량(mg)
+     */
+    public static long carbonMg(long amountKrw, long scaledFactor) {
+        return Math.multiplyExact(amountKrw, scaledFactor);
+    }
+
+    /**
+     * mg 단위 배출량을 kg 로 변환 (소수 scale 자리, HALF_UP)
+     */
+    public static BigDecimal toKg(long carbonMg, int scale) {
+        return BigDecimal.valueOf(divideHalfUp(carbonMg, POW10[FACTOR_SCALE - scale]), scale);
+    }
+
+    /**
+     * mg 단위 배출량을 divisor 로 나눈 kg 값 (소수 scale 자리, HALF_UP)
+     */
+    public static BigDecimal divideToKg(long carbonMg, long divisor, int scale) {
+        return BigDecimal.valueOf(
+            divideHalfUp(carbonMg, Math.multiplyExact(divisor, POW10[FACTOR_SCALE - scale])), scale);
+    }
+
+    /**
+     * part / total 비율 (소수 scale 자리, HALF_UP)
+     */
+    public static BigDecimal ratio(long part, long total, int scale) {
+        if (total == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(divideHalfUp(Math.multiplyExact(part, POW10[scale]), total), scale);
+    }
+
+    /**
+     * 정수 나눗셈 HALF_UP 반올림 (BigDecimal RoundingMode.HALF_UP 과 동일하게 0에서 먼 쪽으로)
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        if (dividend == Long.MIN_VALUE && divisor == -1L) {
+            throw new ArithmeticException("long overflow");
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        // |remainder| * 2 >= |divisor| 이면 0에서 먼 쪽으로 올림
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            return (dividend < 0) == (divisor < 0) ? quotient + 1 : quotient - 1;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,40 @@
+package com.E205.cocos_forest.domain.finance.carbon;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 진행 중인 월의 사용자별 누적 배출량 (월 백분위 스케치 생성용)
+ * - 매일 새벽 전일 합계를 더해 갱신하므로 월 스케치를 만들 때 월 전체 일 집계를 다시 읽지 않음
+ * - 월이 마감되면 일 집계에서 한 번 정확히 다시 계산 (늦게 반영된 거래 포함)
+ */
+@Entity
+@Table(name = "carbon_month_totals",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_carbon_month_totals_month_user", columnNames = {"month_key", "user_id"})
+    })
+@Getter
+@NoArgsConstructor
+public class CarbonMonthTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // yyyy-MM
+    @Column(name = "month_key", nullable = false, length = 7)
+    private String monthKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // 배출량 (mg = 10^-6 kg, CarbonMath 참고)
+    @Column(name = "carbon_mg", nullable = false)
+    private Long carbonMg;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
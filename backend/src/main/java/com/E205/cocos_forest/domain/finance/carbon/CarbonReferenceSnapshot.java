@@ -0,0 +1,227 @@
+package com.E205.cocos_forest.domain.finance.carbon;
+
+import com.E205.cocos_forest.domain.finance.category.Category;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 탄소 기준 정보 스냅샷 (카테고리 / 배출계수 / 가맹점, 불변)
+ *
+ * - 카테고리 인덱스는 CategorySlotIndex 의 slot 을 그대로 사용, slot 별 이름(String[])과 10^6 배 정수 배출계수(long[])
+ *   (삭제된 카테고리의 slot 은 비어 있음)
+ * - 가맹점은 id 오름차순 long[] 과 이름(String[]), 카테고리 인덱스(int[]) 병렬 배열 (이진 탐색, 박싱 없음)
+ * - 조회 시 DB/BigDecimal 을 쓰지 않으며, 갱신은 새 스냅샷을 만들어 통째로 교체
+ */
+public final class CarbonReferenceSnapshot {
+
+    public static final int UNKNOWN = -1;
+
+    private static final CarbonReferenceSnapshot EMPTY = new CarbonReferenceSnapshot(
+        Map.of(), new String[0], new String[0], new long[0], new boolean[0],
+        new long[0], new String[0], new int[0], "empty");
+
+    private final Map<String, Integer> categoryIndex;
+    private final String[] categoryIds;
+    private final String[] categoryNames;
+    private final long[] scaledFactors;
+    private final boolean[] hasFactor;
+    private final long[] merchantIds;
+    private final String[] merchantNames;
+    private final int[] merchantCategories;
+    private final String version;
+
+    private CarbonReferenceSnapshot(Map<String, Integer> categoryIndex,
+                                    String[] categoryIds,
+                                    String[] categoryNames,
+                                    long[] scaledFactors,
+                                    boolean[] hasFactor,
+                                    long[] merchantIds,
+                                    String[] merchantNames,
+                                    int[] merchantCategories,
+                                    String version) {
+        this.categoryIndex = categoryIndex;
+        this.categoryIds = categoryIds;
+        this.categoryNames = categoryNames;
+        this.scaledFactors = scaledFactors;
+        this.hasFactor = hasFactor;
+        this.merchantIds = merchantIds;
+        this.merchantNames = merchantNames;
+        this.merchantCategories = merchantCategories;
+        this.version = version;
+    }
+
+    public static CarbonReferenceSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * slot 매핑, 카테고리/배출계수 목록과 가맹점 병렬 배열로 스냅샷 생성
+     * - 가맹점 배열은 id 오름차순이어야 함
+     * - slot 이 없는 카테고리(배정 전이거나 카테고리 테이블에 없는 배출계수)는 UNKNOWN 으로 취급
+     */
+    public static CarbonReferenceSnapshot build(Map<String, Integer> slots,
+                                                List<Category> categories,
+                                                List<EmissionFactor> factors,
+                                                long[] sortedMerchantIds,
+                                                String[] merchantNames,
+                                                String[] merchantCategoryIds,
+                                                String version) {
+        int size = slots.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        String[] ids = new String[size];
+        String[] names = new String[size];
+        long[] scaled = new long[size];
+        boolean[] known = new boolean[size];
+
+        slots.forEach((categoryId, slot) -> {
+            ids[slot] = categoryId;
+            names[slot] = categoryId;
+        });
+        for (Category category : categories) {
+            Integer slot = slots.get(category.getCategoryId());
+            if (slot != null) {
+                names[slot] = category.getName();
+            }
+        }
+        for (EmissionFactor factor : factors) {
+            Integer slot = slots.get(factor.getCategoryId());
+            if (slot != null) {
+                scaled[slot] = CarbonMath.toScaledFactor(factor.getFactor());
+                known[slot] = true;
+            }
+        }
+
+        int[] merchantCategories = new int[sortedMerchantIds.length];
+        for (int i = 0; i < sortedMerchantIds.length; i++) {
+            Integer categoryIdx = merchantCategoryIds[i] == null ? null : slots.get(merchantCategoryIds[i]);
+            merchantCategories[i] = categoryIdx == null ? UNKNOWN : categoryIdx;
+        }
+
+        return new CarbonReferenceSnapshot(Map.copyOf(slots),
+            ids,
+            names,
+            scaled,
+            known,
+            sortedMerchantIds,
+            merchantNames,
+            merchantCategories,
+            version);
+    }
+
+    /**
+     * 카테고리 인덱스 (미등록 카테고리는 UNKNOWN)
+     */
+    public int categoryIndex(String categoryId) {
+        if (categoryId == null) {
+            return UNKNOWN;
+        }
+        Integer idx = categoryIndex.get(categoryId);
+        return idx == null ? UNKNOWN : idx;
+    }
+
+    /**
+     * 배출계수가 있는 카테고리 인덱스 (계수가 없으면 UNKNOWN)
+     */
+    public int factorIndex(String categoryId) {
+        int idx = categoryIndex(categoryId);
+        return idx == UNKNOWN || !hasFactor[idx] ? UNKNOWN : idx;
+    }
+
+    /**
+     * 가맹점 배열 위치 (미등록 가맹점은 UNKNOWN)
+     */
+    public int merchantPosition(long merchantId) {
+        int pos = Arrays.binarySearch(merchantIds, merchantId);
+        return pos < 0 ? UNKNOWN : pos;
+    }
+
+    /**
+     * 가맹점의 배출계수 카테고리 인덱스 (미등록 가맹점 또는 계수 없는 카테고리는 UNKNOWN)
+     */
+    public int merchantFactorIndex(long merchantId) {
+        int pos = merchantPosition(merchantId);
+        if (pos == UNKNOWN) {
+            return UNKNOWN;
+        }
+        int idx = merchantCategories[pos];
+        return idx == UNKNOWN || !hasFactor[idx] ? UNKNOWN : idx;
+    }
+
+    /**
+     * 가맹점 이름 (미등록 가맹점은 null)
+     */
+    public String merchantName(Long merchantId) {
+        if (merchantId == null) {
+            return null;
+        }
+        int pos = merchantPosition(merchantId);
+        return pos == UNKNOWN ? null : merchantNames[pos];
+    }
+
+    public long merchantIdAt(int pos) {
+        return merchantIds[pos];
+    }
+
+    public String merchantNameAt(int pos) {
+        return merchantNames[pos];
+    }
+
+    /**
+     * 이름이 일치하는 가맹점 id 목록 (규칙 컴파일 시에만 사용, 전체 순회)
+     */
+    public long[] merchantIdsByName(Set<String> names) {
+        if (names.isEmpty()) {
+            return new long[0];
+        }
+        long[] matched = new long[merchantIds.length];
+        int count = 0;
+        for (int i = 0; i < merchantIds.length; i++) {
+            if (merchantNames[i] != null && names.contains(merchantNames[i])) {
+                matched[count++] = merchantIds[i];
+            }
+        }
+        return Arrays.copyOf(matched, count);
+    }
+
+    // 비어 있는 slot 이면 null
+    public String categoryIdAt(int categoryIdx) {
+        return categoryIdx == UNKNOWN ? null : categoryIds[categoryIdx];
+    }
+
+    public String categoryNameAt(int categoryIdx) {
+        return categoryIdx == UNKNOWN ? null : categoryNames[categoryIdx];
+    }
+
+    /**
+     * 카테고리 이름 (미등록 카테고리는 id 그대로)
+     */
+    public String categoryName(String categoryId) {
+        int idx = categoryIndex(categoryId);
+        return idx == UNKNOWN ? categoryId : categoryNames[idx];
+    }
+
+    public long scaledFactorAt(int categoryIdx) {
+        return categoryIdx == UNKNOWN ? 0L : scaledFactors[categoryIdx];
+    }
+
+    /**
+     * 금액 x 카테고리 배출계수 = 배출량(mg), 카테고리 미상이면 0
+     */
+    public long carbonMg(int categoryIdx, long amountKrw) {
+        return CarbonMath.carbonMg(amountKrw, scaledFactorAt(categoryIdx));
+    }
+
+    public int categoryCount() {
+        return categoryIds.length;
+    }
+
+    public int merchantCount() {
+        return merchantIds.length;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+}
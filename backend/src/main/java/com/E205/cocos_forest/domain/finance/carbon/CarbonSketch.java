@@ -0,0 +1,56 @@
+package com.E205.cocos_forest.domain.finance.carbon;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 탄소배출량 분포 스케치 (t-digest 직렬화)
+ * - 일(DAY, yyyy-MM-dd) / 월(MONTH, yyyy-MM) 단위로 저장
+ * - 사용자 id 기준 shard 별로 나눠 저장하고 조회 시 병합 (행 하나의 digest 크기 제한)
+ */
+@Entity
+@Table(name = "carbon_sketches",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_carbon_sketches_period_shard", columnNames = {"period_type", "period_key", "shard"})
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class CarbonSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type", nullable = false, length = 10)
+    private PeriodType periodType;
+
+    @Column(name = "period_key", nullable = false, length = 10)
+    private String periodKey;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    // 스케치에 포함된 사용자 수
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount = 0L;
+
+    @Column(name = "digest", nullable = false, columnDefinition = "mediumblob")
+    private byte[] digest;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CarbonSketch(PeriodType periodType, String periodKey, Integer shard) {
+        this.periodType = periodType;
+        this.periodKey = periodKey;
+        this.shard = shard;
+    }
+
+    public enum PeriodType { DAY, MONTH }
+}
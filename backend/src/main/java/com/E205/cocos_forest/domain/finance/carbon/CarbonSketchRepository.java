@@ -0,0 +1,9 @@
+package com.E205.cocos_forest.domain.finance.carbon;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CarbonSketchRepository extends JpaRepository<CarbonSketch, Long> {
+    List<CarbonSketch> findByPeriodTypeAndPeriodKey(CarbonSketch.PeriodType periodType, String periodKey);
+}
@@ -24,4 +24,19 @@ public class EmissionFactor {
 
     @Column(name = "factor", nullable = false, precision = 12, scale = 6)
     private BigDecimal factor;
+
+    // 배출계수 버전 (계수 변경 시 반드시 증가, 거래별 재계산 기준)
+    @Column(name = "version", nullable = false)
+    private Long version = 1L;
+
+    /**
+     * 배출계수 변경 - 버전을 올려 재계산 작업 대상이 되도록 함
+     */
+    public void changeFactor(BigDecimal newFactor) {
+        if (newFactor == null || newFactor.compareTo(this.factor) == 0) {
+            return;
+        }
+        this.factor = newFactor;
+        this.version = this.version + 1;
+    }
 }
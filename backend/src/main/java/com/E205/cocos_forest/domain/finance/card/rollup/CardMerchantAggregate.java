@@ -0,0 +1,11 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+/**
+ * 가맹점별 거래 집계 projection (card_merchant_monthly 행)
+ */
+public interface CardMerchantAggregate {
+    Long getMerchantId();
+    Long getAmountTotal();
+    Long getTxCount();
+    Long getCarbonMg();
+}
@@ -0,0 +1,50 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자/월/가맹점 단위 카드 소비 집계 (승인 거래만 누적, 가맹점 미상 거래 제외)
+ * - 월 요약의 가맹점 순위를 원본 거래 대신 이 테이블에서 계산
+ * - card_spending_daily 와 같은 경로(결제 저장, 배출계수 재계산, 재집계)로 갱신
+ */
+@Entity
+@Table(name = "card_merchant_monthly")
+@Getter
+@NoArgsConstructor
+@IdClass(CardMerchantMonthlyId.class)
+public class CardMerchantMonthly {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 월 1일
+    @Id
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Id
+    @Column(name = "merchant_id")
+    private Long merchantId;
+
+    @Column(name = "amount_total", nullable = false)
+    private Long amountTotal;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+
+    // 배출량 (mg = 10^-6 kg, CarbonMath 참고)
+    @Column(name = "carbon_mg", nullable = false)
+    private Long carbonMg;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * CardMerchantMonthly의 복합 Primary Key 클래스
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+public class CardMerchantMonthlyId implements Serializable {
+
+    private Long userId;
+    private LocalDate monthStart;
+    private Long merchantId;
+
+    public CardMerchantMonthlyId(Long userId, LocalDate monthStart, Long merchantId) {
+        this.userId = userId;
+        this.monthStart = monthStart;
+        this.merchantId = merchantId;
+    }
+}
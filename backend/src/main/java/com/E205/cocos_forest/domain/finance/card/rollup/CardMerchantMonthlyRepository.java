@@ -0,0 +1,76 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CardMerchantMonthlyRepository extends JpaRepository<CardMerchantMonthly, CardMerchantMonthlyId> {
+
+    /**
+     * 사용자-월의 가맹점별 합계 (PK 앞부분 범위 조회, 가맹점 수만큼의 행만 읽음)
+     */
+    @Query("SELECT r.merchantId AS merchantId, r.amountTotal AS amountTotal, r.txCount AS txCount, " +
+            "r.carbonMg AS carbonMg " +
+            "FROM CardMerchantMonthly r " +
+            "WHERE r.userId = :userId AND r.monthStart = :monthStart AND r.txCount > 0")
+    List<CardMerchantAggregate> findAggregates(@Param("userId") Long userId,
+                                               @Param("monthStart") LocalDate monthStart);
+
+    /**
+     * (user, month, merchant) 집계 행에 증분 반영 (없으면 생성)
+     * - 배출계수 재계산 등으로 차감할 때는 음수 delta 를 전달
+     */
+    @Modifying
+    @Query(value = "INSERT INTO card_merchant_monthly " +
+            "(user_id, month_start, merchant_id, amount_total, tx_count, carbon_mg, created_at, updated_at) " +
+            "VALUES (:userId, :monthStart, :merchantId, :amount, :count, :carbonMg, :now, :now) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "amount_total = amount_total + :amount, " +
+            "tx_count = tx_count + :count, " +
+            "carbon_mg = carbon_mg + :carbonMg, " +
+            "updated_at = :now",
+            nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("monthStart") LocalDate monthStart,
+                   @Param("merchantId") Long merchantId,
+                   @Param("amount") long amount,
+                   @Param("count") long count,
+                   @Param("carbonMg") long carbonMg,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * 기간 내 월 집계 행 삭제 (재집계 전 정리용, 월 1일 기준)
+     */
+    @Modifying
+    @Query("DELETE FROM CardMerchantMonthly r " +
+            "WHERE r.userId = :userId AND r.monthStart BETWEEN :fromMonthStart AND :toMonthStart")
+    int deleteRange(@Param("userId") Long userId,
+                    @Param("fromMonthStart") LocalDate fromMonthStart,
+                    @Param("toMonthStart") LocalDate toMonthStart);
+
+    /**
+     * 원본 거래(card_transactions)에서 기간 내 월 집계 행을 다시 생성 (startDate/endDate 는 월 경계)
+     * carbon_mg 가 아직 적재되지 않은 과거 거래는 현재 배출계수로 계산 (card_spending_daily 재집계와 동일)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO card_merchant_monthly " +
+            "(user_id, month_start, merchant_id, amount_total, tx_count, carbon_mg, created_at, updated_at) " +
+            "SELECT ct.user_id, DATE_FORMAT(ct.tx_date, '%Y-%m-01'), ct.merchant_id, SUM(ct.amount_krw), COUNT(*), " +
+            "SUM(COALESCE(ct.carbon_mg, CAST(ROUND(ct.amount_krw * COALESCE(ef.factor, 0) * 1000000) AS SIGNED))), " +
+            ":now, :now " +
+            "FROM card_transactions ct " +
+            "LEFT JOIN emission_factors ef ON ef.category_id = ct.category_id " +
+            "WHERE ct.user_id = :userId AND ct.tx_date BETWEEN :startDate AND :endDate " +
+            "AND ct.status = 'APPROVED' AND ct.merchant_id IS NOT NULL " +
+            "GROUP BY ct.user_id, DATE_FORMAT(ct.tx_date, '%Y-%m-01'), ct.merchant_id",
+            nativeQuery = true)
+    int rebuildRange(@Param("userId") Long userId,
+                     @Param("startDate") LocalDate startDate,
+                     @Param("endDate") LocalDate endDate,
+                     @Param("now") LocalDateTime now);
+}
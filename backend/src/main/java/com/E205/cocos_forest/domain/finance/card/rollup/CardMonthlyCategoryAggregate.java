@@ -0,0 +1,13 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+/**
+ * 월 x 카테고리 집계 projection (card_spending_daily GROUP BY 연, 월, category_id)
+ */
+public interface CardMonthlyCategoryAggregate {
+    Integer getTxYear();
+    Integer getTxMonth();
+    String getCategoryId();
+    Long getAmountTotal();
+    Long getTxCount();
+    Long getCarbonMg();
+}
@@ -0,0 +1,55 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자/일자/카테고리 단위 카드 소비 집계 (승인 거래만 누적)
+ * - 결제 저장 및 배출계수 재계산 시 증분 upsert 로 갱신
+ */
+@Entity
+@Table(name = "card_spending_daily",
+    indexes = {
+        @Index(name = "idx_card_spending_daily_date", columnList = "tx_date")
+    })
+@Getter
+@NoArgsConstructor
+@IdClass(CardSpendingDailyId.class)
+public class CardSpendingDaily {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "tx_date")
+    private LocalDate txDate;
+
+    @Id
+    @Column(name = "category_id", length = 32)
+    private String categoryId;
+
+    @Column(name = "amount_total", nullable = false)
+    private Long amountTotal;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+
+    // 배출량 (mg = 10^-6 kg, CarbonMath 참고)
+    @Column(name = "carbon_mg", nullable = false)
+    private Long carbonMg;
+
+    // 행 변경 횟수 (증분 반영마다 +1, 재집계 시 재집계 시각(ms)으로 설정) - 조회 응답 ETag 용
+    @Column(name = "row_version", nullable = false)
+    private Long rowVersion = 0L;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
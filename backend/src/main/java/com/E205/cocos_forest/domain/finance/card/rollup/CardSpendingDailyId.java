@@ -0,0 +1,29 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * CardSpendingDaily의 복합 Primary Key 클래스
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+public class CardSpendingDailyId implements Serializable {
+
+    private Long userId;
+    private LocalDate txDate;
+    private String categoryId;
+
+    public CardSpendingDailyId(Long userId, LocalDate txDate, String categoryId) {
+        this.userId = userId;
+        this.txDate = txDate;
+        this.categoryId = categoryId;
+    }
+}
@@ -0,0 +1,113 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CardSpendingDailyRepository extends JpaRepository<CardSpendingDaily, CardSpendingDailyId> {
+
+    List<CardSpendingDaily> findByUserIdAndTxDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 기간 내 집계 행의 마지막 갱신 시각과 행 수 (PK 앞부분 범위 조회만으로 계산)
+     */
+    @Query("SELECT MAX(r.updatedAt) AS lastUpdatedAt, COUNT(r) AS rowCount, " +
+            "SUM(r.rowVersion) AS versionSum, SUM(r.amountTotal) AS amountSum " +
+            "FROM CardSpendingDaily r " +
+            "WHERE r.userId = :userId AND r.txDate BETWEEN :startDate AND :endDate")
+    CardSpendingWatermark findWatermark(@Param("userId") Long userId,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    /**
+     * 사용자의 기간 내 배출량 합계 (mg)
+     */
+    @Query("SELECT COALESCE(SUM(r.carbonMg), 0) FROM CardSpendingDaily r " +
+            "WHERE r.userId = :userId AND r.txDate BETWEEN :startDate AND :endDate")
+    long sumCarbonMg(@Param("userId") Long userId,
+                     @Param("startDate") LocalDate startDate,
+                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * 기간 내 월 x 카테고리 합계 (추이 조회용, 일자 집계 행만 읽음)
+     */
+    @Query("SELECT YEAR(r.txDate) AS txYear, MONTH(r.txDate) AS txMonth, r.categoryId AS categoryId, " +
+            "SUM(r.amountTotal) AS amountTotal, SUM(r.txCount) AS txCount, SUM(r.carbonMg) AS carbonMg " +
+            "FROM CardSpendingDaily r " +
+            "WHERE r.userId = :userId AND r.txDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(r.txDate), MONTH(r.txDate), r.categoryId " +
+            "HAVING SUM(r.txCount) > 0")
+    List<CardMonthlyCategoryAggregate> aggregateByMonthAndCategory(@Param("userId") Long userId,
+                                                                   @Param("startDate") LocalDate startDate,
+                                                                   @Param("endDate") LocalDate endDate);
+
+    /**
+     * (user, date, category) 집계 행에 증분 반영 (없으면 생성)
+     * - 배출계수 재계산 등으로 차감할 때는 음수 delta 를 전달
+     */
+    @Modifying
+    @Query(value = "INSERT INTO card_spending_daily " +
+            "(user_id, tx_date, category_id, amount_total, tx_count, carbon_mg, row_version, created_at, updated_at) " +
+            "VALUES (:userId, :txDate, :categoryId, :amount, :count, :carbonMg, 1, :now, :now) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "amount_total = amount_total + :amount, " +
+            "tx_count = tx_count + :count, " +
+            "carbon_mg = carbon_mg + :carbonMg, " +
+            "row_version = row_version + 1, " +
+            "updated_at = :now",
+            nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("txDate") LocalDate txDate,
+                   @Param("categoryId") String categoryId,
+                   @Param("amount") long amount,
+                   @Param("count") long count,
+                   @Param("carbonMg") long carbonMg,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * 재집계 대상 원본 거래 범위 잠금 (인덱스 범위 잠금으로 동시 결제는 재집계가 끝날 때까지 대기)
+     */
+    @Query(value = "SELECT COUNT(*) FROM (" +
+            "SELECT ct.id FROM card_transactions ct " +
+            "WHERE ct.user_id = :userId AND ct.tx_date BETWEEN :startDate AND :endDate FOR UPDATE) locked",
+            nativeQuery = true)
+    long lockSourceRange(@Param("userId") Long userId,
+                         @Param("startDate") LocalDate startDate,
+                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * 기간 내 집계 행 삭제 (재집계 전 정리용)
+     */
+    @Modifying
+    @Query("DELETE FROM CardSpendingDaily r WHERE r.userId = :userId AND r.txDate BETWEEN :startDate AND :endDate")
+    int deleteRange(@Param("userId") Long userId,
+                    @Param("startDate") LocalDate startDate,
+                    @Param("endDate") LocalDate endDate);
+
+    /**
+     * 원본 거래(card_transactions)에서 기간 내 집계 행을 다시 생성
+     * carbon_mg 가 아직 적재되지 않은 과거 거래는 현재 배출계수로 계산 (daily_emissions 백필과 동일)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO card_spending_daily " +
+            "(user_id, tx_date, category_id, amount_total, tx_count, carbon_mg, row_version, created_at, updated_at) " +
+            "SELECT ct.user_id, ct.tx_date, ct.category_id, SUM(ct.amount_krw), COUNT(*), " +
+            "SUM(COALESCE(ct.carbon_mg, CAST(ROUND(ct.amount_krw * COALESCE(ef.factor, 0) * 1000000) AS SIGNED))), " +
+            ":version, :now, :now " +
+            "FROM card_transactions ct " +
+            "LEFT JOIN emission_factors ef ON ef.category_id = ct.category_id " +
+            "WHERE ct.user_id = :userId AND ct.tx_date BETWEEN :startDate AND :endDate " +
+            "AND ct.status = 'APPROVED' " +
+            "GROUP BY ct.user_id, ct.tx_date, ct.category_id",
+            nativeQuery = true)
+    int rebuildRange(@Param("userId") Long userId,
+                     @Param("startDate") LocalDate startDate,
+                     @Param("endDate") LocalDate endDate,
+                     @Param("version") long version,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,13 @@
+package com.E205.cocos_forest.domain.finance.card.rollup;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기간 내 집계 행의 변경 워터마크 projection (조회 응답 ETag 용)
+ */
+public interface CardSpendingWatermark {
+    LocalDateTime getLastUpdatedAt();
+    Long getRowCount();
+    Long getVersionSum();
+    Long getAmountSum();
+}
@@ -0,0 +1,11 @@
+package com.E205.cocos_forest.domain.finance.card.transaction;
+
+/**
+ * 카테고리별 거래 집계 projection (GROUP BY category_id)
+ */
+public interface CardCategoryAggregate {
+    String getCategoryId();
+    Long getAmountTotal();
+    Long getTxCount();
+    Long getCarbonMg();
+}
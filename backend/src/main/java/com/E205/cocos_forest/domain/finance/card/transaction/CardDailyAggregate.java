@@ -0,0 +1,13 @@
+package com.E205.cocos_forest.domain.finance.card.transaction;
+
+import java.time.LocalDate;
+
+/**
+ * 일자별 거래 집계 projection (GROUP BY tx_date)
+ */
+public interface CardDailyAggregate {
+    LocalDate getTxDate();
+    Long getAmountTotal();
+    Long getTxCount();
+    Long getCarbonMg();
+}
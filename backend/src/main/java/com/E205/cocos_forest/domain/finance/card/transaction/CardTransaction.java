@@ -16,8 +16,12 @@ import java.time.LocalTime;
     },
     indexes = {
         @Index(name = "idx_card_tx_category", columnList = "category_id"),
+        @Index(name = "idx_card_tx_category_factor_version", columnList = "category_id, factor_version"),
         @Index(name = "idx_card_tx_user_date", columnList = "user_id, tx_date"),
-        @Index(name = "fk_card_tx_merchant", columnList = "merchant_id")
+        @Index(name = "idx_card_tx_user_date_time", columnList = "user_id, tx_date, tx_time, id"),
+        @Index(name = "idx_card_tx_user_category_date_time", columnList = "user_id, category_id, tx_date, tx_time, id"),
+        @Index(name = "fk_card_tx_merchant", columnList = "merchant_id"),
+        @Index(name = "idx_card_tx_user_merchant", columnList = "user_id, merchant_id")
     })
 @Getter
 @Setter
@@ -58,6 +62,14 @@ public class CardTransaction {
     @Column(name = "amount_krw", nullable = false)
     private Long amountKrw;
 
+    // 적재 시 계산한 배출량 (mg = 10^-6 kg)
+    @Column(name = "carbon_mg")
+    private Long carbonMg;
+
+    // 배출량 계산에 사용한 배출계수 버전
+    @Column(name = "factor_version")
+    private Long factorVersion;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private Status status = Status.APPROVED;
@@ -0,0 +1,13 @@
+package com.E205.cocos_forest.domain.finance.card.transaction;
+
+import java.time.LocalDate;
+
+/**
+ * 챌린지 진행 값 계산용 projection (조건 판단/합산에 필요한 컬럼만, raw_response 제외)
+ */
+public interface CardTransactionAmountView {
+    String getCategoryId();
+    Long getMerchantId();
+    LocalDate getTxDate();
+    Long getAmountKrw();
+}
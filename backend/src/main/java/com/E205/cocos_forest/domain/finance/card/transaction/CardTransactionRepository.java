@@ -1,11 +1,198 @@
 package com.E205.cocos_forest.domain.finance.card.transaction;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CardTransactionRepository extends JpaRepository<CardTransaction, Long> {
-    List<CardTransaction> findByUserIdAndTxDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
     List<CardTransaction> findByUserIdAndTxDate(Long userId, LocalDate txDate);
+
+    /**
+     * 기간 내 상태별 거래의 카테고리/가맹점/금액 (챌린지 진행 값 계산용)
+     */
+    @Query("SELECT t.categoryId AS categoryId, t.merchantId AS merchantId, t.txDate AS txDate, t.amountKrw AS amountKrw " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.txDate BETWEEN :startDate AND :endDate AND t.status = :status")
+    List<CardTransactionAmountView> findAmountViews(@Param("userId") Long userId,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate,
+                                                    @Param("status") CardTransaction.Status status);
+
+    /**
+     * 커서 조회용 단건 (본인 거래만)
+     */
+    @Query("SELECT t.id AS id, t.transactionNo AS transactionNo, t.categoryId AS categoryId, " +
+            "t.merchantId AS merchantId, t.txDate AS txDate, t.txTime AS txTime, t.amountKrw AS amountKrw, " +
+            "t.carbonMg AS carbonMg, t.status AS status, t.cardLast4 AS cardLast4, t.issueCode AS issueCode, t.cardName AS cardName " +
+            "FROM CardTransaction t " +
+            "WHERE t.id = :id AND t.userId = :userId")
+    Optional<CardTransactionView> findViewByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 거래 목록 첫 페이지 - 전체 상태/카테고리 (tx_date, tx_time, id 내림차순)
+     * - 조건별로 쿼리를 나눠 (user_id, tx_date, tx_time, id) 인덱스 범위 조회가 되도록 함
+     *   (:param IS NULL OR ... 형태는 MySQL 이 복합 인덱스를 쓰지 못함)
+     * - MySQL 은 DESC 정렬 시 tx_time NULL 을 가장 뒤로 보냄
+     */
+    @Query("SELECT t.id AS id, t.transactionNo AS transactionNo, t.categoryId AS categoryId, " +
+            "t.merchantId AS merchantId, t.txDate AS txDate, t.txTime AS txTime, t.amountKrw AS amountKrw, " +
+            "t.carbonMg AS carbonMg, t.status AS status, t.cardLast4 AS cardLast4, t.issueCode AS issueCode, t.cardName AS cardName " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.txDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY t.txDate DESC, t.txTime DESC, t.id DESC")
+    List<CardTransactionView> findPageFirst(@Param("userId") Long userId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate,
+                                            Pageable pageable);
+
+    /**
+     * 커서 이후 페이지 - 전체, 커서 거래의 tx_time 이 있는 경우
+     */
+    @Query("SELECT t.id AS id, t.transactionNo AS transactionNo, t.categoryId AS categoryId, " +
+            "t.merchantId AS merchantId, t.txDate AS txDate, t.txTime AS txTime, t.amountKrw AS amountKrw, " +
+            "t.carbonMg AS carbonMg, t.status AS status, t.cardLast4 AS cardLast4, t.issueCode AS issueCode, t.cardName AS cardName " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.txDate BETWEEN :startDate AND :endDate " +
+            "AND (t.txDate < :cursorDate OR (t.txDate = :cursorDate AND " +
+            "(t.txTime < :cursorTime OR t.txTime IS NULL OR (t.txTime = :cursorTime AND t.id < :cursorId)))) " +
+            "ORDER BY t.txDate DESC, t.txTime DESC, t.id DESC")
+    List<CardTransactionView> findPageAfter(@Param("userId") Long userId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate,
+                                            @Param("cursorDate") LocalDate cursorDate,
+                                            @Param("cursorTime") LocalTime cursorTime,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    /**
+     * 커서 이후 페이지 - 전체, 커서 거래의 tx_time 이 NULL 인 경우 (같은 일자에서는 NULL 시각 행만 남음)
+     */
+    @Query("SELECT t.id AS id, t.transactionNo AS transactionNo, t.categoryId AS categoryId, " +
+            "t.merchantId AS merchantId, t.txDate AS txDate, t.txTime AS txTime, t.amountKrw AS amountKrw, " +
+            "t.carbonMg AS carbonMg, t.status AS status, t.cardLast4 AS cardLast4, t.issueCode AS issueCode, t.cardName AS cardName " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.txDate BETWEEN :startDate AND :endDate " +
+            "AND (t.txDate < :cursorDate OR (t.txDate = :cursorDate AND t.txTime IS NULL AND t.id < :cursorId)) " +
+            "ORDER BY t.txDate DESC, t.txTime DESC, t.id DESC")
+    List<CardTransactionView> findPageAfterUntimed(@Param("userId") Long userId,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate,
+                                                   @Param("cursorDate") LocalDate cursorDate,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+
+    /**
+     * 거래 목록 첫 페이지 - 카테고리 + 상태 (user_id, category_id, tx_date, tx_time, id) 인덱스 범위 조회
+     */
+    @Query("SELECT t.id AS id, t.transactionNo AS transactionNo, t.categoryId AS categoryId, " +
+            "t.merchantId AS merchantId, t.txDate AS txDate, t.txTime AS txTime, t.amountKrw AS amountKrw, " +
+            "t.carbonMg AS carbonMg, t.status AS status, t.cardLast4 AS cardLast4, t.issueCode AS issueCode, t.cardName AS cardName " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.categoryId = :categoryId " +
+            "AND t.txDate BETWEEN :startDate AND :endDate AND t.status = :status " +
+            "ORDER BY t.txDate DESC, t.txTime DESC, t.id DESC")
+    List<CardTransactionView> findCategoryPageFirst(@Param("userId") Long userId,
+                                                    @Param("categoryId") String categoryId,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate,
+                                                    @Param("status") CardTransaction.Status status,
+                                                    Pageable pageable);
+
+    /**
+     * 커서 이후 페이지 - 카테고리 + 상태, 커서 거래의 tx_time 이 있는 경우
+     */
+    @Query("SELECT t.id AS id, t.transactionNo AS transactionNo, t.categoryId AS categoryId, " +
+            "t.merchantId AS merchantId, t.txDate AS txDate, t.txTime AS txTime, t.amountKrw AS amountKrw, " +
+            "t.carbonMg AS carbonMg, t.status AS status, t.cardLast4 AS cardLast4, t.issueCode AS issueCode, t.cardName AS cardName " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.categoryId = :categoryId " +
+            "AND t.txDate BETWEEN :startDate AND :endDate AND t.status = :status " +
+            "AND (t.txDate < :cursorDate OR (t.txDate = :cursorDate AND " +
+            "(t.txTime < :cursorTime OR t.txTime IS NULL OR (t.txTime = :cursorTime AND t.id < :cursorId)))) " +
+            "ORDER BY t.txDate DESC, t.txTime DESC, t.id DESC")
+    List<CardTransactionView> findCategoryPageAfter(@Param("userId") Long userId,
+                                                    @Param("categoryId") String categoryId,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate,
+                                                    @Param("status") CardTransaction.Status status,
+                                                    @Param("cursorDate") LocalDate cursorDate,
+                                                    @Param("cursorTime") LocalTime cursorTime,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Pageable pageable);
+
+    /**
+     * 커서 이후 페이지 - 카테고리 + 상태, 커서 거래의 tx_time 이 NULL 인 경우
+     */
+    @Query("SELECT t.id AS id, t.transactionNo AS transactionNo, t.categoryId AS categoryId, " +
+            "t.merchantId AS merchantId, t.txDate AS txDate, t.txTime AS txTime, t.amountKrw AS amountKrw, " +
+            "t.carbonMg AS carbonMg, t.status AS status, t.cardLast4 AS cardLast4, t.issueCode AS issueCode, t.cardName AS cardName " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.categoryId = :categoryId " +
+            "AND t.txDate BETWEEN :startDate AND :endDate AND t.status = :status " +
+            "AND (t.txDate < :cursorDate OR (t.txDate = :cursorDate AND t.txTime IS NULL AND t.id < :cursorId)) " +
+            "ORDER BY t.txDate DESC, t.txTime DESC, t.id DESC")
+    List<CardTransactionView> findCategoryPageAfterUntimed(@Param("userId") Long userId,
+                                                           @Param("categoryId") String categoryId,
+                                                           @Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate,
+                                                           @Param("status") CardTransaction.Status status,
+                                                           @Param("cursorDate") LocalDate cursorDate,
+                                                           @Param("cursorId") Long cursorId,
+                                                           Pageable pageable);
+
+    /**
+     * 기간 내 일자별 합계 (상태 조건은 SQL 에서 처리)
+     */
+    @Query("SELECT t.txDate AS txDate, " +
+            "SUM(t.amountKrw) AS amountTotal, COUNT(t) AS txCount, " +
+            "SUM(COALESCE(t.carbonMg, 0)) AS carbonMg " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.txDate BETWEEN :startDate AND :endDate AND t.status = :status " +
+            "GROUP BY t.txDate")
+    List<CardDailyAggregate> aggregateByDate(@Param("userId") Long userId,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate,
+                                                   @Param("status") CardTransaction.Status status);
+
+    /**
+     * 기간 내 카테고리 합계 ((user_id, category_id, tx_date, ...) 인덱스 범위 조회)
+     */
+    @Query("SELECT t.categoryId AS categoryId, " +
+            "SUM(t.amountKrw) AS amountTotal, COUNT(t) AS txCount, " +
+            "SUM(COALESCE(t.carbonMg, 0)) AS carbonMg " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.txDate BETWEEN :startDate AND :endDate AND t.status = :status " +
+            "AND t.categoryId = :categoryId " +
+            "GROUP BY t.categoryId")
+    List<CardCategoryAggregate> aggregateByCategory(@Param("userId") Long userId,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate,
+                                                       @Param("status") CardTransaction.Status status,
+                                                       @Param("categoryId") String categoryId);
+
+    /**
+     * 사용자가 거래한 가맹점 id 목록 (가맹점 검색 postings)
+     */
+    @Query("SELECT DISTINCT t.merchantId FROM CardTransaction t WHERE t.userId = :userId AND t.merchantId IS NOT NULL")
+    List<Long> findDistinctMerchantIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 지정 가맹점들의 사용자 거래 (최신순)
+     */
+    @Query("SELECT t.id AS id, t.transactionNo AS transactionNo, t.categoryId AS categoryId, " +
+            "t.merchantId AS merchantId, t.txDate AS txDate, t.txTime AS txTime, t.amountKrw AS amountKrw, " +
+            "t.carbonMg AS carbonMg, t.status AS status, t.cardLast4 AS cardLast4, t.issueCode AS issueCode, t.cardName AS cardName " +
+            "FROM CardTransaction t " +
+            "WHERE t.userId = :userId AND t.merchantId IN :merchantIds " +
+            "ORDER BY t.txDate DESC, t.txTime DESC, t.id DESC")
+    List<CardTransactionView> findViewsByMerchantIds(@Param("userId") Long userId,
+                                                     @Param("merchantIds") Collection<Long> merchantIds,
+                                                     Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package com.E205.cocos_forest.domain.finance.card.transaction;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 거래 목록 응답용 경량 projection (raw_response 컬럼 제외)
+ */
+public interface CardTransactionView {
+    Long getId();
+    String getTransactionNo();
+    String getCategoryId();
+    Long getMerchantId();
+    LocalDate getTxDate();
+    LocalTime getTxTime();
+    Long getAmountKrw();
+    Long getCarbonMg();
+    CardTransaction.Status getStatus();
+    String getCardLast4();
+    String getIssueCode();
+    String getCardName();
+}
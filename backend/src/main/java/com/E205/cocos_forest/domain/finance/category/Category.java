@@ -19,4 +19,8 @@ public class Category {
 
     @Column(name = "name", nullable = false, length = 50)
     private String name;
+
+    // daily_emissions.per_category_bin 에서의 위치 (한 번 배정되면 고정, CategorySlotIndex 참고)
+    @Column(name = "slot", unique = true)
+    private Integer slot;
 }
@@ -0,0 +1,133 @@
+package com.E205.cocos_forest.domain.finance.category;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+
+/**
+ * 카테고리 id <-> dense slot 번호 매핑
+ *
+ * - slot 은 categories.slot 에 한 번 배정되면 바뀌지 않음 (인코딩된 per_category_bin 의 위치)
+ * - 처음 보는 카테고리는 max(slot)+1 을 배정 (다른 인스턴스와 충돌하면 다시 읽어서 재시도)
+ * - categories 에 없는 id 는 예외 없이 빈 값 (결제/조회 경로를 막지 않도록)
+ * - 기동 시 미배정 카테고리를 미리 배정, 이후 추가된 카테고리만 조회 시점에 별도 트랜잭션으로 배정
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategorySlotIndex {
+
+    private static final int ASSIGN_RETRY = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), new String[0]);
+
+    /**
+     * 카테고리의 slot
+     * - 매핑에 없으면 미배정 카테고리를 배정하고 다시 조회
+     * - categories 에 없는 id(null 포함)는 비어 있음 - 호출한 쪽에서 경고 후 건너뜀
+     */
+    public OptionalInt findSlot(String categoryId) {
+        if (categoryId == null) {
+            return OptionalInt.empty();
+        }
+        Integer slot = snapshot.slots().get(categoryId);
+        if (slot == null) {
+            refresh();
+            slot = snapshot.slots().get(categoryId);
+        }
+        return slot != null ? OptionalInt.of(slot) : OptionalInt.empty();
+    }
+
+    /**
+     * slot 의 카테고리 id (배정되지 않은 slot 이면 null)
+     */
+    public String categoryAt(int slot) {
+        String[] categories = snapshot.categories();
+        if (slot >= categories.length) {
+            refresh();
+            categories = snapshot.categories();
+        }
+        return slot < categories.length ? categories[slot] : null;
+    }
+
+    /**
+     * 현재 카테고리 id -> slot 매핑 (불변, 미배정 카테고리를 반영하려면 먼저 refresh)
+     */
+    public Map<String, Integer> slots() {
+        return snapshot.slots();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    // slot 미배정 카테고리에 번호를 배정하고 매핑을 다시 읽음
+    // - 호출한 쪽(결제 등) 트랜잭션과 분리된 새 트랜잭션에서 배정, 커밋된 뒤에만 메모리 매핑에 반영
+    //   (호출 트랜잭션이 롤백돼도 DB 에 없는 slot 을 메모리에 들고 있지 않도록)
+    public synchronized void refresh() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        for (int attempt = 0; attempt < ASSIGN_RETRY; attempt++) {
+            try {
+                snapshot = requiresNew.execute(status -> assignAndLoad());
+                return;
+            } catch (DuplicateKeyException e) {
+                log.info("[CategorySlot] Slot conflict, retrying: attempt={}", attempt + 1);
+            }
+        }
+        snapshot = requiresNew.execute(status -> load());
+    }
+
+    // 트랜잭션 내부 - 미배정 카테고리에 max(slot)+1 부터 배정 후 매핑 조회
+    private Snapshot assignAndLoad() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT category_id, slot FROM categories ORDER BY category_id");
+
+        int next = rows.stream()
+            .map(row -> (Number) row.get("slot"))
+            .filter(Objects::nonNull)
+            .mapToInt(Number::intValue)
+            .max()
+            .orElse(-1) + 1;
+
+        for (Map<String, Object> row : rows) {
+            if (row.get("slot") == null) {
+                jdbcTemplate.update("UPDATE categories SET slot = ? WHERE category_id = ? AND slot IS NULL",
+                    next++, row.get("category_id"));
+            }
+        }
+        return load();
+    }
+
+    private Snapshot load() {
+        Map<String, Integer> slots = new HashMap<>();
+        jdbcTemplate.query("SELECT category_id, slot FROM categories WHERE slot IS NOT NULL",
+            rs -> {
+                slots.put(rs.getString("category_id"), rs.getInt("slot"));
+            });
+        int size = slots.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        String[] categories = new String[size];
+        slots.forEach((categoryId, slot) -> categories[slot] = categoryId);
+        return new Snapshot(Map.copyOf(slots), categories);
+    }
+
+    private record Snapshot(Map<String, Integer> slots, String[] categories) {
+    }
+}
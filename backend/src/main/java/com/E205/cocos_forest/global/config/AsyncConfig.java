@@ -1,9 +1,24 @@
 package com.E205.cocos_forest.global.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+
+    private static final int EMISSION_BACKFILL_THREADS = 4;
+
+    // daily_emissions 재생성 배치 워커 (스레드 수/대기열 고정, 종료 시 중단된 파티션은 다음 기동 때 체크포인트부터 재개)
+    @Bean
+    public ThreadPoolTaskExecutor emissionBackfillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(EMISSION_BACKFILL_THREADS);
+        executor.setMaxPoolSize(EMISSION_BACKFILL_THREADS);
+        executor.setQueueCapacity(EMISSION_BACKFILL_THREADS);
+        executor.setThreadNamePrefix("emission-backfill-");
+        return executor;
+    }
 }
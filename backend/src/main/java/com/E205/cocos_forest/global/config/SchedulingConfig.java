@@ -0,0 +1,16 @@
+package com.E205.cocos_forest.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 예약 작업 활성화
+ *
+ * - 스케줄링 도입 전부터 있던 cron(숲 일일 배치, 챌린지 정산)은 실제 데이터를 바꾸므로 기본 꺼짐
+ *   cocos.scheduling.forest-daily-batch.cron / cocos.scheduling.challenge-finalize.cron 에 cron 식을 지정해야 실행 ("-" 또는 미설정 시 꺼짐)
+ * - 이후 추가된 집계/캐시/이관 작업은 항상 실행 (JobLeaseLock 으로 인스턴스 간 단일 실행)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
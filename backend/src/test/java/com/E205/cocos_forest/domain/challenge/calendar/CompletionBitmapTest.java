@@ -0,0 +1,120 @@
+package com.E205.cocos_forest.domain.challenge.calendar;
+
+import com.E205.cocos_forest.domain.challenge.entity.Challenge;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionBitmapTest {
+
+    private static final int FULL_31 = (int) ((1L << 31) - 1);
+
+    @Test
+    void bitAndDays() {
+        assertThat(CompletionBitmap.bit(LocalDate.of(2025, 1, 1))).isEqualTo(1);
+        assertThat(CompletionBitmap.bit(LocalDate.of(2025, 1, 31))).isEqualTo(1 << 30);
+        assertThat(CompletionBitmap.days(0b1000_0101)).containsExactly(1, 3, 8);
+        assertThat(CompletionBitmap.days(0)).isEmpty();
+        assertThat(CompletionBitmap.monthKey(YearMonth.of(2025, 3))).isEqualTo(202503);
+        assertThat(CompletionBitmap.month(202512)).isEqualTo(YearMonth.of(2025, 12));
+    }
+
+    @Test
+    void runEndingAtHandlesZeroAndFullMonth() {
+        assertThat(CompletionBitmap.runEndingAt(FULL_31, 0)).isZero();
+        assertThat(CompletionBitmap.runEndingAt(FULL_31, 31)).isEqualTo(31);
+        assertThat(CompletionBitmap.runEndingAt(days(3, 4, 5), 5)).isEqualTo(3);
+        assertThat(CompletionBitmap.runEndingAt(days(3, 4, 5), 6)).isZero();
+    }
+
+    @Test
+    void leadingAndLongestRun() {
+        assertThat(CompletionBitmap.leadingRun(FULL_31, 31)).isEqualTo(31);
+        assertThat(CompletionBitmap.leadingRun(FULL_31, 30)).isEqualTo(30);
+        assertThat(CompletionBitmap.leadingRun(days(2, 3), 31)).isZero();
+        assertThat(CompletionBitmap.longestRun(days(1, 2, 5, 6, 7, 8, 20))).isEqualTo(4);
+        assertThat(CompletionBitmap.longestRun(0)).isZero();
+    }
+
+    @Test
+    void currentStreakFallsBackToYesterdayAndCrossesMonths() {
+        Map<Integer, Integer> byMonth = new HashMap<>();
+        byMonth.put(202501, days(29, 30, 31));
+        byMonth.put(202502, days(1, 2, 3, 4, 5));
+
+        // 오늘(6일) 미달성이면 어제까지, 1월 말일까지 이어 붙임
+        assertThat(CompletionBitmap.currentStreak(byMonth, LocalDate.of(2025, 2, 6))).isEqualTo(8);
+        assertThat(CompletionBitmap.currentStreak(byMonth, LocalDate.of(2025, 2, 5))).isEqualTo(8);
+        assertThat(CompletionBitmap.currentStreak(byMonth, LocalDate.of(2025, 2, 7))).isZero();
+    }
+
+    @Test
+    void currentStreakOnFirstDayUsesPreviousMonthEnd() {
+        Map<Integer, Integer> byMonth = new HashMap<>();
+        byMonth.put(202501, FULL_31);
+
+        assertThat(CompletionBitmap.currentStreak(byMonth, LocalDate.of(2025, 2, 1))).isEqualTo(31);
+    }
+
+    @Test
+    void longestStreakJoinsFullAndAdjacentMonths() {
+        Map<Integer, Integer> byMonth = new HashMap<>();
+        byMonth.put(202412, days(30, 31));
+        byMonth.put(202501, FULL_31);
+        byMonth.put(202502, days(1, 2, 10, 11, 12));
+        // 2월 28일 없음 -> 3월과 끊김
+        byMonth.put(202503, days(1, 2, 3));
+
+        assertThat(CompletionBitmap.longestStreak(byMonth)).isEqualTo(2 + 31 + 2);
+    }
+
+    @Test
+    void longestStreakResetsAcrossMissingMonth() {
+        Map<Integer, Integer> byMonth = new HashMap<>();
+        byMonth.put(202501, days(31));
+        byMonth.put(202503, days(1, 2));
+
+        assertThat(CompletionBitmap.longestStreak(byMonth)).isEqualTo(2);
+    }
+
+    @Test
+    void weeklyStreakCountsWeeksAcrossMonths() {
+        Challenge.PeriodType weekly = Challenge.PeriodType.WEEKLY;
+        Map<Integer, Integer> byMonth = new HashMap<>();
+        // 2025-01-20, 01-27, 02-03, 02-10 (월요일)
+        byMonth.put(202501, days(13, 20, 27));
+        byMonth.put(202502, days(3, 10));
+
+        // 이번 주(2/17 주) 미달성 -> 직전 주까지
+        assertThat(CompletionBitmap.currentPeriodStreak(byMonth, LocalDate.of(2025, 2, 19), weekly::startOf)).isEqualTo(5);
+        assertThat(CompletionBitmap.currentPeriodStreak(byMonth, LocalDate.of(2025, 2, 26), weekly::startOf)).isZero();
+        assertThat(CompletionBitmap.longestPeriodStreak(byMonth, weekly::startOf)).isEqualTo(5);
+    }
+
+    @Test
+    void monthlyStreakCountsMonthsAndIgnoresNonStartBits() {
+        Challenge.PeriodType monthly = Challenge.PeriodType.MONTHLY;
+        Map<Integer, Integer> byMonth = new HashMap<>();
+        byMonth.put(202411, days(1));
+        byMonth.put(202412, days(1, 15));
+        byMonth.put(202501, days(1));
+        byMonth.put(202503, days(1));
+
+        assertThat(CompletionBitmap.currentPeriodStreak(byMonth, LocalDate.of(2025, 3, 10), monthly::startOf)).isEqualTo(1);
+        assertThat(CompletionBitmap.currentPeriodStreak(byMonth, LocalDate.of(2025, 2, 10), monthly::startOf)).isEqualTo(3);
+        assertThat(CompletionBitmap.longestPeriodStreak(byMonth, monthly::startOf)).isEqualTo(3);
+    }
+
+    private static int days(int... days) {
+        int bits = 0;
+        for (int day : days) {
+            bits |= 1 << (day - 1);
+        }
+        return bits;
+    }
+}
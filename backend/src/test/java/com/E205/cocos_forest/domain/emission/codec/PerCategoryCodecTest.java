@@ -0,0 +1,96 @@
+package com.E205.cocos_forest.domain.emission.codec;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PerCategoryCodecTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        long[] values = {0L, 1L, -1L, 1_234_567L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        byte[] data = PerCategoryCodec.encode(values);
+
+        assertThat(data).hasSize(1 + values.length * Long.BYTES);
+        assertThat(data[0]).isEqualTo(PerCategoryCodec.VERSION);
+        assertThat(PerCategoryCodec.isValid(data)).isTrue();
+        assertThat(PerCategoryCodec.slotCount(data)).isEqualTo(values.length);
+        assertThat(PerCategoryCodec.decode(data)).containsExactly(values);
+        for (int slot = 0; slot < values.length; slot++) {
+            assertThat(PerCategoryCodec.get(data, slot)).isEqualTo(values[slot]);
+        }
+    }
+
+    @Test
+    void emptyAndNullHaveNoSlots() {
+        assertThat(PerCategoryCodec.slotCount(PerCategoryCodec.empty())).isZero();
+        assertThat(PerCategoryCodec.slotCount(null)).isZero();
+        assertThat(PerCategoryCodec.decode(PerCategoryCodec.empty())).isEmpty();
+        assertThat(PerCategoryCodec.sum(null)).isZero();
+        assertThat(PerCategoryCodec.get(PerCategoryCodec.empty(), 3)).isZero();
+        assertThat(PerCategoryCodec.get(PerCategoryCodec.empty(), -1)).isZero();
+    }
+
+    @Test
+    void addGrowsOnlyToTouchedSlot() {
+        byte[] data = PerCategoryCodec.add(null, 2, 500L);
+
+        assertThat(PerCategoryCodec.decode(data)).containsExactly(0L, 0L, 500L);
+
+        data = PerCategoryCodec.add(data, 0, 70L);
+        data = PerCategoryCodec.add(data, 2, -200L);
+        data = PerCategoryCodec.add(data, 4, 9L);
+
+        assertThat(PerCategoryCodec.decode(data)).containsExactly(70L, 0L, 300L, 0L, 9L);
+        assertThat(PerCategoryCodec.sum(data)).isEqualTo(379L);
+        assertThat(PerCategoryCodec.decode(PerCategoryCodec.encode(PerCategoryCodec.decode(data))))
+            .containsExactly(PerCategoryCodec.decode(data));
+    }
+
+    @Test
+    void mergeAddsSlotwiseAndKeepsLongerTail() {
+        byte[] legacy = PerCategoryCodec.encode(new long[]{10L, 20L});
+        byte[] bin = PerCategoryCodec.encode(new long[]{1L, -5L, 0L, 7L});
+
+        assertThat(PerCategoryCodec.decode(PerCategoryCodec.merge(legacy, bin))).containsExactly(11L, 15L, 0L, 7L);
+        assertThat(PerCategoryCodec.decode(PerCategoryCodec.merge(legacy, null))).containsExactly(10L, 20L);
+        assertThat(PerCategoryCodec.decode(PerCategoryCodec.merge(PerCategoryCodec.empty(), bin)))
+            .containsExactly(1L, -5L, 0L, 7L);
+    }
+
+    @Test
+    void offsetOfMatchesEncodedLayout() {
+        byte[] data = PerCategoryCodec.encode(new long[]{0L, 0L, -2L});
+        int offset = PerCategoryCodec.offsetOf(2);
+
+        assertThat(offset).isEqualTo(17);
+        assertThat(data[offset]).isEqualTo((byte) 0xFF);
+        assertThat(data[offset + Long.BYTES - 1]).isEqualTo((byte) 0xFE);
+    }
+
+    @Test
+    void addRejectsNegativeSlotAndOverflow() {
+        assertThatThrownBy(() -> PerCategoryCodec.add(null, -1, 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+        byte[] max = PerCategoryCodec.encode(new long[]{Long.MAX_VALUE});
+        assertThatThrownBy(() -> PerCategoryCodec.add(max, 0, 1L))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void invalidEncodingIsDetected() {
+        byte[] wrongVersion = PerCategoryCodec.encode(new long[]{1L});
+        wrongVersion[0] = 2;
+        byte[] truncated = new byte[]{PerCategoryCodec.VERSION, 0, 0, 0};
+
+        assertThat(PerCategoryCodec.isValid(wrongVersion)).isFalse();
+        assertThat(PerCategoryCodec.isValid(truncated)).isFalse();
+        assertThat(PerCategoryCodec.isValid(new byte[0])).isTrue();
+        assertThatThrownBy(() -> PerCategoryCodec.decode(wrongVersion))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PerCategoryCodec.sum(truncated))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
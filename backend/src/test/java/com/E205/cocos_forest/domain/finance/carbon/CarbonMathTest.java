@@ -0,0 +1,125 @@
+package com.E205.cocos_forest.domain.finance.carbon;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CarbonMath 와 기존 BigDecimal(HALF_UP) 계산 결과 비교
+ */
+class CarbonMathTest {
+
+    private static final long[] BOUNDARY_MG = {
+        0L, 1L, -1L, 4_999L, 5_000L, 5_001L, -4_999L, -5_000L, -5_001L,
+        14_999L, 15_000L, -15_000L, 500_000L, -500_000L, 1_234_565_000L, -1_234_565_000L,
+        Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 500_000L, Long.MIN_VALUE + 500_000L
+    };
+
+    @Test
+    void carbonMgMatchesBigDecimalMultiply() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal factor = BigDecimal.valueOf(random.nextInt(1_000_000), 6);
+            long amount = random.nextBoolean() ? random.nextInt(10_000_000) : -random.nextInt(10_000_000);
+
+            long carbonMg = CarbonMath.carbonMg(amount, CarbonMath.toScaledFactor(factor));
+
+            assertThat(carbonMg).isEqualTo(factor.multiply(BigDecimal.valueOf(amount)).movePointRight(6).longValueExact());
+            // 기존 응답 경로: 항목별 BigDecimal 곱 -> setScale(2, HALF_UP)
+            assertThat(CarbonMath.toKg(carbonMg, 2))
+                .isEqualTo(factor.multiply(BigDecimal.valueOf(amount)).setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void carbonMgRejectsOverflow() {
+        assertThatThrownBy(() -> CarbonMath.carbonMg(Long.MAX_VALUE / 2, 3L))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toScaledFactorRoundsHalfUp() {
+        assertThat(CarbonMath.toScaledFactor(new BigDecimal("0.0000005"))).isEqualTo(1L);
+        assertThat(CarbonMath.toScaledFactor(new BigDecimal("0.0000004"))).isEqualTo(0L);
+        assertThat(CarbonMath.toScaledFactor(new BigDecimal("-0.0000005"))).isEqualTo(-1L);
+        assertThat(CarbonMath.toScaledFactor(new BigDecimal("0.123456"))).isEqualTo(123_456L);
+        assertThat(CarbonMath.toScaledFactor(null)).isEqualTo(0L);
+    }
+
+    @Test
+    void toKgMatchesBigDecimalSetScaleOnBoundaries() {
+        for (long mg : BOUNDARY_MG) {
+            for (int scale = 0; scale <= CarbonMath.FACTOR_SCALE; scale++) {
+                assertThat(CarbonMath.toKg(mg, scale))
+                    .as("mg=%d, scale=%d", mg, scale)
+                    .isEqualTo(BigDecimal.valueOf(mg, CarbonMath.FACTOR_SCALE).setScale(scale, RoundingMode.HALF_UP));
+            }
+        }
+    }
+
+    @Test
+    void divideHalfUpMatchesBigDecimal() {
+        long[] divisors = {1L, 2L, 3L, 7L, 10L, 1_000L, 1_000_000L, -1L, -2L, -3L, -10L, Long.MAX_VALUE};
+        for (long dividend : BOUNDARY_MG) {
+            for (long divisor : divisors) {
+                if (dividend == Long.MIN_VALUE && divisor == -1L) {
+                    continue;
+                }
+                assertThat(CarbonMath.divideHalfUp(dividend, divisor))
+                    .as("%d / %d", dividend, divisor)
+                    .isEqualTo(halfUp(dividend, divisor));
+            }
+        }
+        assertThatThrownBy(() -> CarbonMath.divideHalfUp(Long.MIN_VALUE, -1L))
+            .isInstanceOf(ArithmeticException.class);
+
+        // 정확히 .5 가 되는 경우는 0에서 먼 쪽으로
+        assertThat(CarbonMath.divideHalfUp(5L, 2L)).isEqualTo(3L);
+        assertThat(CarbonMath.divideHalfUp(-5L, 2L)).isEqualTo(-3L);
+        assertThat(CarbonMath.divideHalfUp(5L, -2L)).isEqualTo(-3L);
+        assertThat(CarbonMath.divideHalfUp(-5L, -2L)).isEqualTo(3L);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long dividend = random.nextLong();
+            long divisor = random.nextInt(2_000_001) - 1_000_000L;
+            if (divisor == 0) {
+                continue;
+            }
+            assertThat(CarbonMath.divideHalfUp(dividend, divisor))
+                .as("%d / %d", dividend, divisor)
+                .isEqualTo(halfUp(dividend, divisor));
+        }
+    }
+
+    @Test
+    void divideToKgAndRatioMatchBigDecimal() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            long mg = random.nextInt() * 1_000L + random.nextInt(1_000);
+            long divisor = 1 + random.nextInt(10_000);
+            int scale = random.nextInt(CarbonMath.FACTOR_SCALE + 1);
+
+            assertThat(CarbonMath.divideToKg(mg, divisor, scale))
+                .isEqualTo(BigDecimal.valueOf(mg, CarbonMath.FACTOR_SCALE)
+                    .divide(BigDecimal.valueOf(divisor), scale, RoundingMode.HALF_UP));
+
+            long part = random.nextInt(1_000_000);
+            long total = 1 + random.nextInt(1_000_000);
+            assertThat(CarbonMath.ratio(part, total, 4))
+                .isEqualTo(BigDecimal.valueOf(part).divide(BigDecimal.valueOf(total), 4, RoundingMode.HALF_UP));
+        }
+        assertThat(CarbonMath.ratio(1L, 8L, 2)).isEqualTo(new BigDecimal("0.13"));
+        assertThat(CarbonMath.ratio(-1L, 8L, 2)).isEqualTo(new BigDecimal("-0.13"));
+        assertThat(CarbonMath.ratio(5L, 0L, 2)).isEqualTo(BigDecimal.ZERO);
+    }
+
+    private static long halfUp(long dividend, long divisor) {
+        return BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP).longValueExact();
+    }
+}